@@ -0,0 +1,61 @@
+package com.backend.chess.benchmark;
+
+import com.backend.chess.analysis.AnalysisCache;
+import com.backend.chess.model.Board;
+import com.backend.chess.service.AnalysisService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AnalysisService.analyzeBoard, both computing the analysis (a cache with no room, so every
+ * call misses) and serving it from a warm cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnalysisBenchmark {
+	private Board[] boards;
+	private AnalysisService uncached;
+	private AnalysisService cached;
+
+	@Setup
+	public void setUp() {
+		boards = Positions.boards();
+		uncached = new AnalysisService(new AnalysisCache(0));
+		cached = new AnalysisService(new AnalysisCache(64));
+		for (Board board : boards) {
+			cached.analyzeBoard(board);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(Positions.COUNT)
+	public void analyzeBoardUncached(Blackhole blackhole) {
+		for (Board board : boards) {
+			blackhole.consume(uncached.analyzeBoard(board));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(Positions.COUNT)
+	public void analyzeBoardCached(Blackhole blackhole) {
+		for (Board board : boards) {
+			blackhole.consume(cached.analyzeBoard(board));
+		}
+	}
+}
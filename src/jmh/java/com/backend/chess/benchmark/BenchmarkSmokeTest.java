@@ -0,0 +1,43 @@
+package com.backend.chess.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs every benchmark once, so a broken corpus or setup fails in seconds instead of in the
+ * middle of a benchmark run, and checks that the move generation benchmarks measure
+ * equivalent work. Runs with the benchmark profile: mvn -Pbenchmark test -Dtest=BenchmarkSmokeTest
+ */
+class BenchmarkSmokeTest {
+	private final Blackhole blackhole = new Blackhole(
+			"Today's password is swordfish. I understand instantiating Blackholes directly is dangerous.");
+
+	@Test
+	void legalityChecksAcceptExactlyTheLegalMoves() {
+		MoveGenerationBenchmark benchmark = new MoveGenerationBenchmark();
+		benchmark.setUp();
+		benchmark.pseudoLegalMoves(blackhole);
+
+		int legalMoves = benchmark.legalMoves();
+		assertTrue(legalMoves > 20 * Positions.COUNT, "legal moves " + legalMoves);
+		// Every legal move is a pseudo-legal candidate, so the checks accept exactly those
+		assertEquals(legalMoves, benchmark.legalityChecks());
+	}
+
+	@Test
+	void analysisAndCodecBenchmarksRun() throws Exception {
+		AnalysisBenchmark analysis = new AnalysisBenchmark();
+		analysis.setUp();
+		analysis.analyzeBoardUncached(blackhole);
+		analysis.analyzeBoardCached(blackhole);
+
+		CodecBenchmark codec = new CodecBenchmark();
+		codec.setUp();
+		codec.boardCopy(blackhole);
+		codec.converterRoundTrip(blackhole);
+		codec.legacyJsonRead(blackhole);
+	}
+}
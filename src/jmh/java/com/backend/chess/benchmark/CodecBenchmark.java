@@ -0,0 +1,70 @@
+package com.backend.chess.benchmark;
+
+import com.backend.chess.model.Board;
+import com.backend.chess.persistence.BoardConverter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Board copies and the persistence round trip through BoardConverter: the binary column
+ * format, and reading boards stored as JSON by earlier versions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+	private final BoardConverter converter = new BoardConverter();
+	private Board[] boards;
+	private String[] legacyJson;
+
+	@Setup
+	public void setUp() throws JsonProcessingException {
+		boards = Positions.boards();
+		ObjectMapper objectMapper = new ObjectMapper();
+		legacyJson = new String[boards.length];
+		for (int i = 0; i < boards.length; i++) {
+			legacyJson[i] = objectMapper.writeValueAsString(boards[i]);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(Positions.COUNT)
+	public void boardCopy(Blackhole blackhole) {
+		for (Board board : boards) {
+			blackhole.consume(board.copy());
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(Positions.COUNT)
+	public void converterRoundTrip(Blackhole blackhole) {
+		for (Board board : boards) {
+			blackhole.consume(converter.convertToEntityAttribute(converter.convertToDatabaseColumn(board)));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(Positions.COUNT)
+	public void legacyJsonRead(Blackhole blackhole) {
+		for (String json : legacyJson) {
+			blackhole.consume(BoardConverter.fromJson(json));
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package com.backend.chess.benchmark;
+
+import com.backend.chess.bitboard.Bitboards;
+import com.backend.chess.bitboard.MoveGenerator;
+import com.backend.chess.bitboard.Pieces;
+import com.backend.chess.bitboard.Position;
+import com.backend.chess.model.Board;
+import com.backend.chess.model.Coordinates;
+import com.backend.chess.model.Move;
+import com.backend.chess.service.AnalysisService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Move generation: the pseudo-legal generator of AnalysisService (every piece of the side
+ * to move), the legal generator, and the legality check GameService runs on each requested
+ * move (MoveGenerator.findLegalMove), over every pseudo-legal move of the corpus.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveGenerationBenchmark {
+	private Board[] boards;
+	private AnalysisService analysisService;
+	private final int[] buffer = new int[MoveGenerator.MAX_MOVES];
+
+	// Candidate moves per position, as from/to squares and promotion type
+	private int[][] candidates;
+
+	@Setup
+	public void setUp() {
+		boards = Positions.boards();
+		analysisService = new AnalysisService(null); // Move generation does not use the cache
+		candidates = new int[boards.length][];
+		for (int i = 0; i < boards.length; i++) {
+			List<Integer> moves = new ArrayList<>();
+			for (Coordinates from : ownPieces(boards[i].getPosition())) {
+				for (Move move : analysisService.generatePseudoLegalMoves(from, boards[i])) {
+					int promotion = move.promotion() != null ? Board.toTypeCode(move.promotion()) : Pieces.NONE;
+					moves.add(Bitboards.square(from.x(), from.y()) | Bitboards.square(move.to().x(), move.to().y()) << 6
+							| (promotion + 1) << 12);
+				}
+			}
+			candidates[i] = moves.stream().mapToInt(Integer::intValue).toArray();
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(Positions.COUNT)
+	public void pseudoLegalMoves(Blackhole blackhole) {
+		for (Board board : boards) {
+			for (Coordinates from : ownPieces(board.getPosition())) {
+				blackhole.consume(analysisService.generatePseudoLegalMoves(from, board));
+			}
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(Positions.COUNT)
+	public int legalMoves() {
+		int total = 0;
+		for (Board board : boards) {
+			total += MoveGenerator.generateLegalMoves(board.getPosition(), buffer);
+		}
+		return total;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(Positions.COUNT)
+	public int legalityChecks() {
+		int legal = 0;
+		for (int i = 0; i < boards.length; i++) {
+			Position position = boards[i].getPosition();
+			for (int candidate : candidates[i]) {
+				int move = MoveGenerator.findLegalMove(position, candidate & 63, (candidate >>> 6) & 63,
+						(candidate >>> 12) - 1, buffer);
+				legal += move != 0 ? 1 : 0;
+			}
+		}
+		return legal;
+	}
+
+	private static List<Coordinates> ownPieces(Position position) {
+		List<Coordinates> squares = new ArrayList<>();
+		long pieces = position.colorPieces(position.sideToMove());
+		while (pieces != 0) {
+			int square = Long.numberOfTrailingZeros(pieces);
+			squares.add(new Coordinates(Bitboards.file(square), Bitboards.rank(square)));
+			pieces &= pieces - 1;
+		}
+		return squares;
+	}
+}
@@ -0,0 +1,43 @@
+package com.backend.chess.benchmark;
+
+import com.backend.chess.bitboard.Fen;
+import com.backend.chess.model.Board;
+
+import java.util.List;
+
+/**
+ * The position corpus shared by the benchmarks: openings, middlegames with pins and open
+ * lines, and endgames, roughly in the proportions a server sees them.
+ */
+final class Positions {
+	static final List<String> FENS = List.of(
+			Fen.INITIAL,
+			"rnbqkbnr/pppp1ppp/8/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R b KQkq - 1 2",
+			"r1bqkbnr/pppp1ppp/2n5/1B2p3/4P3/5N2/PPPP1PPP/RNBQK2R b KQkq - 3 3",
+			"rnbqkb1r/pp2pppp/3p1n2/8/3NP3/2N5/PPP2PPP/R1BQKB1R b KQkq - 2 5",
+			"r1bq1rk1/ppp1bppp/2np1n2/4p3/2B1P3/2NP1N2/PPP2PPP/R1BQ1RK1 w - - 2 7",
+			"r2q1rk1/pp2bppp/2n1pn2/3p4/2PP4/2N1PN2/PP3PPP/R2QKB1R w KQ - 0 9",
+			"r1bq1rk1/pp3pbp/2np1np1/2p1p3/2P1P3/2NP1NP1/PP3PBP/R1BQ1RK1 w - - 0 9",
+			"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+			"r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+			"2r2rk1/pp1bqpp1/2nppn1p/8/2PNP3/2N1B3/PP2BPPP/2RQ1RK1 w - - 0 14",
+			"r1b2rk1/2q1bppp/p2ppn2/1p6/3NP3/1BN1B3/PPP1QPPP/2KR3R w - - 0 12",
+			"8/pp3pk1/2p3p1/3p4/3P2P1/2P2K2/PP3P2/8 w - - 0 32",
+			"8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+			"6k1/5ppp/8/8/8/8/5PPP/3R2K1 w - - 0 40",
+			"8/8/4k3/8/1Q6/8/8/4K3 w - - 0 60",
+			"r5k1/5ppp/8/8/8/8/5PPP/R5K1 b - - 0 35");
+
+	// Benchmarks run over the whole corpus and report per position (@OperationsPerInvocation)
+	static final int COUNT = 16;
+
+	private Positions() {
+	}
+
+	static Board[] boards() {
+		if (FENS.size() != COUNT) {
+			throw new IllegalStateException("COUNT must match the number of positions");
+		}
+		return FENS.stream().map(fen -> new Board(Fen.parse(fen))).toArray(Board[]::new);
+	}
+}
@@ -0,0 +1,46 @@
+package com.backend.chess.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Collects latency samples from any thread and reports percentiles. Samples are kept
+ * exactly (a few hundred thousand moves fit easily), so p999 is not an estimate.
+ */
+final class LatencyRecorder {
+	private long[] samples = new long[1 << 16];
+	private int count;
+
+	synchronized void record(long nanos) {
+		if (count == samples.length) {
+			samples = Arrays.copyOf(samples, count * 2);
+		}
+		samples[count++] = nanos;
+	}
+
+	synchronized int count() {
+		return count;
+	}
+
+	/**
+	 * Formats the count, the p50, p90, p99 and p999 percentiles and the maximum, in milliseconds.
+	 */
+	synchronized String summary() {
+		if (count == 0) {
+			return "no samples";
+		}
+		long[] sorted = Arrays.copyOf(samples, count);
+		Arrays.sort(sorted);
+		return String.format("n=%d  p50=%.2f  p90=%.2f  p99=%.2f  p999=%.2f  max=%.2f ms", count,
+				millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.90)), millis(percentile(sorted, 0.99)),
+				millis(percentile(sorted, 0.999)), millis(sorted[sorted.length - 1]));
+	}
+
+	private static long percentile(long[] sorted, double fraction) {
+		int index = (int) Math.ceil(fraction * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+}
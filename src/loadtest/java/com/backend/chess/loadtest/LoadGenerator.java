@@ -0,0 +1,209 @@
+package com.backend.chess.loadtest;
+
+import com.backend.chess.ChessApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.ByteArrayMessageConverter;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.socket.client.WebSocketClient;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load generator for a running server: creates games over REST, connects two players and
+ * some spectators per game over STOMP, plays the games, and reports move round-trip
+ * latency percentiles, throughput and errors.
+ * <p>
+ * Start a local server with H2 (mvn spring-boot:run), then:
+ * <pre>
+ * mvn -Ploadtest test-compile exec:java -Dload.args="--games=1000 --spectators=2"
+ * </pre>
+ * Options (all optional):
+ * <ul>
+ *   <li>{@code --url=http://localhost:8080} the server.</li>
+ *   <li>{@code --games=100} games played at the same time.</li>
+ *   <li>{@code --spectators=1} spectator sessions per game.</li>
+ *   <li>{@code --plies=80} maximum moves per game (both sides).</li>
+ *   <li>{@code --mode=random} random legal moves, or {@code scripted} to replay fixed openings.</li>
+ *   <li>{@code --think-ms=0} pause before each move.</li>
+ *   <li>{@code --transport=sockjs} SockJS on /ws, or {@code websocket} for raw WebSocket on /ws/websocket.</li>
+ *   <li>{@code --setup-threads=16} games set up in parallel while ramping up.</li>
+ *   <li>{@code --timeout-ms=10000} a move without its delta after this long counts as an error.</li>
+ *   <li>{@code --seed=1} random seed, so runs play the same games.</li>
+ *   <li>{@code --start-server=false} start the server in this JVM first (skews the numbers, but needs no setup).</li>
+ * </ul>
+ */
+public final class LoadGenerator {
+	static final ScheduledExecutorService SCHEDULER = Executors.newScheduledThreadPool(2, task -> {
+		Thread thread = new Thread(task, "load-scheduler");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	// Well-known opening lines for --mode=scripted, in UCI notation
+	private static final List<List<String>> SCRIPTS = List.of(
+			List.of("e2e4 e7e5 g1f3 b8c6 f1b5 a7a6 b5a4 g8f6 e1g1 f8e7 f1e1 b7b5 a4b3 d7d6 c2c3 e8g8 h2h3 c6a5 b3c2 c7c5".split(" ")),
+			List.of("d2d4 g8f6 c2c4 e7e6 b1c3 f8b4 e2e3 e8g8 f1d3 d7d5 g1f3 c7c5 e1g1 b8c6 a2a3 b4c3 b2c3 d8c7".split(" ")),
+			List.of("e2e4 c7c5 g1f3 d7d6 d2d4 c5d4 f3d4 g8f6 b1c3 a7a6 c1e3 e7e5 d4b3 c8e6 f2f3 f8e7 d1d2 e8g8".split(" ")),
+			List.of("d2d4 d7d5 c2c4 c7c6 g1f3 g8f6 b1c3 d5c4 a2a4 c8f5 e2e3 e7e6 f1c4 f8b4 e1g1 e8g8 d1e2 b8d7".split(" ")));
+
+	record Options(String url, int games, int spectators, int maxPlies, boolean scripted, long thinkMs,
+				   boolean sockJs, int setupThreads, long timeoutMs, long seed, boolean startServer) {
+
+		static Options parse(String[] args) {
+			Map<String, String> values = new HashMap<>();
+			for (String arg : args) {
+				if (!arg.startsWith("--") || !arg.contains("=")) {
+					throw new IllegalArgumentException("Expected --name=value, got " + arg);
+				}
+				values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+			}
+			return new Options(
+					values.getOrDefault("url", "http://localhost:8080"),
+					Integer.parseInt(values.getOrDefault("games", "100")),
+					Integer.parseInt(values.getOrDefault("spectators", "1")),
+					Integer.parseInt(values.getOrDefault("plies", "80")),
+					values.getOrDefault("mode", "random").equals("scripted"),
+					Long.parseLong(values.getOrDefault("think-ms", "0")),
+					!values.getOrDefault("transport", "sockjs").equals("websocket"),
+					Integer.parseInt(values.getOrDefault("setup-threads", "16")),
+					Long.parseLong(values.getOrDefault("timeout-ms", "10000")),
+					Long.parseLong(values.getOrDefault("seed", "1")),
+					Boolean.parseBoolean(values.getOrDefault("start-server", "false")));
+		}
+	}
+
+	record Stats(LongAdder games, LongAdder moves, LongAdder errors, LongAdder timeouts,
+				 LatencyRecorder roundTripLatency, LatencyRecorder broadcastLatency) {
+		Stats() {
+			this(new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder(),
+					new LatencyRecorder(), new LatencyRecorder());
+		}
+	}
+
+	private LoadGenerator() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		Options options = Options.parse(args);
+		ConfigurableApplicationContext server = null;
+		if (options.startServer()) {
+			String port = options.url().replaceAll(".*:(\\d+).*", "$1");
+			server = SpringApplication.run(ChessApplication.class, "--server.port=" + port);
+		}
+		try {
+			run(options);
+		} finally {
+			if (server != null) {
+				server.close();
+			}
+		}
+		System.exit(0);
+	}
+
+	private static void run(Options options) throws InterruptedException {
+		WebSocketClient webSocketClient = new StandardWebSocketClient();
+		WebSocketStompClient stompClient = new WebSocketStompClient(options.sockJs()
+				? new SockJsClient(List.of(new WebSocketTransport(webSocketClient))) : webSocketClient);
+		stompClient.setMessageConverter(new ByteArrayMessageConverter() {
+			@Override
+			protected boolean supportsMimeType(MessageHeaders headers) {
+				return true; // Deltas are JSON, read with Jackson by the game
+			}
+		});
+		String endpoint = options.sockJs() ? options.url() + "/ws"
+				: options.url().replaceFirst("^http", "ws") + "/ws/websocket";
+		RestClient restClient = RestClient.create(options.url());
+
+		Stats stats = new Stats();
+		CountDownLatch done = new CountDownLatch(options.games());
+		List<SimulatedGame> games = Collections.synchronizedList(new ArrayList<>());
+		System.out.printf("Playing %d games with %d spectators each against %s%n",
+				options.games(), options.spectators(), options.url());
+
+		SCHEDULER.scheduleAtFixedRate(() -> {
+			long now = System.nanoTime();
+			synchronized (games) {
+				games.forEach(game -> game.checkTimeout(now));
+			}
+		}, 1, 1, TimeUnit.SECONDS);
+
+		long start = System.nanoTime();
+		ExecutorService setup = Executors.newFixedThreadPool(options.setupThreads());
+		for (int i = 0; i < options.games(); i++) {
+			int index = i;
+			setup.execute(() -> {
+				try {
+					Map<?, ?> state = restClient.post().uri("/api/game/new").retrieve().body(Map.class);
+					String gameId = (String) state.get("gameId");
+					List<StompSession> sessions = new ArrayList<>();
+					for (int s = 0; s < 2 + options.spectators(); s++) {
+						sessions.add(stompClient.connectAsync(endpoint, new SessionHandler(stats))
+								.get(options.timeoutMs(), TimeUnit.MILLISECONDS));
+					}
+					SimulatedGame game = new SimulatedGame(gameId, options, stats,
+							options.scripted() ? SCRIPTS.get(index % SCRIPTS.size()) : null, options.seed() + index, done);
+					game.join(sessions);
+					games.add(game);
+					game.start();
+				} catch (Exception e) {
+					stats.errors().increment();
+					stats.games().increment();
+					done.countDown();
+					System.err.println("Game setup failed: " + e);
+				}
+			});
+		}
+		setup.shutdown();
+
+		while (!done.await(5, TimeUnit.SECONDS)) {
+			System.out.printf("... %d/%d games finished, %d moves, %d errors%n", stats.games().sum(),
+					options.games(), stats.moves().sum(), stats.errors().sum() + stats.timeouts().sum());
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		System.out.printf("%nGames:       %d in %.1f s%n", stats.games().sum(), seconds);
+		System.out.printf("Moves:       %d (%.0f moves/s)%n", stats.moves().sum(), stats.moves().sum() / seconds);
+		System.out.printf("Errors:      %d (%d timed out)%n", stats.errors().sum() + stats.timeouts().sum(), stats.timeouts().sum());
+		System.out.println("Round trip:  " + stats.roundTripLatency().summary());
+		System.out.println("Spectators:  " + stats.broadcastLatency().summary());
+	}
+
+	private static final class SessionHandler extends StompSessionHandlerAdapter {
+		private final Stats stats;
+
+		SessionHandler(Stats stats) {
+			this.stats = stats;
+		}
+
+		@Override
+		public void handleException(StompSession session, StompCommand command, StompHeaders headers,
+									byte[] payload, Throwable exception) {
+			stats.errors().increment();
+		}
+
+		@Override
+		public void handleTransportError(StompSession session, Throwable exception) {
+			stats.errors().increment();
+		}
+	}
+}
@@ -0,0 +1,232 @@
+package com.backend.chess.loadtest;
+
+import com.backend.chess.bitboard.MoveGenerator;
+import com.backend.chess.bitboard.PackedMove;
+import com.backend.chess.bitboard.Pieces;
+import com.backend.chess.bitboard.Position;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * One game played by two simulated players, watched by any number of spectators, each on
+ * its own STOMP session subscribed to the game's topic.
+ * <p>
+ * Players keep their own copy of the position, updated from the deltas they receive, and
+ * move only once they have seen the opponent's move, as a real client would. A player's
+ * round trip is timed from sending its move to receiving the move's delta on its own
+ * subscription; spectators time the same send to their delivery.
+ */
+final class SimulatedGame {
+	private static final ObjectMapper JSON = new ObjectMapper();
+	private static final String[] PROMOTION_NAMES = {null, "KNIGHT", "BISHOP", "ROOK", "QUEEN"};
+
+	private final String gameId;
+	private final LoadGenerator.Options options;
+	private final LoadGenerator.Stats stats;
+	private final List<String> script;
+	private final Random random;
+	private final Player[] players = new Player[2];
+	private final List<StompSession> spectators = new ArrayList<>();
+	private final AtomicLongArray sentAt;
+	private final AtomicBoolean finished = new AtomicBoolean();
+	private volatile int lastSent;
+	private volatile int lastAcknowledged;
+	private final CountDownLatch done;
+	private final CountDownLatch ready;
+
+	SimulatedGame(String gameId, LoadGenerator.Options options, LoadGenerator.Stats stats,
+				  List<String> script, long seed, CountDownLatch done) {
+		this.gameId = gameId;
+		this.options = options;
+		this.stats = stats;
+		this.script = script;
+		this.random = new Random(seed);
+		this.sentAt = new AtomicLongArray(options.maxPlies() + 2);
+		this.done = done;
+		this.ready = new CountDownLatch(2 + options.spectators());
+	}
+
+	/**
+	 * Subscribes every session to the game and waits until each has received the game's snapshot.
+	 */
+	void join(List<StompSession> sessions) throws InterruptedException {
+		for (int color = Pieces.WHITE; color <= Pieces.BLACK; color++) {
+			players[color] = new Player(color, sessions.get(color));
+			subscribe(sessions.get(color), players[color]::onDelta);
+		}
+		for (StompSession session : sessions.subList(2, sessions.size())) {
+			spectators.add(session);
+			subscribe(session, this::onSpectatorDelta);
+		}
+		if (!ready.await(options.timeoutMs(), TimeUnit.MILLISECONDS)) {
+			throw new IllegalStateException("No snapshot for game " + gameId);
+		}
+	}
+
+	void start() {
+		players[Pieces.WHITE].move(1);
+	}
+
+	/**
+	 * Ends the game if its pending move has not been answered within the timeout.
+	 */
+	void checkTimeout(long now) {
+		int pending = lastSent;
+		if (pending > lastAcknowledged && now - sentAt.get(pending) > TimeUnit.MILLISECONDS.toNanos(options.timeoutMs())) {
+			stats.timeouts().increment();
+			finish();
+		}
+	}
+
+	void finish() {
+		if (!finished.compareAndSet(false, true)) {
+			return;
+		}
+		for (Player player : players) {
+			disconnect(player.session);
+		}
+		spectators.forEach(SimulatedGame::disconnect);
+		stats.games().increment();
+		done.countDown();
+	}
+
+	// --- Private helpers ---
+
+	private void subscribe(StompSession session, DeltaHandler handler) {
+		session.subscribe("/topic/game/" + gameId, frameHandler(frame -> {
+			JsonNode delta = JSON.readTree(frame);
+			String status = delta.get("status").asText();
+			boolean over = !status.equals("IN_PROGRESS") && !status.equals("CHECK");
+			handler.onDelta(delta.get("seq").asInt(), delta.get("move").asText(), over, System.nanoTime());
+		}));
+		// The snapshot reply comes after the topic subscription has been processed
+		session.subscribe("/app/game/" + gameId, frameHandler(frame -> ready.countDown()));
+	}
+
+	private void onSpectatorDelta(int seq, String move, boolean over, long receivedAt) {
+		long sent = sentAt.get(seq);
+		if (sent != 0) {
+			stats.broadcastLatency().record(receivedAt - sent);
+		}
+	}
+
+	private StompFrameHandler frameHandler(FrameConsumer consumer) {
+		return new StompFrameHandler() {
+			@Override
+			public Type getPayloadType(StompHeaders headers) {
+				return byte[].class;
+			}
+
+			@Override
+			public void handleFrame(StompHeaders headers, Object payload) {
+				try {
+					consumer.accept((byte[]) payload);
+				} catch (IOException | RuntimeException e) {
+					stats.errors().increment();
+					finish();
+				}
+			}
+		};
+	}
+
+	private static void disconnect(StompSession session) {
+		try {
+			session.disconnect();
+		} catch (RuntimeException ignored) {
+			// Already closed by the server or a transport error
+		}
+	}
+
+	private final class Player {
+		private final int color;
+		private final StompSession session;
+		private final Position position = Position.initial();
+		private final int[] moves = new int[MoveGenerator.MAX_MOVES];
+		private int plies;
+
+		Player(int color, StompSession session) {
+			this.color = color;
+			this.session = session;
+		}
+
+		synchronized void onDelta(int seq, String uci, boolean over, long receivedAt) {
+			if (finished.get()) {
+				return;
+			}
+			int move = MoveGenerator.findUciMove(position, uci, moves);
+			if (move == PackedMove.NONE || seq != plies + 1) {
+				stats.errors().increment(); // Missed or unexpected delta
+				finish();
+				return;
+			}
+			position.makeMove(move);
+			plies++;
+			if (position.sideToMove() != color) {
+				// Our own move came back
+				lastAcknowledged = seq;
+				stats.roundTripLatency().record(receivedAt - sentAt.get(seq));
+				stats.moves().increment();
+				if (over) {
+					finish(); // Our move ended the game: mate, stalemate or a draw by rule
+				}
+			} else if (!over) {
+				move(seq + 1);
+			}
+		}
+
+		synchronized void move(int seq) {
+			int count = MoveGenerator.generateLegalMoves(position, moves);
+			if (seq > options.maxPlies() || count == 0 || (script != null && seq > script.size())) {
+				finish();
+				return;
+			}
+			String uci = script != null ? script.get(seq - 1) : PackedMove.toUci(moves[random.nextInt(count)]);
+			if (options.thinkMs() > 0) {
+				LoadGenerator.SCHEDULER.schedule(() -> send(seq, uci), options.thinkMs(), TimeUnit.MILLISECONDS);
+			} else {
+				send(seq, uci);
+			}
+		}
+
+		private void send(int seq, String uci) {
+			StompHeaders headers = new StompHeaders();
+			headers.setDestination("/app/game/" + gameId + "/move");
+			headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+			String promotion = uci.length() > 4 ? ",\"promotion\":\"" + PROMOTION_NAMES["nbrq".indexOf(uci.charAt(4)) + 1] + "\"" : "";
+			String body = "{\"from\":\"" + uci.substring(0, 2) + "\",\"to\":\"" + uci.substring(2, 4) + "\"" + promotion + "}";
+			sentAt.set(seq, System.nanoTime());
+			lastSent = seq;
+			try {
+				session.send(headers, body.getBytes(StandardCharsets.UTF_8));
+			} catch (RuntimeException e) {
+				stats.errors().increment();
+				finish();
+			}
+		}
+	}
+
+	@FunctionalInterface
+	private interface DeltaHandler {
+		void onDelta(int seq, String move, boolean over, long receivedAt);
+	}
+
+	@FunctionalInterface
+	private interface FrameConsumer {
+		void accept(byte[] frame) throws IOException;
+	}
+}
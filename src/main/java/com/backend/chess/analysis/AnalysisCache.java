@@ -0,0 +1,155 @@
+package com.backend.chess.analysis;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of analysis results shared by all games, keyed by the placement key
+ * of a position (see {@code Position.placementKey()}).
+ * <p>
+ * The cache is split into segments, each an access-ordered LinkedHashMap behind its own
+ * lock, so concurrent games rarely contend. Each segment evicts its least recently used
+ * entries once its share of the memory budget is exceeded.
+ */
+@Component
+public class AnalysisCache {
+    private static final int SEGMENT_COUNT = 16;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+    private final long maxBytes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public AnalysisCache(@Value("${chess.analysis.cache.max-memory-mb:64}") long maxMemoryMb) {
+        this.maxBytes = maxMemoryMb * 1024 * 1024;
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(maxBytes / SEGMENT_COUNT);
+        }
+    }
+
+    /**
+     * Gets the cached result for a position.
+     *
+     * @param positionKey The placement key of the position.
+     * @return The cached result, or null on a miss.
+     */
+    public AnalysisResult get(long positionKey) {
+        AnalysisResult result = segmentFor(positionKey).get(positionKey);
+        if (result == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return result;
+    }
+
+    /**
+     * Stores a result. The result is shared with every later caller, so it must not be modified.
+     */
+    public void put(long positionKey, AnalysisResult result) {
+        segmentFor(positionKey).put(positionKey, result);
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Gets the estimated memory held by cached results.
+     */
+    public long estimatedBytes() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            bytes += segment.bytes();
+        }
+        return bytes;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    private Segment segmentFor(long positionKey) {
+        // Zobrist keys are uniformly random, so the top bits pick a segment evenly.
+        return segments[(int) (positionKey >>> 60)];
+    }
+
+    /**
+     * Rough retained size of a result: the territory map's 64-slot array (its keys and
+     * Territory values are shared), plus an entry per attacked piece, pin and x-ray line.
+     */
+    static long estimateBytes(AnalysisResult result) {
+        return 600L + 64L * (result.attackedPieces().size() + result.pins().size()
+                + result.discoveredAttacks().size() + result.xRays().size());
+    }
+
+    private final class Segment {
+        private final long maxBytes;
+        private final LinkedHashMap<Long, AnalysisResult> entries = new LinkedHashMap<>(64, 0.75f, true);
+        private long bytes;
+
+        Segment(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        synchronized AnalysisResult get(long key) {
+            return entries.get(key);
+        }
+
+        synchronized void put(long key, AnalysisResult result) {
+            AnalysisResult previous = entries.put(key, result);
+            if (previous != null) {
+                bytes -= estimateBytes(previous);
+            }
+            bytes += estimateBytes(result);
+
+            Iterator<Map.Entry<Long, AnalysisResult>> eldest = entries.entrySet().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                bytes -= estimateBytes(eldest.next().getValue());
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        synchronized long bytes() {
+            return bytes;
+        }
+
+        synchronized void clear() {
+            entries.clear();
+            bytes = 0;
+        }
+    }
+}
@@ -1,11 +1,20 @@
-package com.backend.chess.analysis;
-
-import java.util.Map;
-import java.util.List;
-
-public record AnalysisResult(
-        Map<String, Territory> territoryMap,
-        Map<String, String> attackedPieces,
-        List<Pin> pins
-) {
-}
+package com.backend.chess.analysis;
+
+import java.util.Map;
+import java.util.List;
+
+/**
+ * @param pins Pieces that cannot leave the line between their own king and an enemy slider.
+ * @param discoveredAttacks Lines from a slider through one of its own pieces to the enemy king:
+ *                          moving the blocker gives a discovered check.
+ * @param xRays Lines from a slider through one enemy piece to another enemy piece (not a pawn
+ *              or king) behind it, i.e. relative pins and skewers.
+ */
+public record AnalysisResult(
+        Map<String, Territory> territoryMap,
+        Map<String, String> attackedPieces,
+        List<Pin> pins,
+        List<XRay> discoveredAttacks,
+        List<XRay> xRays
+) {
+}
@@ -3,4 +3,30 @@ package com.backend.chess.analysis;
 import com.backend.chess.model.PlayerColor;
 
 public record Territory(PlayerColor controller, int whiteAttackers, int blackAttackers) {
+    private static final int CACHED_COUNTS = 16;
+    private static final Territory[] CACHE = new Territory[CACHED_COUNTS * CACHED_COUNTS];
+
+    static {
+        for (int white = 0; white < CACHED_COUNTS; white++) {
+            for (int black = 0; black < CACHED_COUNTS; black++) {
+                CACHE[white * CACHED_COUNTS + black] = new Territory(controllerOf(white, black), white, black);
+            }
+        }
+    }
+
+    /**
+     * Gets the Territory for the given attacker counts. Territories are immutable,
+     * so common counts are served from a shared cache instead of being allocated.
+     */
+    public static Territory of(int whiteAttackers, int blackAttackers) {
+        if (whiteAttackers < CACHED_COUNTS && blackAttackers < CACHED_COUNTS) {
+            return CACHE[whiteAttackers * CACHED_COUNTS + blackAttackers];
+        }
+        return new Territory(controllerOf(whiteAttackers, blackAttackers), whiteAttackers, blackAttackers);
+    }
+
+    private static PlayerColor controllerOf(int whiteAttackers, int blackAttackers) {
+        return (whiteAttackers > blackAttackers) ? PlayerColor.WHITE :
+                (blackAttackers > whiteAttackers) ? PlayerColor.BLACK : null;
+    }
 }
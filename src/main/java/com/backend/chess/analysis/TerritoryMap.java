@@ -0,0 +1,92 @@
+package com.backend.chess.analysis;
+
+import com.backend.chess.bitboard.Bitboards;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The territory of every square, keyed by square name ("a1" to "h8"), as a read-only map
+ * over one array indexed by square.
+ * <p>
+ * A result is built after every move, so this replaces a 64-entry hash map: the names are
+ * the shared constants of {@link Bitboards#squareName(int)} and the values mostly shared
+ * {@link Territory} instances, leaving the array as the only allocation. Lookups by name
+ * parse the square instead of hashing.
+ */
+public final class TerritoryMap extends AbstractMap<String, Territory> {
+    private final Territory[] territories;
+
+    private TerritoryMap(Territory[] territories) {
+        this.territories = territories;
+    }
+
+    /**
+     * Builds the map from per-square attacker counts.
+     */
+    public static TerritoryMap of(int[] whiteAttackers, int[] blackAttackers) {
+        Territory[] territories = new Territory[64];
+        for (int square = 0; square < 64; square++) {
+            territories[square] = Territory.of(whiteAttackers[square], blackAttackers[square]);
+        }
+        return new TerritoryMap(territories);
+    }
+
+    /**
+     * Gets the territory of a square by index.
+     */
+    public Territory get(int square) {
+        return territories[square];
+    }
+
+    @Override
+    public Territory get(Object key) {
+        int square = key instanceof String name ? Bitboards.parseSquare(name) : -1;
+        return square < 0 ? null : territories[square];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return 64;
+    }
+
+    @Override
+    public Set<Entry<String, Territory>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Territory>> iterator() {
+                return new Iterator<>() {
+                    private int square;
+
+                    @Override
+                    public boolean hasNext() {
+                        return square < 64;
+                    }
+
+                    @Override
+                    public Entry<String, Territory> next() {
+                        if (square >= 64) {
+                            throw new NoSuchElementException();
+                        }
+                        Territory territory = territories[square];
+                        return Map.entry(Bitboards.squareName(square++), territory);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return 64;
+            }
+        };
+    }
+}
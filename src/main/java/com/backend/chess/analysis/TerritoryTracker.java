@@ -0,0 +1,152 @@
+package com.backend.chess.analysis;
+
+import com.backend.chess.bitboard.Bitboards;
+import com.backend.chess.bitboard.PackedMove;
+import com.backend.chess.bitboard.Pieces;
+import com.backend.chess.bitboard.Position;
+import com.backend.chess.model.PlayerColor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps per-square attacker counts for a position and updates them incrementally.
+ * <p>
+ * After a move only two kinds of pieces can attack different squares: pieces on squares
+ * whose content changed, and sliding pieces whose rays reached one of those squares
+ * (the occupancy along the ray changed there). {@link #update(Position, long)} recomputes
+ * exactly those pieces and applies the difference to the counts, instead of rescanning
+ * every piece on the board.
+ */
+public class TerritoryTracker {
+    private final int[] pieceOn = new int[64];
+    private final long[] attacksFrom = new long[64];
+    private final int[] whiteAttackers = new int[64];
+    private final int[] blackAttackers = new int[64];
+    private long sliders;
+    // The territory of the last result, reused until a count changes
+    private TerritoryMap territoryMap;
+
+    /**
+     * Builds the counts for a position from scratch.
+     */
+    public TerritoryTracker(Position position) {
+        Arrays.fill(pieceOn, Pieces.NONE);
+        long occupied = position.occupied();
+        long remaining = occupied;
+        while (remaining != 0) {
+            int square = Long.numberOfTrailingZeros(remaining);
+            remaining &= remaining - 1;
+            addPiece(square, position.pieceAt(square), occupied);
+        }
+    }
+
+    /**
+     * Brings the counts in line with the position after a move was made on it.
+     *
+     * @param position The position this tracker was built from, in its new state.
+     * @param changed The squares whose content the move changed ({@link PackedMove#changedSquares(int)}).
+     */
+    public void update(Position position, long changed) {
+        if (changed == 0) {
+            return;
+        }
+
+        // Sliders whose rays touched a changed square see a different occupancy now.
+        long affected = changed;
+        long candidates = sliders & ~changed;
+        while (candidates != 0) {
+            int square = Long.numberOfTrailingZeros(candidates);
+            candidates &= candidates - 1;
+            if ((attacksFrom[square] & changed) != 0) {
+                affected |= Bitboards.bit(square);
+            }
+        }
+
+        long occupied = position.occupied();
+        while (affected != 0) {
+            int square = Long.numberOfTrailingZeros(affected);
+            affected &= affected - 1;
+            removePiece(square);
+            int piece = position.pieceAt(square);
+            if (piece != Pieces.NONE) {
+                addPiece(square, piece, occupied);
+            }
+        }
+    }
+
+    public int whiteAttackers(int square) {
+        return whiteAttackers[square];
+    }
+
+    public int blackAttackers(int square) {
+        return blackAttackers[square];
+    }
+
+    /**
+     * Builds the AnalysisResult for the tracked position. The result is read-only,
+     * so it can be cached and shared between games. Its territory map is shared with
+     * the previous result when no attacker count changed in between.
+     *
+     * @param lines The pins, discovered attacks and x-rays to report alongside the territory.
+     */
+    public AnalysisResult toAnalysisResult(LineTactics lines) {
+        if (territoryMap == null) {
+            territoryMap = TerritoryMap.of(whiteAttackers, blackAttackers);
+        }
+        Map<String, String> attackedPieces = new HashMap<>();
+        for (int square = 0; square < 64; square++) {
+            // A piece is attacked when the opposite colour attacks its square; the value is the attacker's colour
+            int piece = pieceOn[square];
+            if (piece != Pieces.NONE) {
+                if (Pieces.color(piece) == Pieces.WHITE && blackAttackers[square] > 0) {
+                    attackedPieces.put(Bitboards.squareName(square), PlayerColor.BLACK.name());
+                } else if (Pieces.color(piece) == Pieces.BLACK && whiteAttackers[square] > 0) {
+                    attackedPieces.put(Bitboards.squareName(square), PlayerColor.WHITE.name());
+                }
+            }
+        }
+        return new AnalysisResult(territoryMap, Collections.unmodifiableMap(attackedPieces), lines.pins(), lines.discoveredAttacks(), lines.xRays());
+    }
+
+    // --- Private helpers ---
+
+    private void addPiece(int square, int piece, long occupied) {
+        long attacks = Bitboards.attacks(piece, square, occupied);
+        pieceOn[square] = piece;
+        attacksFrom[square] = attacks;
+        if (isSlider(piece)) {
+            sliders |= Bitboards.bit(square);
+        }
+        adjustCounts(piece, attacks, 1);
+    }
+
+    private void removePiece(int square) {
+        int piece = pieceOn[square];
+        if (piece == Pieces.NONE) {
+            return;
+        }
+        adjustCounts(piece, attacksFrom[square], -1);
+        pieceOn[square] = Pieces.NONE;
+        attacksFrom[square] = 0L;
+        sliders &= ~Bitboards.bit(square);
+    }
+
+    private void adjustCounts(int piece, long attacks, int delta) {
+        int[] counts = (Pieces.color(piece) == Pieces.WHITE) ? whiteAttackers : blackAttackers;
+        if (attacks != 0) {
+            territoryMap = null;
+        }
+        while (attacks != 0) {
+            counts[Long.numberOfTrailingZeros(attacks)] += delta;
+            attacks &= attacks - 1;
+        }
+    }
+
+    private static boolean isSlider(int piece) {
+        int type = Pieces.type(piece);
+        return type == Pieces.BISHOP || type == Pieces.ROOK || type == Pieces.QUEEN;
+    }
+}
@@ -0,0 +1,13 @@
+package com.backend.chess.analysis;
+
+import com.backend.chess.model.Coordinates;
+
+/**
+ * A sliding piece's line through one piece to a target behind it.
+ *
+ * @param attackerPosition The rook, bishop or queen.
+ * @param blockerPosition The single piece between the attacker and the target.
+ * @param targetPosition The enemy piece the attacker would hit if the blocker moved away.
+ */
+public record XRay(Coordinates attackerPosition, Coordinates blockerPosition, Coordinates targetPosition) {
+}
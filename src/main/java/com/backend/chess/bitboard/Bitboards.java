@@ -0,0 +1,164 @@
+package com.backend.chess.bitboard;
+
+/**
+ * Square helpers and precomputed attack tables for the non-sliding pieces.
+ * Squares are indexed 0..63 as {@code rank * 8 + file}, so a1 = 0, h1 = 7 and h8 = 63,
+ * matching {@code Coordinates(x = file, y = rank)}.
+ */
+public final class Bitboards {
+    public static final long FILE_A = 0x0101010101010101L;
+    public static final long FILE_H = FILE_A << 7;
+    public static final long RANK_1 = 0xFFL;
+    public static final long RANK_8 = RANK_1 << 56;
+
+    private static final long[] KNIGHT_ATTACKS = new long[64];
+    private static final long[] KING_ATTACKS = new long[64];
+    private static final long[][] PAWN_ATTACKS = new long[2][64];
+    private static final long[][] BETWEEN = new long[64][64];
+    private static final long[][] LINE = new long[64][64];
+    private static final String[] SQUARE_NAMES = new String[64];
+
+    static {
+        int[][] knightOffsets = {{1, 2}, {1, -2}, {-1, 2}, {-1, -2}, {2, 1}, {2, -1}, {-2, 1}, {-2, -1}};
+        int[][] kingOffsets = {{0, 1}, {0, -1}, {1, 0}, {-1, 0}, {1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+        for (int square = 0; square < 64; square++) {
+            int x = file(square);
+            int y = rank(square);
+            KNIGHT_ATTACKS[square] = offsetsToBitboard(x, y, knightOffsets);
+            KING_ATTACKS[square] = offsetsToBitboard(x, y, kingOffsets);
+            PAWN_ATTACKS[Pieces.WHITE][square] = offsetsToBitboard(x, y, new int[][]{{-1, 1}, {1, 1}});
+            PAWN_ATTACKS[Pieces.BLACK][square] = offsetsToBitboard(x, y, new int[][]{{-1, -1}, {1, -1}});
+            SQUARE_NAMES[square] = "" + (char) ('a' + x) + (char) ('1' + y);
+        }
+        for (int a = 0; a < 64; a++) {
+            for (int b = 0; b < 64; b++) {
+                if (a == b) {
+                    continue;
+                }
+                long ends = bit(a) | bit(b);
+                if ((Magics.rookAttacks(a, 0L) & bit(b)) != 0) {
+                    BETWEEN[a][b] = Magics.rookAttacks(a, bit(b)) & Magics.rookAttacks(b, bit(a));
+                    LINE[a][b] = (Magics.rookAttacks(a, 0L) & Magics.rookAttacks(b, 0L)) | ends;
+                } else if ((Magics.bishopAttacks(a, 0L) & bit(b)) != 0) {
+                    BETWEEN[a][b] = Magics.bishopAttacks(a, bit(b)) & Magics.bishopAttacks(b, bit(a));
+                    LINE[a][b] = (Magics.bishopAttacks(a, 0L) & Magics.bishopAttacks(b, 0L)) | ends;
+                }
+            }
+        }
+    }
+
+    private Bitboards() {
+    }
+
+    public static int square(int file, int rank) {
+        return rank * 8 + file;
+    }
+
+    public static int file(int square) {
+        return square & 7;
+    }
+
+    public static int rank(int square) {
+        return square >>> 3;
+    }
+
+    public static long bit(int square) {
+        return 1L << square;
+    }
+
+    /**
+     * Gets the algebraic name of a square (e.g., "e4") without allocating.
+     */
+    public static String squareName(int square) {
+        return SQUARE_NAMES[square];
+    }
+
+    /**
+     * Parses an algebraic square name (e.g., "e4").
+     *
+     * @return The square index, or -1 if the name is not a valid square.
+     */
+    public static int parseSquare(String name) {
+        if (name == null || name.length() != 2) {
+            return -1;
+        }
+        int x = name.charAt(0) - 'a';
+        int y = name.charAt(1) - '1';
+        if (x < 0 || x > 7 || y < 0 || y > 7) {
+            return -1;
+        }
+        return square(x, y);
+    }
+
+    public static long knightAttacks(int square) {
+        return KNIGHT_ATTACKS[square];
+    }
+
+    public static long kingAttacks(int square) {
+        return KING_ATTACKS[square];
+    }
+
+    /**
+     * Gets the squares a pawn of the given colour attacks (diagonal captures only).
+     */
+    public static long pawnAttacks(int color, int square) {
+        return PAWN_ATTACKS[color][square];
+    }
+
+    /**
+     * Gets the squares strictly between two squares on a shared rank, file or diagonal.
+     *
+     * @return The squares in between, or 0 if the squares are not aligned.
+     */
+    public static long between(int a, int b) {
+        return BETWEEN[a][b];
+    }
+
+    /**
+     * Gets the whole line (edge to edge) through two squares on a shared rank, file or diagonal.
+     *
+     * @return The line including both squares, or 0 if the squares are not aligned.
+     */
+    public static long line(int a, int b) {
+        return LINE[a][b];
+    }
+
+    /**
+     * Gets the squares a piece attacks from the given square.
+     *
+     * @param piece    The piece code (see {@link Pieces}).
+     * @param square   The square the piece stands on.
+     * @param occupied The occupancy used to block sliding pieces.
+     * @return The attack set as a bitboard.
+     */
+    public static long attacks(int piece, int square, long occupied) {
+        switch (Pieces.type(piece)) {
+            case Pieces.PAWN:
+                return PAWN_ATTACKS[Pieces.color(piece)][square];
+            case Pieces.KNIGHT:
+                return KNIGHT_ATTACKS[square];
+            case Pieces.BISHOP:
+                return Magics.bishopAttacks(square, occupied);
+            case Pieces.ROOK:
+                return Magics.rookAttacks(square, occupied);
+            case Pieces.QUEEN:
+                return Magics.rookAttacks(square, occupied) | Magics.bishopAttacks(square, occupied);
+            case Pieces.KING:
+                return KING_ATTACKS[square];
+            default:
+                return 0L;
+        }
+    }
+
+    private static long offsetsToBitboard(int x, int y, int[][] offsets) {
+        long bitboard = 0L;
+        for (int[] offset : offsets) {
+            int tx = x + offset[0];
+            int ty = y + offset[1];
+            if (tx >= 0 && tx < 8 && ty >= 0 && ty < 8) {
+                bitboard |= bit(square(tx, ty));
+            }
+        }
+        return bitboard;
+    }
+}
@@ -0,0 +1,159 @@
+package com.backend.chess.bitboard;
+
+/**
+ * Reads and writes positions in Forsyth-Edwards Notation, e.g. the starting position
+ * {@code rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1}.
+ * The halfmove clock and fullmove number may be left out; they default to 0 and 1.
+ */
+public final class Fen {
+    public static final String INITIAL = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private static final String PIECE_LETTERS = "pnbrqk";
+    private static final String CASTLING_LETTERS = "KQkq";
+    private static final long BACK_RANKS = 0xFF000000000000FFL;
+
+    private Fen() {
+    }
+
+    /**
+     * Parses a FEN string.
+     *
+     * @throws IllegalArgumentException if the text is not a valid FEN or does not describe a legal position.
+     */
+    public static Position parse(String fen) {
+        String[] fields = fen == null ? new String[0] : fen.trim().split("\\s+");
+        if (fields.length != 4 && fields.length != 6) {
+            throw invalid(fen, "expected 4 or 6 fields");
+        }
+        Position position = new Position();
+        parsePlacement(position, fields[0], fen);
+
+        if (!fields[1].equals("w") && !fields[1].equals("b")) {
+            throw invalid(fen, "side to move must be 'w' or 'b'");
+        }
+        position.setSideToMove(fields[1].equals("w") ? Pieces.WHITE : Pieces.BLACK);
+        int opponent = Pieces.opposite(position.sideToMove());
+        if (position.isAttacked(position.kingSquare(opponent), position.sideToMove())) {
+            throw invalid(fen, "the side not to move is in check");
+        }
+
+        int castlingRights = 0;
+        if (!fields[2].equals("-")) {
+            for (char c : fields[2].toCharArray()) {
+                int index = CASTLING_LETTERS.indexOf(c);
+                if (index < 0) {
+                    throw invalid(fen, "unknown castling right '" + c + "'");
+                }
+                castlingRights |= 1 << index; // Same order as the Position rights bits
+            }
+        }
+        // Rights without the king and rook on their home squares could not be used safely
+        position.setCastlingRights(castlingRights & position.inferCastlingRights());
+
+        if (!fields[3].equals("-")) {
+            int square = Bitboards.parseSquare(fields[3]);
+            if (square < 0 || Bitboards.rank(square) != (position.sideToMove() == Pieces.WHITE ? 5 : 2)) {
+                throw invalid(fen, "bad en passant square '" + fields[3] + "'");
+            }
+            // Kept only when a pawn can capture onto it, as Position does after a double push
+            if ((Bitboards.pawnAttacks(opponent, square) & position.pieces(position.sideToMove(), Pieces.PAWN)) != 0) {
+                position.setEnPassantSquare(square);
+            }
+        }
+
+        if (fields.length == 6) {
+            try {
+                position.setHalfmoveClock(Integer.parseInt(fields[4]));
+                position.setFullmoveNumber(Math.max(1, Integer.parseInt(fields[5])));
+            } catch (NumberFormatException e) {
+                throw invalid(fen, "bad move counters");
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Writes a position as a FEN string with all six fields. The en passant field names a
+     * square only when a pawn can capture onto it, as {@link Position} records it.
+     */
+    public static String toFen(Position position) {
+        StringBuilder fen = new StringBuilder(90);
+        for (int rank = 7; rank >= 0; rank--) {
+            int empty = 0;
+            for (int file = 0; file < 8; file++) {
+                int piece = position.pieceAt(Bitboards.square(file, rank));
+                if (piece == Pieces.NONE) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    fen.append(empty);
+                    empty = 0;
+                }
+                char letter = PIECE_LETTERS.charAt(Pieces.type(piece));
+                fen.append(Pieces.color(piece) == Pieces.WHITE ? Character.toUpperCase(letter) : letter);
+            }
+            if (empty > 0) {
+                fen.append(empty);
+            }
+            if (rank > 0) {
+                fen.append('/');
+            }
+        }
+        fen.append(position.sideToMove() == Pieces.WHITE ? " w " : " b ");
+        int rights = position.castlingRights();
+        for (int i = 0; i < CASTLING_LETTERS.length(); i++) {
+            if ((rights & (1 << i)) != 0) {
+                fen.append(CASTLING_LETTERS.charAt(i));
+            }
+        }
+        if (rights == 0) {
+            fen.append('-');
+        }
+        int enPassant = position.enPassantSquare();
+        fen.append(' ').append(enPassant < 0 ? "-" : Bitboards.squareName(enPassant));
+        fen.append(' ').append(position.halfmoveClock()).append(' ').append(position.fullmoveNumber());
+        return fen.toString();
+    }
+
+    // --- Private helpers ---
+
+    private static void parsePlacement(Position position, String placement, String fen) {
+        String[] ranks = placement.split("/", -1);
+        if (ranks.length != 8) {
+            throw invalid(fen, "expected 8 ranks");
+        }
+        for (int i = 0; i < 8; i++) {
+            int rank = 7 - i;
+            int file = 0;
+            for (char c : ranks[i].toCharArray()) {
+                if (c >= '1' && c <= '8') {
+                    file += c - '0';
+                } else {
+                    int type = PIECE_LETTERS.indexOf(Character.toLowerCase(c));
+                    if (type < 0 || file > 7) {
+                        throw invalid(fen, "bad rank '" + ranks[i] + "'");
+                    }
+                    int color = Character.isUpperCase(c) ? Pieces.WHITE : Pieces.BLACK;
+                    position.put(Bitboards.square(file, rank), Pieces.of(color, type));
+                    file++;
+                }
+            }
+            if (file != 8) {
+                throw invalid(fen, "rank '" + ranks[i] + "' does not have 8 squares");
+            }
+        }
+        for (int color = Pieces.WHITE; color <= Pieces.BLACK; color++) {
+            if (Long.bitCount(position.pieces(color, Pieces.KING)) != 1) {
+                throw invalid(fen, "each side needs exactly one king");
+            }
+            if ((position.pieces(color, Pieces.PAWN) & BACK_RANKS) != 0) {
+                throw invalid(fen, "pawns cannot stand on the first or last rank");
+            }
+        }
+    }
+
+    private static IllegalArgumentException invalid(String fen, String reason) {
+        return new IllegalArgumentException("Invalid FEN '" + fen + "': " + reason);
+    }
+}
@@ -0,0 +1,156 @@
+package com.backend.chess.bitboard;
+
+/**
+ * Sliding piece attack lookups using "fancy" magic bitboards.
+ * For every square the relevant blocker mask is multiplied by a magic number and the
+ * top bits of the product index a precomputed attack table, so a rook or bishop attack
+ * set costs one multiply, one shift and one array load.
+ */
+public final class Magics {
+
+    private static final long[] ROOK_MAGICS = {
+            0x2280002040021A80L, 0x0040400020001000L, 0x02000A0080401020L, 0x1100050020100008L,
+            0x0600200428220010L, 0x0100080204000100L, 0x4200280A000120A4L, 0x2080002900045080L,
+            0x0000800030804002L, 0x8837004000208900L, 0x6001001100200040L, 0xC001000900100020L,
+            0x0421000500080012L, 0x0162000408020010L, 0x1801000402000100L, 0x0801000058820900L,
+            0x0800888000400020L, 0x0400810021104000L, 0x0050002000240801L, 0x1840210009001000L,
+            0x0011B10028001500L, 0x8000E80110401420L, 0x0203008080020001L, 0x40000A0018805114L,
+            0x4000400080208001L, 0x10300040C0002000L, 0x0000200080801000L, 0x0820100080800800L,
+            0x0024040080080081L, 0x0800040080020080L, 0x0401C12400100802L, 0x9000010200088464L,
+            0x0400400081800024L, 0x8110002000400040L, 0x8040200084801000L, 0x0841001001000820L,
+            0x0044020800800480L, 0x0002001002000804L, 0x0000420104001048L, 0x0008803040800100L,
+            0x0060400020808000L, 0x4110004620034000L, 0x0420002100410010L, 0x0800120020420008L,
+            0x8068000400808008L, 0x1422000400808002L, 0x8044100201040048L, 0x2008948044020025L,
+            0x0080800040350100L, 0x0602400020100340L, 0x0000408010220200L, 0x4434411189220200L,
+            0x2000100408010100L, 0x2000800400020080L, 0x1881000482004100L, 0x00024100428C0600L,
+            0x0000420100208012L, 0x1001008010400021L, 0x800080118840A202L, 0x0010002108041101L,
+            0x010A001020082406L, 0x000100040028064BL, 0x9000100800A20124L, 0xC080140082244506L
+    };
+
+    private static final long[] BISHOP_MAGICS = {
+            0x1040043840490020L, 0x2603020822088102L, 0x0204484081000044L, 0x0028204040024200L,
+            0x0027104008020800L, 0x0004301808000040L, 0x0004020110082004L, 0x0010660202200A42L,
+            0x8000420808008080L, 0x9000020404088A10L, 0x004011070A020022L, 0x4800022A02000100L,
+            0x1304111040200000L, 0x8240020210042409L, 0xA840010401044000L, 0x8008032202700400L,
+            0x104400E0A00C2910L, 0x0220201292143100L, 0x0130020800282420L, 0x0202002022014056L,
+            0x1002035C12020104L, 0x0902000100420218L, 0x4002000921104200L, 0x2101021080711002L,
+            0x0D20100004508200L, 0x0022022020480210L, 0x0094880010002A21L, 0x1004480004021020L,
+            0x6009040042002100L, 0x0102028802009000L, 0x00810D0206009080L, 0x040E112122010500L,
+            0x0010048440200800L, 0x480402A000081112L, 0x4400288805300320L, 0x0010620081080080L,
+            0x2040010804190040L, 0x00040802200A1010L, 0x8201010110020810L, 0x00020192004A6221L,
+            0x040804053D412001L, 0x0207080144101000L, 0x0450202428001000L, 0x080080A015031803L,
+            0x0001201450100300L, 0x0040011C00211502L, 0x0602105142010100L, 0x8204448201428200L,
+            0x0100840108C00100L, 0x8296290410040148L, 0x0C20104104410020L, 0x01000284A1980800L,
+            0x2000004088221004L, 0x4010085001020601L, 0x030420882A008164L, 0x0108010802084280L,
+            0x000202088411088AL, 0xD100809400821020L, 0x0000000100411002L, 0x00100080082A0800L,
+            0x006A860020420480L, 0x2008002004591600L, 0x421404A028020091L, 0x0041210A02004100L
+    };
+
+    private static final int[][] ROOK_DIRECTIONS = {{0, 1}, {0, -1}, {1, 0}, {-1, 0}};
+    private static final int[][] BISHOP_DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+
+    private static final long[] ROOK_MASKS = new long[64];
+    private static final long[] BISHOP_MASKS = new long[64];
+    private static final int[] ROOK_SHIFTS = new int[64];
+    private static final int[] BISHOP_SHIFTS = new int[64];
+    private static final long[][] ROOK_TABLE = new long[64][];
+    private static final long[][] BISHOP_TABLE = new long[64][];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            initSquare(square, ROOK_DIRECTIONS, ROOK_MAGICS, ROOK_MASKS, ROOK_SHIFTS, ROOK_TABLE);
+            initSquare(square, BISHOP_DIRECTIONS, BISHOP_MAGICS, BISHOP_MASKS, BISHOP_SHIFTS, BISHOP_TABLE);
+        }
+    }
+
+    private Magics() {
+    }
+
+    /**
+     * Gets the squares a rook on the given square attacks.
+     *
+     * @param square   The square index (0 = a1, 63 = h8).
+     * @param occupied The occupancy bitboard; the first piece on each ray blocks it (and is included).
+     * @return The attack set as a bitboard.
+     */
+    public static long rookAttacks(int square, long occupied) {
+        int index = (int) (((occupied & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square]);
+        return ROOK_TABLE[square][index];
+    }
+
+    /**
+     * Gets the squares a bishop on the given square attacks.
+     *
+     * @param square   The square index (0 = a1, 63 = h8).
+     * @param occupied The occupancy bitboard; the first piece on each ray blocks it (and is included).
+     * @return The attack set as a bitboard.
+     */
+    public static long bishopAttacks(int square, long occupied) {
+        int index = (int) (((occupied & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square]);
+        return BISHOP_TABLE[square][index];
+    }
+
+    // --- Table construction (runs once at class load) ---
+
+    private static void initSquare(int square, int[][] directions, long[] magics,
+                                   long[] masks, int[] shifts, long[][] tables) {
+        long mask = relevantOccupancyMask(square, directions);
+        int bits = Long.bitCount(mask);
+        masks[square] = mask;
+        shifts[square] = 64 - bits;
+        long[] table = new long[1 << bits];
+
+        // Enumerate every subset of the mask (Carry-Rippler) and store its attack set.
+        long subset = 0;
+        do {
+            int index = (int) ((subset * magics[square]) >>> (64 - bits));
+            table[index] = slidingAttacks(square, subset, directions);
+            subset = (subset - mask) & mask;
+        } while (subset != 0);
+        tables[square] = table;
+    }
+
+    /**
+     * The squares whose occupancy can change the attack set: each ray excluding the board edge.
+     */
+    private static long relevantOccupancyMask(int square, int[][] directions) {
+        long mask = 0L;
+        int file = square & 7;
+        int rank = square >>> 3;
+        for (int[] dir : directions) {
+            int x = file + dir[0];
+            int y = rank + dir[1];
+            while (x + dir[0] >= 0 && x + dir[0] < 8 && y + dir[1] >= 0 && y + dir[1] < 8
+                    && x >= 0 && x < 8 && y >= 0 && y < 8) {
+                mask |= 1L << (y * 8 + x);
+                x += dir[0];
+                y += dir[1];
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Slow reference ray walk, only used to fill the lookup tables.
+     */
+    static long slidingAttacks(int square, long occupied, int[][] directions) {
+        long attacks = 0L;
+        int file = square & 7;
+        int rank = square >>> 3;
+        for (int[] dir : directions) {
+            int x = file + dir[0];
+            int y = rank + dir[1];
+            while (x >= 0 && x < 8 && y >= 0 && y < 8) {
+                long bit = 1L << (y * 8 + x);
+                attacks |= bit;
+                // If we hit any piece (friend or foe), the line of sight is blocked.
+                if ((occupied & bit) != 0) {
+                    break;
+                }
+                x += dir[0];
+                y += dir[1];
+            }
+        }
+        return attacks;
+    }
+}
@@ -0,0 +1,359 @@
+package com.backend.chess.bitboard;
+
+/**
+ * Legal move generation for a {@link Position}.
+ * <p>
+ * Moves are written as packed ints (see {@link PackedMove}) into a caller-supplied buffer,
+ * so generating moves never allocates. Legality is decided up front rather than by making
+ * each move and testing the king: pinned pieces are restricted to their pin line, check
+ * evasions are restricted to capturing or blocking the checker, and king moves are tested
+ * against the opponent's attacks with the king lifted off the board.
+ */
+public final class MoveGenerator {
+    /** Enough room for the legal moves of any reachable position (the known maximum is 218). */
+    public static final int MAX_MOVES = 256;
+
+    private MoveGenerator() {
+    }
+
+    /**
+     * Generates every legal move for the side to move.
+     *
+     * @param position The position to generate moves for.
+     * @param moves    The buffer to write the moves into (at least {@link #MAX_MOVES} long).
+     * @return The number of moves written.
+     */
+    public static int generateLegalMoves(Position position, int[] moves) {
+        int us = position.sideToMove();
+        int them = Pieces.opposite(us);
+        long occupied = position.occupied();
+        long ours = position.colorPieces(us);
+        long theirs = position.colorPieces(them);
+        int king = position.kingSquare(us);
+        int count = 0;
+        if (king < 0) {
+            return count; // Not a playable position
+        }
+
+        // King moves: the destination must not be attacked once the king has left its square.
+        long occupiedWithoutKing = occupied ^ Bitboards.bit(king);
+        long kingTargets = Bitboards.kingAttacks(king) & ~ours;
+        while (kingTargets != 0) {
+            int to = Long.numberOfTrailingZeros(kingTargets);
+            kingTargets &= kingTargets - 1;
+            if (position.attackersTo(to, them, occupiedWithoutKing) == 0) {
+                moves[count++] = PackedMove.of(king, to, (theirs & Bitboards.bit(to)) != 0 ? PackedMove.CAPTURE : PackedMove.QUIET);
+            }
+        }
+
+        long checkers = position.attackersTo(king, them, occupied);
+        if ((checkers & (checkers - 1)) != 0) {
+            return count; // Double check: only the king can move.
+        }
+
+        // Squares other pieces may move to: anywhere not ours, or only onto/in front of a single checker.
+        long targetMask = ~ours;
+        if (checkers != 0) {
+            int checker = Long.numberOfTrailingZeros(checkers);
+            targetMask = Bitboards.between(king, checker) | checkers;
+        } else {
+            count = generateCastling(position, us, them, occupied, moves, count);
+        }
+
+        long pinned = pinnedPieces(position, us, king);
+
+        count = generatePawnMoves(position, us, king, pinned, targetMask, moves, count);
+
+        long knights = position.pieces(us, Pieces.KNIGHT) & ~pinned; // A pinned knight can never move.
+        while (knights != 0) {
+            int from = Long.numberOfTrailingZeros(knights);
+            knights &= knights - 1;
+            count = addMoves(from, Bitboards.knightAttacks(from) & targetMask, theirs, moves, count);
+        }
+
+        long sliders = position.pieces(us, Pieces.BISHOP) | position.pieces(us, Pieces.ROOK) | position.pieces(us, Pieces.QUEEN);
+        while (sliders != 0) {
+            int from = Long.numberOfTrailingZeros(sliders);
+            sliders &= sliders - 1;
+            long targets = Bitboards.attacks(position.pieceAt(from), from, occupied) & targetMask;
+            if ((pinned & Bitboards.bit(from)) != 0) {
+                targets &= Bitboards.line(king, from);
+            }
+            count = addMoves(from, targets, theirs, moves, count);
+        }
+        return count;
+    }
+
+    /**
+     * Checks whether the side to move has any legal move, without generating them all.
+     * <p>
+     * Follows the same legality rules as {@link #generateLegalMoves} but returns at the first
+     * move found, trying the king first and then the pieces most likely to have a move.
+     * Castling is never needed: when it is legal, so is the king's step towards the rook.
+     * In check, only captures and blocks of the single checker are considered.
+     */
+    public static boolean hasLegalMove(Position position) {
+        int us = position.sideToMove();
+        int them = Pieces.opposite(us);
+        int king = position.kingSquare(us);
+        if (king < 0) {
+            return false;
+        }
+        long occupied = position.occupied();
+        long ours = position.colorPieces(us);
+
+        long occupiedWithoutKing = occupied ^ Bitboards.bit(king);
+        long kingTargets = Bitboards.kingAttacks(king) & ~ours;
+        while (kingTargets != 0) {
+            int to = Long.numberOfTrailingZeros(kingTargets);
+            kingTargets &= kingTargets - 1;
+            if (position.attackersTo(to, them, occupiedWithoutKing) == 0) {
+                return true;
+            }
+        }
+
+        long checkers = position.attackersTo(king, them, occupied);
+        if ((checkers & (checkers - 1)) != 0) {
+            return false; // Double check and the king cannot move
+        }
+        long targetMask = ~ours;
+        if (checkers != 0) {
+            targetMask = Bitboards.between(king, Long.numberOfTrailingZeros(checkers)) | checkers;
+        }
+        long pinned = pinnedPieces(position, us, king);
+
+        long knights = position.pieces(us, Pieces.KNIGHT) & ~pinned;
+        while (knights != 0) {
+            int from = Long.numberOfTrailingZeros(knights);
+            knights &= knights - 1;
+            if ((Bitboards.knightAttacks(from) & targetMask) != 0) {
+                return true;
+            }
+        }
+
+        long sliders = position.pieces(us, Pieces.BISHOP) | position.pieces(us, Pieces.ROOK) | position.pieces(us, Pieces.QUEEN);
+        while (sliders != 0) {
+            int from = Long.numberOfTrailingZeros(sliders);
+            sliders &= sliders - 1;
+            long targets = Bitboards.attacks(position.pieceAt(from), from, occupied) & targetMask;
+            if ((pinned & Bitboards.bit(from)) != 0) {
+                targets &= Bitboards.line(king, from);
+            }
+            if (targets != 0) {
+                return true;
+            }
+        }
+
+        return hasPawnMove(position, us, king, pinned, targetMask);
+    }
+
+    /**
+     * Finds the legal move matching an origin, target and promotion piece.
+     *
+     * @param promotionType The promotion piece type (see {@link Pieces}), or {@link Pieces#NONE}.
+     * @param buffer        A scratch buffer of at least {@link #MAX_MOVES} entries.
+     * @return The packed move, or {@link PackedMove#NONE} if no such legal move exists.
+     */
+    public static int findLegalMove(Position position, int from, int to, int promotionType, int[] buffer) {
+        int count = generateLegalMoves(position, buffer);
+        for (int i = 0; i < count; i++) {
+            int move = buffer[i];
+            if (PackedMove.from(move) == from && PackedMove.to(move) == to
+                    && PackedMove.promotionType(move) == promotionType) {
+                return move;
+            }
+        }
+        return PackedMove.NONE;
+    }
+
+    /**
+     * Finds the legal move written in UCI coordinate notation (e.g., "e2e4", "e7e8q").
+     *
+     * @param buffer A scratch buffer of at least {@link #MAX_MOVES} entries.
+     * @return The packed move, or {@link PackedMove#NONE} if the text is malformed or the move is illegal.
+     */
+    public static int findUciMove(Position position, String uci, int[] buffer) {
+        if (uci == null || uci.length() < 4 || uci.length() > 5) {
+            return PackedMove.NONE;
+        }
+        int from = Bitboards.parseSquare(uci.substring(0, 2));
+        int to = Bitboards.parseSquare(uci.substring(2, 4));
+        if (from < 0 || to < 0) {
+            return PackedMove.NONE;
+        }
+        int promotionType = Pieces.NONE;
+        if (uci.length() == 5) {
+            promotionType = "nbrq".indexOf(Character.toLowerCase(uci.charAt(4))) + Pieces.KNIGHT;
+            if (promotionType < Pieces.KNIGHT) {
+                return PackedMove.NONE;
+            }
+        }
+        return findLegalMove(position, from, to, promotionType, buffer);
+    }
+
+    /**
+     * Gets the pieces of the given side that are pinned to their own king.
+     */
+    public static long pinnedPieces(Position position, int color, int king) {
+        int them = Pieces.opposite(color);
+        long queens = position.pieces(them, Pieces.QUEEN);
+        long snipers = (Magics.rookAttacks(king, 0L) & (position.pieces(them, Pieces.ROOK) | queens))
+                | (Magics.bishopAttacks(king, 0L) & (position.pieces(them, Pieces.BISHOP) | queens));
+        long occupied = position.occupied();
+        long pinned = 0L;
+        while (snipers != 0) {
+            int sniper = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
+            long blockers = Bitboards.between(king, sniper) & occupied;
+            if (blockers != 0 && (blockers & (blockers - 1)) == 0) {
+                pinned |= blockers & position.colorPieces(color);
+            }
+        }
+        return pinned;
+    }
+
+    // --- Private generation helpers ---
+
+    private static int generatePawnMoves(Position position, int us, int king, long pinned, long targetMask,
+                                         int[] moves, int count) {
+        int them = Pieces.opposite(us);
+        long empty = ~position.occupied();
+        long theirs = position.colorPieces(them);
+        int forward = (us == Pieces.WHITE) ? 8 : -8;
+        int startRank = (us == Pieces.WHITE) ? 1 : 6;
+        int promotionRank = (us == Pieces.WHITE) ? 7 : 0;
+        int enPassant = position.enPassantSquare();
+
+        long pawns = position.pieces(us, Pieces.PAWN);
+        while (pawns != 0) {
+            int from = Long.numberOfTrailingZeros(pawns);
+            pawns &= pawns - 1;
+            if (Bitboards.rank(from) == promotionRank) {
+                continue; // Left over from boards stored before promotions were enforced
+            }
+            long allowed = targetMask;
+            if ((pinned & Bitboards.bit(from)) != 0) {
+                allowed &= Bitboards.line(king, from);
+            }
+
+            // 1. Forward moves
+            int oneStep = from + forward;
+            if ((empty & Bitboards.bit(oneStep)) != 0) {
+                if ((allowed & Bitboards.bit(oneStep)) != 0) {
+                    count = addPawnMove(from, oneStep, false, promotionRank, moves, count);
+                }
+                int twoSteps = oneStep + forward;
+                if (Bitboards.rank(from) == startRank && (empty & allowed & Bitboards.bit(twoSteps)) != 0) {
+                    moves[count++] = PackedMove.of(from, twoSteps, PackedMove.DOUBLE_PAWN_PUSH);
+                }
+            }
+
+            // 2. Captures
+            long captures = Bitboards.pawnAttacks(us, from) & theirs & allowed;
+            while (captures != 0) {
+                int to = Long.numberOfTrailingZeros(captures);
+                captures &= captures - 1;
+                count = addPawnMove(from, to, true, promotionRank, moves, count);
+            }
+
+            // 3. En passant, checked by lifting both pawns off the board (covers pins along the rank too)
+            if (enPassant >= 0 && (Bitboards.pawnAttacks(us, from) & Bitboards.bit(enPassant)) != 0) {
+                int captured = enPassant - forward;
+                long occupiedAfter = (position.occupied() ^ Bitboards.bit(from) ^ Bitboards.bit(captured)) | Bitboards.bit(enPassant);
+                long attackers = position.attackersTo(king, them, occupiedAfter) & ~Bitboards.bit(captured);
+                if (attackers == 0) {
+                    moves[count++] = PackedMove.of(from, enPassant, PackedMove.EN_PASSANT);
+                }
+            }
+        }
+        return count;
+    }
+
+    private static boolean hasPawnMove(Position position, int us, int king, long pinned, long targetMask) {
+        int them = Pieces.opposite(us);
+        long empty = ~position.occupied();
+        long theirs = position.colorPieces(them);
+        int forward = (us == Pieces.WHITE) ? 8 : -8;
+        int startRank = (us == Pieces.WHITE) ? 1 : 6;
+        int promotionRank = (us == Pieces.WHITE) ? 7 : 0;
+        int enPassant = position.enPassantSquare();
+
+        long pawns = position.pieces(us, Pieces.PAWN);
+        while (pawns != 0) {
+            int from = Long.numberOfTrailingZeros(pawns);
+            pawns &= pawns - 1;
+            if (Bitboards.rank(from) == promotionRank) {
+                continue;
+            }
+            long allowed = targetMask;
+            if ((pinned & Bitboards.bit(from)) != 0) {
+                allowed &= Bitboards.line(king, from);
+            }
+            long oneStep = Bitboards.bit(from + forward);
+            if ((empty & oneStep) != 0) {
+                if ((allowed & oneStep) != 0) {
+                    return true;
+                }
+                if (Bitboards.rank(from) == startRank && (empty & allowed & Bitboards.bit(from + 2 * forward)) != 0) {
+                    return true;
+                }
+            }
+            if ((Bitboards.pawnAttacks(us, from) & theirs & allowed) != 0) {
+                return true;
+            }
+            if (enPassant >= 0 && (Bitboards.pawnAttacks(us, from) & Bitboards.bit(enPassant)) != 0) {
+                int captured = enPassant - forward;
+                long occupiedAfter = (position.occupied() ^ Bitboards.bit(from) ^ Bitboards.bit(captured)) | Bitboards.bit(enPassant);
+                if ((position.attackersTo(king, them, occupiedAfter) & ~Bitboards.bit(captured)) == 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int addPawnMove(int from, int to, boolean capture, int promotionRank, int[] moves, int count) {
+        if (Bitboards.rank(to) == promotionRank) {
+            moves[count++] = PackedMove.promotion(from, to, Pieces.QUEEN, capture);
+            moves[count++] = PackedMove.promotion(from, to, Pieces.KNIGHT, capture);
+            moves[count++] = PackedMove.promotion(from, to, Pieces.ROOK, capture);
+            moves[count++] = PackedMove.promotion(from, to, Pieces.BISHOP, capture);
+        } else {
+            moves[count++] = PackedMove.of(from, to, capture ? PackedMove.CAPTURE : PackedMove.QUIET);
+        }
+        return count;
+    }
+
+    private static int generateCastling(Position position, int us, int them, long occupied, int[] moves, int count) {
+        int rights = position.castlingRights();
+        int kingSide = (us == Pieces.WHITE) ? Position.WHITE_KING_SIDE : Position.BLACK_KING_SIDE;
+        int queenSide = (us == Pieces.WHITE) ? Position.WHITE_QUEEN_SIDE : Position.BLACK_QUEEN_SIDE;
+        int king = (us == Pieces.WHITE) ? 4 : 60;
+        int rook = Pieces.of(us, Pieces.ROOK);
+        if (position.pieceAt(king) != Pieces.of(us, Pieces.KING)) {
+            return count;
+        }
+
+        // The king may not pass through or land on an attacked square; it is not in check here.
+        if ((rights & kingSide) != 0 && position.pieceAt(king + 3) == rook
+                && (occupied & Bitboards.between(king, king + 3)) == 0
+                && !position.isAttacked(king + 1, them) && !position.isAttacked(king + 2, them)) {
+            moves[count++] = PackedMove.of(king, king + 2, PackedMove.KING_CASTLE);
+        }
+        if ((rights & queenSide) != 0 && position.pieceAt(king - 4) == rook
+                && (occupied & Bitboards.between(king, king - 4)) == 0
+                && !position.isAttacked(king - 1, them) && !position.isAttacked(king - 2, them)) {
+            moves[count++] = PackedMove.of(king, king - 2, PackedMove.QUEEN_CASTLE);
+        }
+        return count;
+    }
+
+    private static int addMoves(int from, long targets, long theirs, int[] moves, int count) {
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            moves[count++] = PackedMove.of(from, to, (theirs & Bitboards.bit(to)) != 0 ? PackedMove.CAPTURE : PackedMove.QUIET);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,93 @@
+package com.backend.chess.bitboard;
+
+/**
+ * Helpers for moves packed into 16 bits of an {@code int}, so move lists can live in
+ * primitive arrays: bits 0-5 hold the origin square, bits 6-11 the target square and
+ * bits 12-15 the move kind flags below.
+ */
+public final class PackedMove {
+    public static final int NONE = 0;
+
+    public static final int QUIET = 0;
+    public static final int DOUBLE_PAWN_PUSH = 1;
+    public static final int KING_CASTLE = 2;
+    public static final int QUEEN_CASTLE = 3;
+    public static final int CAPTURE = 4;
+    public static final int EN_PASSANT = 5;
+    // Promotion flags are 8 + (piece type - KNIGHT), with CAPTURE added for capturing promotions.
+    public static final int PROMOTION = 8;
+
+    private PackedMove() {
+    }
+
+    public static int of(int from, int to, int flags) {
+        return from | (to << 6) | (flags << 12);
+    }
+
+    public static int promotion(int from, int to, int promotionType, boolean capture) {
+        int flags = PROMOTION + (promotionType - Pieces.KNIGHT) + (capture ? CAPTURE : 0);
+        return of(from, to, flags);
+    }
+
+    public static int from(int move) {
+        return move & 0x3F;
+    }
+
+    public static int to(int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    public static int flags(int move) {
+        return (move >>> 12) & 0xF;
+    }
+
+    public static boolean isCapture(int move) {
+        return (flags(move) & CAPTURE) != 0;
+    }
+
+    public static boolean isPromotion(int move) {
+        return (flags(move) & PROMOTION) != 0;
+    }
+
+    public static boolean isCastle(int move) {
+        int flags = flags(move);
+        return flags == KING_CASTLE || flags == QUEEN_CASTLE;
+    }
+
+    /**
+     * Gets the piece type a pawn promotes to (see {@link Pieces}), or {@link Pieces#NONE}.
+     */
+    public static int promotionType(int move) {
+        return isPromotion(move) ? Pieces.KNIGHT + (flags(move) & 3) : Pieces.NONE;
+    }
+
+    /**
+     * Gets the squares whose content a move changes: origin and target, plus the rook's
+     * squares for castling and the captured pawn's square for en passant.
+     */
+    public static long changedSquares(int move) {
+        int from = from(move);
+        int to = to(move);
+        long squares = Bitboards.bit(from) | Bitboards.bit(to);
+        switch (flags(move)) {
+            case KING_CASTLE: return squares | Bitboards.bit(to + 1) | Bitboards.bit(to - 1);
+            case QUEEN_CASTLE: return squares | Bitboards.bit(to - 2) | Bitboards.bit(to + 1);
+            case EN_PASSANT: return squares | Bitboards.bit(Bitboards.square(Bitboards.file(to), Bitboards.rank(from)));
+            default: return squares;
+        }
+    }
+
+    /**
+     * Formats a move in UCI coordinate notation (e.g., "e2e4", "e7e8q").
+     */
+    public static String toUci(int move) {
+        String uci = Bitboards.squareName(from(move)) + Bitboards.squareName(to(move));
+        switch (promotionType(move)) {
+            case Pieces.KNIGHT: return uci + 'n';
+            case Pieces.BISHOP: return uci + 'b';
+            case Pieces.ROOK: return uci + 'r';
+            case Pieces.QUEEN: return uci + 'q';
+            default: return uci;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.backend.chess.bitboard;
+
+/**
+ * Primitive piece and colour codes used by the bitboard classes.
+ * A piece code packs colour and type as {@code color * 6 + type}, so the twelve
+ * piece bitboards of a {@link Position} can be indexed directly by it.
+ */
+public final class Pieces {
+    public static final int WHITE = 0;
+    public static final int BLACK = 1;
+
+    public static final int PAWN = 0;
+    public static final int KNIGHT = 1;
+    public static final int BISHOP = 2;
+    public static final int ROOK = 3;
+    public static final int QUEEN = 4;
+    public static final int KING = 5;
+
+    public static final int NONE = -1;
+    public static final int COUNT = 12;
+
+    private Pieces() {
+    }
+
+    public static int of(int color, int type) {
+        return color * 6 + type;
+    }
+
+    public static int color(int piece) {
+        return piece < 6 ? WHITE : BLACK;
+    }
+
+    public static int type(int piece) {
+        return piece < 6 ? piece : piece - 6;
+    }
+
+    public static int opposite(int color) {
+        return color ^ 1;
+    }
+}
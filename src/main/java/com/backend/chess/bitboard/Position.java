@@ -0,0 +1,397 @@
+package com.backend.chess.bitboard;
+
+import java.util.Arrays;
+
+/**
+ * A bitboard chess position: one {@code long} per piece (twelve in total), one per colour
+ * and the combined occupancy, plus a 64-entry mailbox for O(1) "what stands here" lookups.
+ * All operations work on primitive square indexes and piece codes (see {@link Pieces}),
+ * so nothing here allocates after construction.
+ * <p>
+ * Moves are made and taken back in place with {@link #makeMove(int)} and
+ * {@link #unmakeMove(int)}; the state needed to undo a move is kept on a primitive stack.
+ * A 64-bit Zobrist key (see {@link Zobrist}) is maintained with every change.
+ */
+public final class Position {
+    public static final int WHITE_KING_SIDE = 1;
+    public static final int WHITE_QUEEN_SIDE = 2;
+    public static final int BLACK_KING_SIDE = 4;
+    public static final int BLACK_QUEEN_SIDE = 8;
+    public static final int ALL_CASTLING = 15;
+
+    // Castling rights that survive a move touching each square (king and rook home squares clear theirs).
+    private static final int[] CASTLING_MASK = new int[64];
+
+    static {
+        Arrays.fill(CASTLING_MASK, ALL_CASTLING);
+        CASTLING_MASK[4] &= ~(WHITE_KING_SIDE | WHITE_QUEEN_SIDE);
+        CASTLING_MASK[7] &= ~WHITE_KING_SIDE;
+        CASTLING_MASK[0] &= ~WHITE_QUEEN_SIDE;
+        CASTLING_MASK[60] &= ~(BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        CASTLING_MASK[63] &= ~BLACK_KING_SIDE;
+        CASTLING_MASK[56] &= ~BLACK_QUEEN_SIDE;
+    }
+
+    private final long[] pieces = new long[Pieces.COUNT];
+    private final long[] colors = new long[2];
+    private long occupied;
+    private final int[] mailbox = new int[64];
+
+    private int sideToMove = Pieces.WHITE;
+    private int castlingRights;
+    private int enPassantSquare = -1;
+    private int halfmoveClock;
+    private int fullmoveNumber = 1;
+    private long key;
+
+    // Undo stack: captured piece, castling rights, en passant square and halfmove clock packed per ply,
+    // plus the key before each move.
+    private int[] undoStack = new int[64];
+    private long[] keyStack = new long[64];
+    private int undoCount;
+
+    public Position() {
+        Arrays.fill(mailbox, Pieces.NONE);
+    }
+
+    /**
+     * Creates the standard starting position.
+     */
+    public static Position initial() {
+        Position position = new Position();
+        int[] backRank = {Pieces.ROOK, Pieces.KNIGHT, Pieces.BISHOP, Pieces.QUEEN,
+                Pieces.KING, Pieces.BISHOP, Pieces.KNIGHT, Pieces.ROOK};
+        for (int file = 0; file < 8; file++) {
+            position.put(Bitboards.square(file, 0), Pieces.of(Pieces.WHITE, backRank[file]));
+            position.put(Bitboards.square(file, 1), Pieces.of(Pieces.WHITE, Pieces.PAWN));
+            position.put(Bitboards.square(file, 6), Pieces.of(Pieces.BLACK, Pieces.PAWN));
+            position.put(Bitboards.square(file, 7), Pieces.of(Pieces.BLACK, backRank[file]));
+        }
+        position.setCastlingRights(ALL_CASTLING);
+        return position;
+    }
+
+    public Position copy() {
+        Position copy = new Position();
+        System.arraycopy(pieces, 0, copy.pieces, 0, pieces.length);
+        System.arraycopy(colors, 0, copy.colors, 0, colors.length);
+        System.arraycopy(mailbox, 0, copy.mailbox, 0, mailbox.length);
+        copy.occupied = occupied;
+        copy.sideToMove = sideToMove;
+        copy.castlingRights = castlingRights;
+        copy.enPassantSquare = enPassantSquare;
+        copy.halfmoveClock = halfmoveClock;
+        copy.fullmoveNumber = fullmoveNumber;
+        copy.key = key;
+        return copy;
+    }
+
+    // --- Queries ---
+
+    /**
+     * Gets the piece code on a square, or {@link Pieces#NONE} if it is empty.
+     */
+    public int pieceAt(int square) {
+        return mailbox[square];
+    }
+
+    public long pieces(int piece) {
+        return pieces[piece];
+    }
+
+    public long pieces(int color, int type) {
+        return pieces[Pieces.of(color, type)];
+    }
+
+    public long colorPieces(int color) {
+        return colors[color];
+    }
+
+    public long occupied() {
+        return occupied;
+    }
+
+    public int sideToMove() {
+        return sideToMove;
+    }
+
+    public int castlingRights() {
+        return castlingRights;
+    }
+
+    /**
+     * Gets the square a pawn may capture onto en passant, or -1 if there is none.
+     */
+    public int enPassantSquare() {
+        return enPassantSquare;
+    }
+
+    public int halfmoveClock() {
+        return halfmoveClock;
+    }
+
+    public int fullmoveNumber() {
+        return fullmoveNumber;
+    }
+
+    /**
+     * Gets the Zobrist key identifying this position (pieces, side to move, castling and en passant).
+     */
+    public long key() {
+        return key;
+    }
+
+    /**
+     * Gets a Zobrist key of the piece placement alone, ignoring side to move, castling
+     * and en passant. Positions with the same placement have the same attacks and pins.
+     */
+    public long placementKey() {
+        return key ^ Zobrist.side(sideToMove) ^ Zobrist.castling(castlingRights) ^ Zobrist.enPassant(enPassantSquare);
+    }
+
+    /**
+     * Checks whether the side to move has its king attacked.
+     */
+    public boolean inCheck() {
+        int king = kingSquare(sideToMove);
+        return king >= 0 && isAttacked(king, Pieces.opposite(sideToMove));
+    }
+
+    /**
+     * Gets the square of the given side's king, or -1 if it has none.
+     */
+    public int kingSquare(int color) {
+        long king = pieces[Pieces.of(color, Pieces.KING)];
+        return king == 0 ? -1 : Long.numberOfTrailingZeros(king);
+    }
+
+    /**
+     * Gets every piece of the given colour that attacks a square.
+     *
+     * @param square   The target square.
+     * @param color    The attacking side.
+     * @param occupied The occupancy to use for sliding pieces (normally {@link #occupied()}).
+     * @return A bitboard of the attacking pieces.
+     */
+    public long attackersTo(int square, int color, long occupied) {
+        long queens = pieces(color, Pieces.QUEEN);
+        return (Bitboards.pawnAttacks(Pieces.opposite(color), square) & pieces(color, Pieces.PAWN))
+                | (Bitboards.knightAttacks(square) & pieces(color, Pieces.KNIGHT))
+                | (Bitboards.kingAttacks(square) & pieces(color, Pieces.KING))
+                | (Magics.bishopAttacks(square, occupied) & (pieces(color, Pieces.BISHOP) | queens))
+                | (Magics.rookAttacks(square, occupied) & (pieces(color, Pieces.ROOK) | queens));
+    }
+
+    /**
+     * Checks whether a square is attacked by any piece of the given colour.
+     */
+    public boolean isAttacked(int square, int byColor) {
+        return attackersTo(square, byColor, occupied) != 0;
+    }
+
+    // --- Mutation ---
+
+    /**
+     * Places a piece on an empty square.
+     */
+    public void put(int square, int piece) {
+        long bit = 1L << square;
+        pieces[piece] |= bit;
+        colors[Pieces.color(piece)] |= bit;
+        occupied |= bit;
+        mailbox[square] = piece;
+        key ^= Zobrist.piece(piece, square);
+    }
+
+    /**
+     * Removes whatever piece stands on a square.
+     *
+     * @return The removed piece code, or {@link Pieces#NONE} if the square was empty.
+     */
+    public int remove(int square) {
+        int piece = mailbox[square];
+        if (piece != Pieces.NONE) {
+            long bit = ~(1L << square);
+            pieces[piece] &= bit;
+            colors[Pieces.color(piece)] &= bit;
+            occupied &= bit;
+            mailbox[square] = Pieces.NONE;
+            key ^= Zobrist.piece(piece, square);
+        }
+        return piece;
+    }
+
+    public void setSideToMove(int color) {
+        key ^= Zobrist.side(sideToMove) ^ Zobrist.side(color);
+        this.sideToMove = color;
+    }
+
+    public void setCastlingRights(int castlingRights) {
+        key ^= Zobrist.castling(this.castlingRights) ^ Zobrist.castling(castlingRights & ALL_CASTLING);
+        this.castlingRights = castlingRights & ALL_CASTLING;
+    }
+
+    public void setEnPassantSquare(int square) {
+        key ^= Zobrist.enPassant(enPassantSquare) ^ Zobrist.enPassant(square);
+        this.enPassantSquare = square;
+    }
+
+    public void setHalfmoveClock(int halfmoveClock) {
+        this.halfmoveClock = halfmoveClock;
+    }
+
+    public void setFullmoveNumber(int fullmoveNumber) {
+        this.fullmoveNumber = fullmoveNumber;
+    }
+
+    /**
+     * Infers castling rights from pieces standing on their home squares.
+     * Used when loading positions stored without explicit rights.
+     */
+    public int inferCastlingRights() {
+        int rights = 0;
+        if (mailbox[4] == Pieces.of(Pieces.WHITE, Pieces.KING)) {
+            if (mailbox[7] == Pieces.of(Pieces.WHITE, Pieces.ROOK)) rights |= WHITE_KING_SIDE;
+            if (mailbox[0] == Pieces.of(Pieces.WHITE, Pieces.ROOK)) rights |= WHITE_QUEEN_SIDE;
+        }
+        if (mailbox[60] == Pieces.of(Pieces.BLACK, Pieces.KING)) {
+            if (mailbox[63] == Pieces.of(Pieces.BLACK, Pieces.ROOK)) rights |= BLACK_KING_SIDE;
+            if (mailbox[56] == Pieces.of(Pieces.BLACK, Pieces.ROOK)) rights |= BLACK_QUEEN_SIDE;
+        }
+        return rights;
+    }
+
+    /**
+     * Makes a move in place. The move must be legal in this position (see {@link MoveGenerator}).
+     *
+     * @param move The packed move (see {@link PackedMove}).
+     */
+    public void makeMove(int move) {
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        int flags = PackedMove.flags(move);
+        int us = sideToMove;
+        int piece = mailbox[from];
+        long keyBefore = key;
+
+        int captured = Pieces.NONE;
+        if (flags == PackedMove.EN_PASSANT) {
+            captured = remove(us == Pieces.WHITE ? to - 8 : to + 8);
+        } else if ((flags & PackedMove.CAPTURE) != 0) {
+            captured = remove(to);
+        }
+        pushUndo(captured, keyBefore);
+
+        remove(from);
+        put(to, PackedMove.isPromotion(move) ? Pieces.of(us, PackedMove.promotionType(move)) : piece);
+        if (flags == PackedMove.KING_CASTLE) {
+            put(to - 1, remove(to + 1));
+        } else if (flags == PackedMove.QUEEN_CASTLE) {
+            put(to + 1, remove(to - 2));
+        }
+
+        key ^= Zobrist.enPassant(enPassantSquare) ^ Zobrist.castling(castlingRights) ^ Zobrist.side(us);
+        // Only record an en passant square when an enemy pawn can actually capture onto it,
+        // so positions that differ only by an unusable square share one key.
+        int skipped = (from + to) >>> 1;
+        enPassantSquare = (flags == PackedMove.DOUBLE_PAWN_PUSH
+                && (Bitboards.pawnAttacks(us, skipped) & pieces(Pieces.opposite(us), Pieces.PAWN)) != 0) ? skipped : -1;
+        castlingRights &= CASTLING_MASK[from] & CASTLING_MASK[to];
+        halfmoveClock = (Pieces.type(piece) == Pieces.PAWN || captured != Pieces.NONE) ? 0 : halfmoveClock + 1;
+        if (us == Pieces.BLACK) {
+            fullmoveNumber++;
+        }
+        sideToMove = Pieces.opposite(us);
+        key ^= Zobrist.enPassant(enPassantSquare) ^ Zobrist.castling(castlingRights) ^ Zobrist.side(sideToMove);
+    }
+
+    /**
+     * Takes back the last move made with {@link #makeMove(int)}.
+     *
+     * @param move The same packed move that was made.
+     */
+    public void unmakeMove(int move) {
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        int flags = PackedMove.flags(move);
+        int us = Pieces.opposite(sideToMove);
+        sideToMove = us;
+        if (us == Pieces.BLACK) {
+            fullmoveNumber--;
+        }
+
+        if (flags == PackedMove.KING_CASTLE) {
+            put(to + 1, remove(to - 1));
+        } else if (flags == PackedMove.QUEEN_CASTLE) {
+            put(to - 2, remove(to + 1));
+        }
+        int piece = remove(to);
+        put(from, PackedMove.isPromotion(move) ? Pieces.of(us, Pieces.PAWN) : piece);
+
+        int undo = undoStack[--undoCount];
+        int captured = (undo & 0x1F) - 1;
+        if (captured != Pieces.NONE) {
+            put(flags == PackedMove.EN_PASSANT ? (us == Pieces.WHITE ? to - 8 : to + 8) : to, captured);
+        }
+        castlingRights = (undo >>> 5) & 0xF;
+        enPassantSquare = ((undo >>> 9) & 0x7F) - 1;
+        halfmoveClock = undo >>> 16;
+        key = keyStack[undoCount];
+    }
+
+    /**
+     * Passes the turn without moving, for null-move pruning in the search engine.
+     * Must not be used while in check; undo with {@link #unmakeNullMove()}.
+     */
+    public void makeNullMove() {
+        pushUndo(Pieces.NONE, key);
+        key ^= Zobrist.enPassant(enPassantSquare) ^ Zobrist.side(sideToMove);
+        enPassantSquare = -1;
+        halfmoveClock++;
+        sideToMove = Pieces.opposite(sideToMove);
+        key ^= Zobrist.side(sideToMove);
+    }
+
+    public void unmakeNullMove() {
+        sideToMove = Pieces.opposite(sideToMove);
+        int undo = undoStack[--undoCount];
+        enPassantSquare = ((undo >>> 9) & 0x7F) - 1;
+        halfmoveClock = undo >>> 16;
+        key = keyStack[undoCount];
+    }
+
+    /**
+     * Checks whether the current position occurred before, among the positions reached by
+     * moves made on this object since the last capture or pawn move.
+     */
+    public boolean isRepetition() {
+        int first = Math.max(0, undoCount - halfmoveClock);
+        for (int i = undoCount - 2; i >= first; i -= 2) {
+            if (keyStack[i] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sets the content of a square, replacing anything already on it.
+     *
+     * @param piece The piece code, or {@link Pieces#NONE} to clear the square.
+     */
+    public void set(int square, int piece) {
+        remove(square);
+        if (piece != Pieces.NONE) {
+            put(square, piece);
+        }
+    }
+
+    private void pushUndo(int captured, long keyBefore) {
+        if (undoCount == undoStack.length) {
+            undoStack = Arrays.copyOf(undoStack, undoCount * 2);
+            keyStack = Arrays.copyOf(keyStack, undoCount * 2);
+        }
+        keyStack[undoCount] = keyBefore;
+        undoStack[undoCount++] = (captured + 1) | (castlingRights << 5) | ((enPassantSquare + 1) << 9) | (halfmoveClock << 16);
+    }
+}
@@ -0,0 +1,103 @@
+package com.backend.chess.bitboard;
+
+import java.util.Arrays;
+
+/**
+ * Counts how often each position has occurred in a game since the last capture or pawn move,
+ * the only stretch of the game in which a position can repeat.
+ * <p>
+ * Positions are counted by Zobrist key in a small open-addressing table, so recording a
+ * position and reading its count take constant time however long the game is. The keys
+ * are also kept in order, for storing the table with the game.
+ */
+public final class RepetitionTable {
+    /**
+     * The most positions a game can hold: the fifty-move rule ends it after 100 plies without
+     * a capture or pawn move, i.e. at the 101st position since the table was last cleared.
+     */
+    public static final int MAX_POSITIONS = 101;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private int size;
+    // Open addressing, at most half full; a count of 0 marks an empty slot
+    private long[] slotKeys = new long[2 * INITIAL_CAPACITY];
+    private int[] slotCounts = new int[2 * INITIAL_CAPACITY];
+
+    /**
+     * Records an occurrence of a position.
+     *
+     * @return How often the position has now occurred, including this time.
+     */
+    public int add(long key) {
+        if (size == keys.length) {
+            grow();
+        }
+        keys[size++] = key;
+        int slot = slot(key);
+        slotKeys[slot] = key;
+        return ++slotCounts[slot];
+    }
+
+    /**
+     * Gets how often a position has occurred.
+     */
+    public int count(long key) {
+        return slotCounts[slot(key)];
+    }
+
+    /**
+     * Forgets all positions, after a move that cannot be taken back (a capture or pawn move).
+     */
+    public void clear() {
+        // Emptying slots one by one would break the probe chains of keys still to be emptied,
+        // leaving them occupied for good; the whole table is only a few hundred ints anyway
+        Arrays.fill(slotCounts, 0);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the recorded positions in the order they occurred.
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(keys, size);
+    }
+
+    /**
+     * Rebuilds a table from the positions returned by {@link #toArray()}.
+     */
+    public static RepetitionTable of(long[] keys) {
+        RepetitionTable table = new RepetitionTable();
+        for (long key : keys) {
+            table.add(key);
+        }
+        return table;
+    }
+
+    // --- Private helpers ---
+
+    private int slot(long key) {
+        int mask = slotKeys.length - 1;
+        int slot = (int) (key ^ (key >>> 32)) & mask;
+        while (slotCounts[slot] != 0 && slotKeys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] recorded = toArray();
+        keys = new long[recorded.length * 2];
+        slotKeys = new long[recorded.length * 4];
+        slotCounts = new int[recorded.length * 4];
+        size = 0;
+        for (long key : recorded) {
+            add(key);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.backend.chess.bitboard;
+
+/**
+ * Reads and writes moves in Standard Algebraic Notation (e.g. "Nf3", "exd5", "e8=Q+",
+ * "O-O"), the notation used in PGN movetext.
+ * <p>
+ * Both directions work against the legal moves of the position, so a SAN string is
+ * accepted only if it names exactly one legal move, and written moves carry just enough
+ * of the origin square to tell them apart from the other legal moves.
+ */
+public final class San {
+    private static final String PIECE_LETTERS = "PNBRQK";
+
+    private San() {
+    }
+
+    /**
+     * Writes a legal move in SAN, with "+" or "#" when it gives check or mate.
+     *
+     * @param position The position before the move; it is changed while checking for mate and restored afterwards.
+     * @param buffer   A scratch buffer of at least {@link MoveGenerator#MAX_MOVES} entries.
+     */
+    public static String toSan(Position position, int move, int[] buffer) {
+        StringBuilder san = new StringBuilder(8);
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        int type = Pieces.type(position.pieceAt(from));
+
+        if (PackedMove.flags(move) == PackedMove.KING_CASTLE) {
+            san.append("O-O");
+        } else if (PackedMove.flags(move) == PackedMove.QUEEN_CASTLE) {
+            san.append("O-O-O");
+        } else if (type == Pieces.PAWN) {
+            if (PackedMove.isCapture(move)) {
+                san.append((char) ('a' + Bitboards.file(from))).append('x');
+            }
+            san.append(Bitboards.squareName(to));
+            if (PackedMove.isPromotion(move)) {
+                san.append('=').append(PIECE_LETTERS.charAt(PackedMove.promotionType(move)));
+            }
+        } else {
+            san.append(PIECE_LETTERS.charAt(type));
+            appendDisambiguation(san, position, move, type, buffer);
+            if (PackedMove.isCapture(move)) {
+                san.append('x');
+            }
+            san.append(Bitboards.squareName(to));
+        }
+
+        position.makeMove(move);
+        if (position.inCheck()) {
+            san.append(MoveGenerator.hasLegalMove(position) ? '+' : '#');
+        }
+        position.unmakeMove(move);
+        return san.toString();
+    }
+
+    /**
+     * Finds the legal move written in SAN. Check and annotation suffixes ("+", "#", "!", "?")
+     * are ignored, as are "x" and "e.p."; castling may be written with zeros, and the "="
+     * before a promotion piece may be left out.
+     *
+     * @param buffer A scratch buffer of at least {@link MoveGenerator#MAX_MOVES} entries.
+     * @return The packed move, or {@link PackedMove#NONE} if the text is malformed, illegal or ambiguous.
+     */
+    public static int parse(Position position, String san, int[] buffer) {
+        String text = strip(san);
+        if (text.isEmpty()) {
+            return PackedMove.NONE;
+        }
+        int count = MoveGenerator.generateLegalMoves(position, buffer);
+        if (text.equals("O-O") || text.equals("O-O-O")) {
+            int flags = text.length() == 3 ? PackedMove.KING_CASTLE : PackedMove.QUEEN_CASTLE;
+            for (int i = 0; i < count; i++) {
+                if (PackedMove.flags(buffer[i]) == flags) {
+                    return buffer[i];
+                }
+            }
+            return PackedMove.NONE;
+        }
+
+        // [piece][from file][from rank]target[promotion], with "x" and "=" already removed
+        int type = Pieces.PAWN;
+        int start = 0;
+        if (PIECE_LETTERS.indexOf(text.charAt(0)) > 0) {
+            type = PIECE_LETTERS.indexOf(text.charAt(0));
+            start = 1;
+        }
+        int end = text.length();
+        int promotionType = Pieces.NONE;
+        if (type == Pieces.PAWN && end > 0 && PIECE_LETTERS.indexOf(Character.toUpperCase(text.charAt(end - 1))) > 0) {
+            promotionType = PIECE_LETTERS.indexOf(Character.toUpperCase(text.charAt(end - 1)));
+            end--;
+        }
+        if (end - start < 2) {
+            return PackedMove.NONE;
+        }
+        int to = Bitboards.parseSquare(text.substring(end - 2, end));
+        if (to < 0 || end - start > 4) {
+            return PackedMove.NONE;
+        }
+        int fromFile = -1;
+        int fromRank = -1;
+        for (int i = start; i < end - 2; i++) {
+            char c = text.charAt(i);
+            if (c >= 'a' && c <= 'h') {
+                fromFile = c - 'a';
+            } else if (c >= '1' && c <= '8') {
+                fromRank = c - '1';
+            } else {
+                return PackedMove.NONE;
+            }
+        }
+
+        int found = PackedMove.NONE;
+        for (int i = 0; i < count; i++) {
+            int move = buffer[i];
+            int from = PackedMove.from(move);
+            if (PackedMove.to(move) != to || PackedMove.isCastle(move)
+                    || Pieces.type(position.pieceAt(from)) != type
+                    || PackedMove.promotionType(move) != promotionType
+                    || (fromFile >= 0 && Bitboards.file(from) != fromFile)
+                    || (fromRank >= 0 && Bitboards.rank(from) != fromRank)) {
+                continue;
+            }
+            if (found != PackedMove.NONE) {
+                return PackedMove.NONE; // Ambiguous
+            }
+            found = move;
+        }
+        return found;
+    }
+
+    // --- Private helpers ---
+
+    // Adds the origin file, rank or both when another piece of the same type can reach the same square.
+    private static void appendDisambiguation(StringBuilder san, Position position, int move, int type, int[] buffer) {
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        boolean ambiguous = false;
+        boolean sameFile = false;
+        boolean sameRank = false;
+        int count = MoveGenerator.generateLegalMoves(position, buffer);
+        for (int i = 0; i < count; i++) {
+            int other = PackedMove.from(buffer[i]);
+            if (other != from && PackedMove.to(buffer[i]) == to && Pieces.type(position.pieceAt(other)) == type) {
+                ambiguous = true;
+                sameFile |= Bitboards.file(other) == Bitboards.file(from);
+                sameRank |= Bitboards.rank(other) == Bitboards.rank(from);
+            }
+        }
+        if (!ambiguous) {
+            return;
+        }
+        if (!sameFile) {
+            san.append((char) ('a' + Bitboards.file(from)));
+        } else if (!sameRank) {
+            san.append((char) ('1' + Bitboards.rank(from)));
+        } else {
+            san.append(Bitboards.squareName(from));
+        }
+    }
+
+    private static String strip(String san) {
+        if (san == null) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder(san.length());
+        for (int i = 0; i < san.length(); i++) {
+            char c = san.charAt(i);
+            if (c == '0') {
+                c = 'O'; // 0-0 and 0-0-0
+            }
+            if (c != '+' && c != '#' && c != '!' && c != '?' && c != 'x' && c != '=' && c != ':') {
+                text.append(c);
+            }
+        }
+        String result = text.toString();
+        return result.endsWith("e.p.") ? result.substring(0, result.length() - 4) : result;
+    }
+}
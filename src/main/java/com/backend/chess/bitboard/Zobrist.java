@@ -0,0 +1,66 @@
+package com.backend.chess.bitboard;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random keys for Zobrist hashing. A position's key is the XOR of the keys of every
+ * piece on its square, the castling rights, the en passant file and the side to move,
+ * so a move updates it with a handful of XORs.
+ * <p>
+ * The keys come from a fixed seed, so the same position hashes to the same value on
+ * every node and across restarts.
+ */
+public final class Zobrist {
+    private static final long[][] PIECE_SQUARE = new long[Pieces.COUNT][64];
+    private static final long[] CASTLING = new long[16];
+    private static final long[] EN_PASSANT_FILE = new long[8];
+    private static final long BLACK_TO_MOVE;
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EEDC0DE2024L);
+        for (int piece = 0; piece < Pieces.COUNT; piece++) {
+            for (int square = 0; square < 64; square++) {
+                PIECE_SQUARE[piece][square] = random.nextLong();
+            }
+        }
+        // No castling rights hash to zero, so positions without any rights only differ by pieces.
+        for (int rights = 1; rights < 16; rights++) {
+            CASTLING[rights] = random.nextLong();
+        }
+        for (int file = 0; file < 8; file++) {
+            EN_PASSANT_FILE[file] = random.nextLong();
+        }
+        BLACK_TO_MOVE = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    public static long piece(int piece, int square) {
+        return PIECE_SQUARE[piece][square];
+    }
+
+    public static long castling(int castlingRights) {
+        return CASTLING[castlingRights];
+    }
+
+    /**
+     * Gets the key for an en passant square, or 0 if there is none.
+     */
+    public static long enPassant(int square) {
+        return square < 0 ? 0L : EN_PASSANT_FILE[square & 7];
+    }
+
+    public static long side(int color) {
+        return color == Pieces.BLACK ? BLACK_TO_MOVE : 0L;
+    }
+
+    /**
+     * Formats a key as 16 hex digits. Clients get keys as strings because JSON numbers
+     * lose precision above 2^53 in JavaScript.
+     */
+    public static String toHex(long key) {
+        String hex = Long.toHexString(key);
+        return "0000000000000000".substring(hex.length()) + hex;
+    }
+}
@@ -1,6 +1,10 @@
 package com.backend.chess.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
@@ -9,19 +13,58 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+    private final boolean virtualThreads;
+    private final String brokerMode;
+    private final String relayHost;
+    private final int relayPort;
+    private final String relayLogin;
+    private final String relayPasscode;
+
+    public WebSocketConfig(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                           @Value("${chess.broker.mode:simple}") String brokerMode,
+                           @Value("${chess.broker.relay.host:localhost}") String relayHost,
+                           @Value("${chess.broker.relay.port:61613}") int relayPort,
+                           @Value("${chess.broker.relay.login:guest}") String relayLogin,
+                           @Value("${chess.broker.relay.passcode:guest}") String relayPasscode) {
+        this.virtualThreads = virtualThreads;
+        this.brokerMode = brokerMode;
+        this.relayHost = relayHost;
+        this.relayPort = relayPort;
+        this.relayLogin = relayLogin;
+        this.relayPasscode = relayPasscode;
+    }
+
     /**
      * Configures the message broker.
      * @param registry The registry for configuring the message broker.
      */
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        // Enables a simple in-memory message broker to carry messages back to the client
-        // on destinations prefixed with "/topic".
-        registry.enableSimpleBroker("/topic");
+        if ("relay".equals(brokerMode)) {
+            // Relays destinations prefixed with "/topic" to an external STOMP broker, so a
+            // message published on any node reaches the subscribers on every node.
+            registry.enableStompBrokerRelay("/topic")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode);
+        } else if ("simple".equals(brokerMode)) {
+            // Enables a simple in-memory message broker to carry messages back to the client
+            // on destinations prefixed with "/topic".
+            registry.enableSimpleBroker("/topic");
+        } else {
+            throw new IllegalStateException("Unknown chess.broker.mode: " + brokerMode + " (expected simple or relay)");
+        }
 
         // Designates the "/app" prefix for messages that are bound for
         // @MessageMapping-annotated methods in our controllers.
         registry.setApplicationDestinationPrefixes("/app");
+
+        // Messages to one session are sent in the order they were published, even when the
+        // outbound channel runs them on several threads (one virtual thread per message).
+        registry.setPreservePublishOrder(true);
     }
 
     /**
@@ -34,5 +77,40 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         // Registers the "/ws" endpoint, which is the URL the client will connect to.
         // withSockJS() provides a fallback for browsers that don't support WebSockets.
         registry.addEndpoint("/ws").withSockJS();
+
+        // Frames from one session are handled in the order they arrived, even when the inbound
+        // channel runs them on several threads, so a session's moves reach the game lanes in order.
+        registry.setPreserveReceiveOrder(true);
+    }
+
+    /**
+     * Runs inbound STOMP messages on virtual threads when they are enabled;
+     * otherwise Spring's default bounded thread pool is used. Either way each session's
+     * frames keep their order (see {@link #registerStompEndpoints}).
+     * @param registration The registration for the client inbound channel.
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        if (virtualThreads) {
+            registration.executor(virtualThreadExecutor("ws-inbound-"));
+        }
+    }
+
+    /**
+     * Runs outbound messages (broadcasts to clients) on virtual threads when they are enabled.
+     * Either way each session's messages keep their order (see {@link #configureMessageBroker}).
+     * @param registration The registration for the client outbound channel.
+     */
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        if (virtualThreads) {
+            registration.executor(virtualThreadExecutor("ws-outbound-"));
+        }
+    }
+
+    private static TaskExecutor virtualThreadExecutor(String threadNamePrefix) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        return executor;
     }
 }
@@ -0,0 +1,98 @@
+package com.backend.chess.controller;
+
+import com.backend.chess.dto.PositionAnalysis;
+import com.backend.chess.service.BatchAnalysisService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analysis")
+public class AnalysisController {
+    private final BatchAnalysisService batchAnalysisService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public AnalysisController(BatchAnalysisService batchAnalysisService, ObjectMapper objectMapper) {
+        this.batchAnalysisService = batchAnalysisService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Endpoint to analyze a list of positions.
+     * Responds to POST requests at /api/analysis/batch with a JSON array of FEN strings. The
+     * results are streamed back as newline-delimited JSON, one line per position as soon as
+     * it is analyzed, so they are not in the order of the list (each carries its index).
+     *
+     * @param fens The positions in FEN.
+     * @return A ResponseEntity streaming the results.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> analyzeBatch(@RequestBody List<String> fens) {
+        return stream(fens.iterator());
+    }
+
+    /**
+     * Endpoint to analyze a stream of positions.
+     * Responds to POST requests at /api/analysis/batch with plain text, one FEN per line. The
+     * body is read as the positions are analyzed, so batches of any size can be sent; results
+     * are streamed back as for a list.
+     *
+     * @param body The positions in FEN, one per line, in UTF-8.
+     * @return A ResponseEntity streaming the results.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.TEXT_PLAIN_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> analyzeBatchStream(InputStream body) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        return stream(reader.lines().iterator());
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(Iterator<String> fens) {
+        StreamingResponseBody body = stream -> {
+            OutputStream out = new BufferedOutputStream(stream, 1 << 16);
+            batchAnalysisService.analyze(fens, this::toJsonLine, new BatchAnalysisService.ResultSink<>() {
+                @Override
+                public void accept(byte[] line) throws IOException {
+                    out.write(line);
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    out.flush();
+                }
+            });
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private byte[] toJsonLine(PositionAnalysis result) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(result);
+            byte[] line = Arrays.copyOf(json, json.length + 1);
+            line[json.length] = '\n';
+            return line;
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -1,41 +1,72 @@
 package com.backend.chess.controller;
 
+import com.backend.chess.dto.GameDeltaDTO;
 import com.backend.chess.dto.GameStateDTO;
+import com.backend.chess.dto.MoveDto;
+import com.backend.chess.dto.PlyAnalysis;
+import com.backend.chess.engine.SearchLimits;
+import com.backend.chess.engine.SearchResult;
+import com.backend.chess.messaging.GameBroadcaster;
+import com.backend.chess.messaging.GameRouter;
 import com.backend.chess.model.Game;
+import com.backend.chess.model.PlayerColor;
+import com.backend.chess.service.ComputerPlayer;
+import com.backend.chess.service.GameReviewService;
 import com.backend.chess.service.GameService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/game")
 public class GameController {
     private final GameService gameService;
+    private final GameBroadcaster gameBroadcaster;
+    private final GameRouter gameRouter;
+    private final ComputerPlayer computerPlayer;
+    private final GameReviewService gameReviewService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public GameController(GameService gameService) {
+    public GameController(GameService gameService, GameBroadcaster gameBroadcaster, GameRouter gameRouter,
+                          ComputerPlayer computerPlayer, GameReviewService gameReviewService,
+                          ObjectMapper objectMapper) {
         this.gameService = gameService;
+        this.gameBroadcaster = gameBroadcaster;
+        this.gameRouter = gameRouter;
+        this.computerPlayer = computerPlayer;
+        this.gameReviewService = gameReviewService;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Endpoint to create a new chess game.
-     * Responds to POST requests at /api/game/new
+     * Responds to POST requests at /api/game/new, or /api/game/new?computer=BLACK to play
+     * against the computer, and /api/game/new?fen=... to start from a given position. When
+     * the computer is to move first, its move follows on the game's topics.
      *
+     * @param computer The side played by the computer, if any.
+     * @param fen The starting position in FEN, if not the standard one.
      * @return A ResponseEntity containing the initial GameStateDTO.
      */
     @PostMapping("/new")
-    public ResponseEntity<GameStateDTO> createNewGame() {
-        Game newGame = gameService.createNewGame();
-        // For a new game, we can create a temporary DTO without the analysis,
-        // as the initial state is always the same.
-        GameStateDTO gameState = new GameStateDTO(
-                newGame.getId(),
-                newGame.getBoard().getSquares(),
-                newGame.getCurrentPlayer(),
-                newGame.getStatus(),
-                newGame.getMoveHistory(),
-                null // No analysis needed for the starting position
-        );
+    public ResponseEntity<GameStateDTO> createNewGame(@RequestParam(required = false) PlayerColor computer,
+                                                      @RequestParam(required = false) String fen) {
+        Game newGame = gameService.createNewGame(computer, fen);
+        // The standard starting position needs no analysis; any other is analyzed like a loaded game
+        GameStateDTO gameState = fen == null
+                ? GameStateDTO.of(newGame, null)
+                : gameService.getGameState(newGame.getId());
+        computerPlayer.playIfComputerToMove(newGame.getId());
         return ResponseEntity.ok(gameState);
     }
 
@@ -48,18 +79,111 @@ public class GameController {
      */
     @GetMapping("/{gameId}")
     public ResponseEntity<GameStateDTO> getGame(@PathVariable String gameId) {
-        // Here we would ideally run the analysis on the current state before returning.
-        // For now, we'll return the state without it.
-        // This will be updated when we fully implement the makeMove flow.
-        Game game = gameService.getGame(gameId);
-        GameStateDTO gameState = new GameStateDTO(
-                game.getId(),
-                game.getBoard().getSquares(),
-                game.getCurrentPlayer(),
-                game.getStatus(),
-                game.getMoveHistory(),
-                null // Placeholder for analysis
-        );
+        if (!gameRouter.isLocal(gameId)) {
+            return ResponseEntity.ok(gameRouter.fetchState(gameId));
+        }
+        // Analysis results are cached by position, so this is usually a cache lookup.
+        GameStateDTO gameState = gameService.getGameState(gameId);
         return ResponseEntity.ok(gameState);
     }
+
+    /**
+     * Endpoint to make a move. The resulting delta is also broadcast to the game's topics.
+     * Responds to POST requests at /api/game/{gameId}/move; other nodes forward moves here
+     * for the games this node owns.
+     *
+     * @param gameId The ID of the game.
+     * @param moveDTO The move.
+     * @return A future of the ResponseEntity containing the GameDeltaDTO for the move.
+     */
+    @PostMapping("/{gameId}/move")
+    public CompletableFuture<ResponseEntity<GameDeltaDTO>> makeMove(@PathVariable String gameId, @RequestBody MoveDto moveDTO) {
+        if (!gameRouter.isLocal(gameId)) {
+            return gameRouter.forwardMove(gameId, moveDTO).thenApply(done -> ResponseEntity.accepted().build());
+        }
+        // The delta is published from the game's lane, so a game's deltas go out in order
+        return gameService.submitMove(gameId, moveDTO, gameBroadcaster::publish).thenApply(delta -> {
+            // In games against the computer, its reply follows on the game's topics
+            computerPlayer.playIfComputerToMove(gameId);
+            return ResponseEntity.ok(delta);
+        });
+    }
+
+    /**
+     * Endpoint to make the computer's move in a game against the computer, if it is its turn.
+     * Responds to POST requests at /api/game/{gameId}/computer-move; other nodes use it to
+     * pass the computer's turn to the node that owns the game.
+     *
+     * @param gameId The ID of the game.
+     * @return An accepted ResponseEntity; the move is broadcast to the game's topics.
+     */
+    @PostMapping("/{gameId}/computer-move")
+    public ResponseEntity<Void> playComputerMove(@PathVariable String gameId) {
+        computerPlayer.playIfComputerToMove(gameId);
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Endpoint to ask the search engine for the best move in a game's current position.
+     * Responds to GET requests at /api/game/{gameId}/best-move?timeMs=100&depth=0&nodes=0&threads=1;
+     * the search stops at whichever limit is reached first (0 means no limit).
+     *
+     * @param gameId The ID of the game.
+     * @param timeMs The time budget in milliseconds.
+     * @param depth The maximum depth in plies.
+     * @param nodes The maximum number of positions to visit.
+     * @param threads The number of threads to search with, capped by the server's configuration.
+     * @return A ResponseEntity containing the best move, its score and the principal variation.
+     */
+    @GetMapping("/{gameId}/best-move")
+    public ResponseEntity<SearchResult> getBestMove(@PathVariable String gameId,
+                                                    @RequestParam(defaultValue = "100") long timeMs,
+                                                    @RequestParam(defaultValue = "0") int depth,
+                                                    @RequestParam(defaultValue = "0") long nodes,
+                                                    @RequestParam(defaultValue = "1") int threads) {
+        if (!gameRouter.isLocal(gameId)) {
+            return ResponseEntity.ok(gameRouter.fetchBestMove(gameId, timeMs, depth, nodes, threads));
+        }
+        return ResponseEntity.ok(gameService.getBestMove(gameId, new SearchLimits(depth, timeMs, nodes), threads));
+    }
+
+    /**
+     * Endpoint to review a game: the analysis of its starting position and of the position
+     * after every move so far.
+     * Responds to GET requests at /api/game/{gameId}/review with newline-delimited JSON, one
+     * line per ply in order, streamed as the game is replayed. Any node can serve it, as the
+     * game is replayed from its stored move log.
+     *
+     * @param gameId The ID of the game.
+     * @return A ResponseEntity streaming the analysis of each ply.
+     */
+    @GetMapping(value = "/{gameId}/review", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> reviewGame(@PathVariable String gameId) {
+        Iterator<PlyAnalysis> plies = gameReviewService.reviewGame(gameId);
+        StreamingResponseBody body = stream -> {
+            OutputStream out = new BufferedOutputStream(stream);
+            while (plies.hasNext()) {
+                out.write(objectMapper.writeValueAsBytes(plies.next()));
+                out.write('\n');
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Endpoint to page through the move history of a game.
+     * Responds to GET requests at /api/game/{gameId}/moves?afterPly=0&limit=100
+     *
+     * @param gameId The ID of the game.
+     * @param afterPly The ply to start after (0 for the first move).
+     * @param limit The maximum number of moves to return.
+     * @return A ResponseEntity containing the moves in UCI coordinate notation.
+     */
+    @GetMapping("/{gameId}/moves")
+    public ResponseEntity<List<String>> getMoves(@PathVariable String gameId,
+                                                 @RequestParam(defaultValue = "0") int afterPly,
+                                                 @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(gameService.getMoves(gameId, afterPly, limit));
+    }
 }
@@ -2,20 +2,48 @@ package com.backend.chess.controller;
 
 import com.backend.chess.dto.GameStateDTO;
 import com.backend.chess.dto.MoveDto;
+import com.backend.chess.messaging.GameBroadcaster;
+import com.backend.chess.messaging.GameRouter;
+import com.backend.chess.service.ComputerPlayer;
 import com.backend.chess.service.GameService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.handler.annotation.SendTo;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 
+import java.util.concurrent.CompletableFuture;
+
 @Controller
 public class GameSocketController {
     private final GameService gameService;
+    private final GameBroadcaster gameBroadcaster;
+    private final GameRouter gameRouter;
+    private final ComputerPlayer computerPlayer;
 
     @Autowired
-    public GameSocketController(GameService gameService) {
+    public GameSocketController(GameService gameService, GameBroadcaster gameBroadcaster, GameRouter gameRouter,
+                                ComputerPlayer computerPlayer) {
         this.gameService = gameService;
+        this.gameBroadcaster = gameBroadcaster;
+        this.gameRouter = gameRouter;
+        this.computerPlayer = computerPlayer;
+    }
+
+    /**
+     * Sends the full state of a game to a client subscribing to /app/game/{gameId}.
+     * Clients subscribe to the game's topic first and then here, apply the deltas with a
+     * seq above the snapshot's, and subscribe here again to resync after a gap.
+     *
+     * @param gameId The ID of the game, extracted from the destination path.
+     * @return The GameStateDTO, sent only to the subscribing client.
+     */
+    @SubscribeMapping("/game/{gameId}")
+    public GameStateDTO subscribe(@DestinationVariable String gameId) {
+        if (!gameRouter.isLocal(gameId)) {
+            return gameRouter.fetchState(gameId);
+        }
+        return gameService.getGameState(gameId);
     }
 
     /**
@@ -23,12 +51,21 @@ public class GameSocketController {
      *
      * @param gameId The ID of the game, extracted from the destination path.
      * @param moveDTO The move data sent by the client.
-     * @return The new GameStateDTO which will be broadcast to all subscribers of the game's topic.
+     * @return A future completed once the move has been processed on the game's lane and its
+     *         GameDeltaDTO broadcast to the game's topics (see {@link GameBroadcaster}).
      */
     @MessageMapping("/game/{gameId}/move") // Listens for messages sent to this destination
-    @SendTo("/topic/game/{gameId}")       // Broadcasts the return value to this topic
-    public GameStateDTO handleMove(@DestinationVariable String gameId, MoveDto moveDTO) {
+    public CompletableFuture<Void> handleMove(@DestinationVariable String gameId, MoveDto moveDTO) {
+        if (!gameRouter.isLocal(gameId)) {
+            // The owner processes the move and publishes the delta through the broker
+            return gameRouter.forwardMove(gameId, moveDTO);
+        }
         // The gameService handles all the logic: validation, state update, analysis, and saving.
-        return gameService.makeMove(gameId, moveDTO);
+        // Moves are queued per game, so the inbound channel thread is released right away.
+        // The delta is published from the lane too, before the game's next move is processed,
+        // so a game's deltas go out in order.
+        // In games against the computer, its reply is searched and published afterwards.
+        return gameService.submitMove(gameId, moveDTO, gameBroadcaster::publish)
+                .thenAccept(delta -> computerPlayer.playIfComputerToMove(gameId));
     }
 }
@@ -0,0 +1,40 @@
+package com.backend.chess.controller;
+
+import com.backend.chess.bitboard.Fen;
+import com.backend.chess.dto.PerftResult;
+import com.backend.chess.service.PerftService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/perft")
+public class PerftController {
+    private final PerftService perftService;
+
+    @Autowired
+    public PerftController(PerftService perftService) {
+        this.perftService = perftService;
+    }
+
+    /**
+     * Endpoint to count the leaf nodes of a position's move tree.
+     * Responds to GET requests at /api/perft?fen=...&depth=5&divide=false&parallel=false
+     *
+     * @param fen The position in FEN (the starting position by default).
+     * @param depth The depth in plies, at most {@value PerftService#MAX_DEPTH}.
+     * @param divide Whether to split the count by first move.
+     * @param parallel Whether to count on several of the engine's threads.
+     * @return A ResponseEntity containing the node count and the time taken.
+     */
+    @GetMapping
+    public ResponseEntity<PerftResult> perft(@RequestParam(defaultValue = Fen.INITIAL) String fen,
+                                             @RequestParam(defaultValue = "5") int depth,
+                                             @RequestParam(defaultValue = "false") boolean divide,
+                                             @RequestParam(defaultValue = "false") boolean parallel) {
+        return ResponseEntity.ok(perftService.perft(fen, depth, divide, parallel));
+    }
+}
@@ -0,0 +1,80 @@
+package com.backend.chess.controller;
+
+import com.backend.chess.dto.PgnImportResult;
+import com.backend.chess.service.PgnService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/api/pgn")
+public class PgnController {
+    private static final MediaType PGN = new MediaType("application", "x-chess-pgn", StandardCharsets.UTF_8);
+
+    private final PgnService pgnService;
+
+    @Autowired
+    public PgnController(PgnService pgnService) {
+        this.pgnService = pgnService;
+    }
+
+    /**
+     * Endpoint to import games from PGN text.
+     * Responds to POST requests at /api/pgn/import with any number of games in the body,
+     * which is read as a stream rather than buffered.
+     *
+     * @param body The PGN text, in UTF-8.
+     * @return A ResponseEntity containing the number of games imported and skipped.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<PgnImportResult> importGames(InputStream body) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 1 << 16);
+        return ResponseEntity.ok(pgnService.importGames(reader));
+    }
+
+    /**
+     * Endpoint to export one game as PGN.
+     * Responds to GET requests at /api/pgn/{gameId}
+     *
+     * @param gameId The ID of the game.
+     * @return A ResponseEntity containing the game in PGN.
+     */
+    @GetMapping("/{gameId}")
+    public ResponseEntity<String> exportGame(@PathVariable String gameId) throws IOException {
+        StringWriter out = new StringWriter();
+        pgnService.exportGame(gameId, out);
+        return ResponseEntity.ok().contentType(PGN).body(out.toString());
+    }
+
+    /**
+     * Endpoint to export all stored games as PGN.
+     * Responds to GET requests at /api/pgn; the games are streamed as they are read.
+     *
+     * @return A ResponseEntity streaming the games in PGN.
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportAll() {
+        StreamingResponseBody body = stream -> {
+            Writer out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), 1 << 16);
+            pgnService.exportAll(out);
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(PGN).body(body);
+    }
+}
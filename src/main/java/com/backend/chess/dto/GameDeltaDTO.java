@@ -0,0 +1,99 @@
+package com.backend.chess.dto;
+
+import com.backend.chess.analysis.AnalysisResult;
+import com.backend.chess.analysis.Pin;
+import com.backend.chess.analysis.Territory;
+import com.backend.chess.analysis.TerritoryMap;
+import com.backend.chess.analysis.XRay;
+import com.backend.chess.bitboard.Bitboards;
+import com.backend.chess.bitboard.PackedMove;
+import com.backend.chess.bitboard.Zobrist;
+import com.backend.chess.model.Board;
+import com.backend.chess.model.Game;
+import com.backend.chess.model.GameStatus;
+import com.backend.chess.model.Piece;
+import com.backend.chess.model.PlayerColor;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What changed in a game with one move, broadcast to the game's topic instead of a full
+ * {@link GameStateDTO}.
+ * <p>
+ * {@code seq} is the game's ply count after the move, so deltas for a game are numbered
+ * 1, 2, 3, ... Clients apply a delta on top of a snapshot (which carries the same number)
+ * when its seq is exactly one more than theirs. They ignore older deltas, and fetch a new
+ * snapshot when they see a gap.
+ *
+ * @param changedSquares The squares the move changed, mapped to their new piece (null when emptied).
+ * @param changedTerritory The territory entries that differ from the previous position.
+ */
+public record GameDeltaDTO(
+        String gameId,
+        int seq,
+        String move,
+        Map<String, Piece> changedSquares,
+        PlayerColor currentPlayer,
+        GameStatus status,
+        String positionKey,
+        Map<String, Territory> changedTerritory,
+        Map<String, String> attackedPieces,
+        List<Pin> pins,
+        List<XRay> discoveredAttacks,
+        List<XRay> xRays
+) {
+    /**
+     * Creates the delta for a move that has just been applied to a game.
+     *
+     * @param game The game, in its state after the move.
+     * @param packedMove The move (see {@link PackedMove}).
+     * @param previous The analysis of the position before the move, or null to send every territory entry.
+     * @param analysis The analysis of the position after the move.
+     */
+    public static GameDeltaDTO of(Game game, int packedMove, AnalysisResult previous, AnalysisResult analysis) {
+        Board board = game.getBoard();
+        Map<String, Piece> changedSquares = new LinkedHashMap<>();
+        long squares = PackedMove.changedSquares(packedMove);
+        while (squares != 0) {
+            int square = Long.numberOfTrailingZeros(squares);
+            squares &= squares - 1;
+            changedSquares.put(Bitboards.squareName(square), Board.toPiece(board.getPosition().pieceAt(square)));
+        }
+
+        Map<String, Territory> changedTerritory = new HashMap<>();
+        for (int square = 0; square < 64; square++) {
+            Territory territory = territoryAt(analysis, square);
+            if (previous == null || !territory.equals(territoryAt(previous, square))) {
+                changedTerritory.put(Bitboards.squareName(square), territory);
+            }
+        }
+
+        return new GameDeltaDTO(
+                game.getId(),
+                game.getPlyCount(),
+                PackedMove.toUci(packedMove),
+                changedSquares,
+                game.getCurrentPlayer(),
+                game.getStatus(),
+                Zobrist.toHex(game.getPositionKey()),
+                changedTerritory,
+                analysis.attackedPieces(),
+                analysis.pins(),
+                analysis.discoveredAttacks(),
+                analysis.xRays()
+        );
+    }
+
+    // --- Private helpers ---
+
+    // Analyses computed on this node hold a TerritoryMap, read by index without parsing square names
+    private static Territory territoryAt(AnalysisResult analysis, int square) {
+        if (analysis.territoryMap() instanceof TerritoryMap territoryMap) {
+            return territoryMap.get(square);
+        }
+        return analysis.territoryMap().get(Bitboards.squareName(square));
+    }
+}
@@ -1,22 +1,49 @@
 package com.backend.chess.dto;
 
 import com.backend.chess.analysis.AnalysisResult;
+import com.backend.chess.bitboard.Zobrist;
+import com.backend.chess.model.Game;
 import com.backend.chess.model.GameStatus;
 import com.backend.chess.model.Piece;
 import com.backend.chess.model.PlayerColor;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.util.List;
-
 
 
+/**
+ * The full state of a game. Sent on request and on subscribe; after that, moves are
+ * broadcast as {@link GameDeltaDTO}s numbered from this snapshot's {@code seq}. The moves
+ * played so far are not included; they are read a page at a time from /api/game/{id}/moves.
+ *
+ * @param seq The number of moves played, matching the seq of the last delta included.
+ */
 public record GameStateDTO(
         String gameId,
+        int seq,
         Piece[][] board,
         PlayerColor currentPlayer,
         GameStatus status,
-        List<String> moveHistory,
+        String positionKey,
+        String fen,
         AnalysisResult analysis
 ) {
+    /**
+     * Creates the DTO for a game's current state.
+     *
+     * @param game The game.
+     * @param analysis The analysis of the current board, or null if none was run.
+     */
+    public static GameStateDTO of(Game game, AnalysisResult analysis) {
+        return new GameStateDTO(
+                game.getId(),
+                game.getPlyCount(),
+                game.getBoard().getSquares(),
+                game.getCurrentPlayer(),
+                game.getStatus(),
+                Zobrist.toHex(game.getPositionKey()),
+                game.getFen(),
+                analysis
+        );
+    }
 }
@@ -0,0 +1,23 @@
+package com.backend.chess.dto;
+
+import java.util.Map;
+
+/**
+ * The outcome of a perft count (see {@link com.backend.chess.bitboard.Perft}).
+ *
+ * @param fen The counted position.
+ * @param depth The depth in plies.
+ * @param nodes The number of leaf nodes.
+ * @param timeMs The time taken.
+ * @param nodesPerSecond The leaf nodes counted per second.
+ * @param divide The leaf nodes below each first move in UCI notation, or null if not requested.
+ */
+public record PerftResult(
+        String fen,
+        int depth,
+        long nodes,
+        long timeMs,
+        long nodesPerSecond,
+        Map<String, Long> divide
+) {
+}
@@ -0,0 +1,21 @@
+package com.backend.chess.dto;
+
+import java.util.List;
+
+/**
+ * The outcome of a PGN import (see {@link com.backend.chess.service.PgnService}).
+ *
+ * @param imported The number of games saved.
+ * @param skipped The number of games left out because of an illegal or unreadable move or position.
+ * @param errors The reasons for the first skipped games.
+ * @param timeMs The time taken.
+ * @param gamesPerSecond The games read per second.
+ */
+public record PgnImportResult(
+        long imported,
+        long skipped,
+        List<String> errors,
+        long timeMs,
+        long gamesPerSecond
+) {
+}
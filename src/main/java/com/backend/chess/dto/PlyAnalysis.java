@@ -0,0 +1,24 @@
+package com.backend.chess.dto;
+
+import com.backend.chess.analysis.AnalysisResult;
+import com.backend.chess.model.GameStatus;
+
+/**
+ * The analysis of a game after one of its moves (see {@link com.backend.chess.service.GameReviewService}).
+ *
+ * @param ply The number of moves made, 0 for the starting position.
+ * @param move The move just made in UCI notation, or null for the starting position.
+ * @param san The same move in SAN, or null for the starting position.
+ * @param fen The position after the move.
+ * @param status The game's status after the move.
+ * @param analysis The analysis of the position after the move.
+ */
+public record PlyAnalysis(
+        int ply,
+        String move,
+        String san,
+        String fen,
+        GameStatus status,
+        AnalysisResult analysis
+) {
+}
@@ -0,0 +1,22 @@
+package com.backend.chess.dto;
+
+import com.backend.chess.analysis.AnalysisResult;
+import com.backend.chess.model.GameStatus;
+
+/**
+ * The analysis of one position in a batch (see {@link com.backend.chess.service.BatchAnalysisService}).
+ *
+ * @param index The position's place in the batch, counting from 0; results arrive in the order they finish.
+ * @param fen The position.
+ * @param status The position's status for the side to move, or null if the FEN is invalid.
+ * @param analysis The analysis, or null if the FEN is invalid.
+ * @param error Why the position could not be analyzed, or null.
+ */
+public record PositionAnalysis(
+        long index,
+        String fen,
+        GameStatus status,
+        AnalysisResult analysis,
+        String error
+) {
+}
@@ -0,0 +1,143 @@
+package com.backend.chess.engine;
+
+import com.backend.chess.bitboard.Pieces;
+import com.backend.chess.bitboard.Position;
+
+/**
+ * Static evaluation: material plus piece-square tables, with the king's table blended
+ * from middlegame to endgame as pieces come off the board.
+ * Scores are in centipawns from the point of view of the side to move.
+ */
+public final class Evaluator {
+    /** Piece values indexed by piece type (see {@link Pieces}). */
+    public static final int[] PIECE_VALUES = {100, 320, 330, 500, 900, 0};
+
+    // Piece-square tables from white's point of view, written rank 8 first as on a diagram.
+    private static final int[] PAWN_TABLE = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            10, 10, 20, 30, 30, 20, 10, 10,
+            5, 5, 10, 25, 25, 10, 5, 5,
+            0, 0, 0, 20, 20, 0, 0, 0,
+            5, -5, -10, 0, 0, -10, -5, 5,
+            5, 10, 10, -20, -20, 10, 10, 5,
+            0, 0, 0, 0, 0, 0, 0, 0
+    };
+    private static final int[] KNIGHT_TABLE = {
+            -50, -40, -30, -30, -30, -30, -40, -50,
+            -40, -20, 0, 0, 0, 0, -20, -40,
+            -30, 0, 10, 15, 15, 10, 0, -30,
+            -30, 5, 15, 20, 20, 15, 5, -30,
+            -30, 0, 15, 20, 20, 15, 0, -30,
+            -30, 5, 10, 15, 15, 10, 5, -30,
+            -40, -20, 0, 5, 5, 0, -20, -40,
+            -50, -40, -30, -30, -30, -30, -40, -50
+    };
+    private static final int[] BISHOP_TABLE = {
+            -20, -10, -10, -10, -10, -10, -10, -20,
+            -10, 0, 0, 0, 0, 0, 0, -10,
+            -10, 0, 5, 10, 10, 5, 0, -10,
+            -10, 5, 5, 10, 10, 5, 5, -10,
+            -10, 0, 10, 10, 10, 10, 0, -10,
+            -10, 10, 10, 10, 10, 10, 10, -10,
+            -10, 5, 0, 0, 0, 0, 5, -10,
+            -20, -10, -10, -10, -10, -10, -10, -20
+    };
+    private static final int[] ROOK_TABLE = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            5, 10, 10, 10, 10, 10, 10, 5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            0, 0, 0, 5, 5, 0, 0, 0
+    };
+    private static final int[] QUEEN_TABLE = {
+            -20, -10, -10, -5, -5, -10, -10, -20,
+            -10, 0, 0, 0, 0, 0, 0, -10,
+            -10, 0, 5, 5, 5, 5, 0, -10,
+            -5, 0, 5, 5, 5, 5, 0, -5,
+            0, 0, 5, 5, 5, 5, 0, -5,
+            -10, 5, 5, 5, 5, 5, 0, -10,
+            -10, 0, 5, 0, 0, 0, 0, -10,
+            -20, -10, -10, -5, -5, -10, -10, -20
+    };
+    private static final int[] KING_MIDDLEGAME_TABLE = {
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -20, -30, -30, -40, -40, -30, -30, -20,
+            -10, -20, -20, -20, -20, -20, -20, -10,
+            20, 20, 0, 0, 0, 0, 20, 20,
+            20, 30, 10, 0, 0, 10, 30, 20
+    };
+    private static final int[] KING_ENDGAME_TABLE = {
+            -50, -40, -30, -20, -20, -30, -40, -50,
+            -30, -20, -10, 0, 0, -10, -20, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -30, 0, 0, 0, 0, -30, -30,
+            -50, -30, -30, -30, -30, -30, -30, -50
+    };
+    private static final int[][] TABLES = {PAWN_TABLE, KNIGHT_TABLE, BISHOP_TABLE, ROOK_TABLE, QUEEN_TABLE};
+
+    // Game phase weights per piece type; 24 is the full set of minor and major pieces.
+    private static final int[] PHASE_WEIGHTS = {0, 1, 1, 2, 4, 0};
+    private static final int MAX_PHASE = 24;
+
+    private Evaluator() {
+    }
+
+    /**
+     * Evaluates a position from the point of view of the side to move.
+     */
+    public static int evaluate(Position position) {
+        int score = 0;
+        int phase = 0;
+        for (int type = Pieces.PAWN; type < Pieces.KING; type++) {
+            int[] table = TABLES[type];
+            long white = position.pieces(Pieces.WHITE, type);
+            long black = position.pieces(Pieces.BLACK, type);
+            phase += PHASE_WEIGHTS[type] * (Long.bitCount(white) + Long.bitCount(black));
+            score += PIECE_VALUES[type] * (Long.bitCount(white) - Long.bitCount(black));
+            while (white != 0) {
+                score += table[whiteIndex(Long.numberOfTrailingZeros(white))];
+                white &= white - 1;
+            }
+            while (black != 0) {
+                score -= table[blackIndex(Long.numberOfTrailingZeros(black))];
+                black &= black - 1;
+            }
+        }
+
+        phase = Math.min(phase, MAX_PHASE);
+        int whiteKing = position.kingSquare(Pieces.WHITE);
+        int blackKing = position.kingSquare(Pieces.BLACK);
+        if (whiteKing >= 0) {
+            score += taper(KING_MIDDLEGAME_TABLE[whiteIndex(whiteKing)], KING_ENDGAME_TABLE[whiteIndex(whiteKing)], phase);
+        }
+        if (blackKing >= 0) {
+            score -= taper(KING_MIDDLEGAME_TABLE[blackIndex(blackKing)], KING_ENDGAME_TABLE[blackIndex(blackKing)], phase);
+        }
+        return position.sideToMove() == Pieces.WHITE ? score : -score;
+    }
+
+    // --- Private helpers ---
+
+    private static int taper(int middlegame, int endgame, int phase) {
+        return (middlegame * phase + endgame * (MAX_PHASE - phase)) / MAX_PHASE;
+    }
+
+    // The tables list rank 8 first, so white squares are flipped vertically; black reads them as is.
+    private static int whiteIndex(int square) {
+        return square ^ 56;
+    }
+
+    private static int blackIndex(int square) {
+        return square;
+    }
+}
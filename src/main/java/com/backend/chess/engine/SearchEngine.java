@@ -0,0 +1,176 @@
+package com.backend.chess.engine;
+
+import com.backend.chess.bitboard.Position;
+import com.backend.chess.bitboard.RepetitionTable;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Finds the best move in a position. All searches share one transposition table, so
+ * positions seen by earlier searches (the previous move of the same game, or common
+ * openings of other games) are found again quickly.
+ * <p>
+ * A search may use several threads (Lazy SMP): the calling thread and a number of helpers
+ * each search the same position independently, sharing only the transposition table and
+ * the stop flag. Helpers start at staggered depths, so they run ahead of the main thread
+ * and fill the table with results it then finds instead of searching. No thread waits for
+ * another, which keeps the scaling close to linear in nodes per second.
+ * <p>
+ * All searches together use at most {@code chess.engine.max-threads} threads, so engine
+ * requests cannot take every core away from move processing. Other CPU-bound engine work,
+ * such as perft counts, takes its threads from the same budget through {@link #acquireThreads}. The calling thread waits for
+ * a permit; helpers only run if permits are free, so a busy server degrades to smaller
+ * searches rather than queueing.
+ */
+@Service
+public class SearchEngine {
+    private final TranspositionTable table;
+    private final int maxThreadsPerSearch;
+    private final Semaphore threadPermits;
+    private final ExecutorService helperPool;
+
+    @Autowired
+    public SearchEngine(@Value("${chess.engine.hash-mb:64}") int hashMb,
+                        @Value("${chess.engine.max-threads:0}") int maxThreads,
+                        @Value("${chess.engine.max-threads-per-search:0}") int maxThreadsPerSearch) {
+        int totalThreads = maxThreads > 0 ? maxThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.table = new TranspositionTable(hashMb);
+        this.maxThreadsPerSearch = maxThreadsPerSearch > 0 ? Math.min(maxThreadsPerSearch, totalThreads) : totalThreads;
+        this.threadPermits = new Semaphore(totalThreads);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.helperPool = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "search-helper-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Searches a position on the calling thread.
+     *
+     * @param position The position; the search works on a copy of it.
+     *                 Repetitions are detected within the search only.
+     * @param limits When to stop.
+     * @return The best move found, with its score and principal variation.
+     */
+    public SearchResult search(Position position, SearchLimits limits) {
+        return search(position, null, limits, 1);
+    }
+
+    /**
+     * Searches a position on the calling thread and up to {@code threads - 1} helper threads.
+     *
+     * @param position The position; every thread works on its own copy of it.
+     *                 Repetitions are detected within the search only.
+     * @param limits When to stop. A node limit counts the nodes of the calling thread only.
+     * @param threads The thread budget for this search, capped at {@code chess.engine.max-threads-per-search}.
+     * @return The best move found; its node count includes the helpers' nodes.
+     */
+    public SearchResult search(Position position, SearchLimits limits, int threads) {
+        return search(position, null, limits, threads);
+    }
+
+    /**
+     * Searches a position of a game, scoring a return to any earlier position of the game as
+     * a draw, so the engine neither walks into a repetition it should avoid nor misses one it
+     * could claim.
+     *
+     * @param position The position; every thread works on its own copy of it.
+     * @param gameHistory The game's positions since its last capture or pawn move, ending with
+     *                    {@code position}; null if the position has no history. It must not
+     *                    change during the search.
+     * @param limits When to stop. A node limit counts the nodes of the calling thread only.
+     * @param threads The thread budget for this search, capped at {@code chess.engine.max-threads-per-search}.
+     * @return The best move found; its node count includes the helpers' nodes.
+     */
+    public SearchResult search(Position position, RepetitionTable gameHistory, SearchLimits limits, int threads) {
+        RepetitionTable history = gameHistory != null ? gameHistory : new RepetitionTable();
+        int threadCount = acquireThreads(Math.min(threads, maxThreadsPerSearch));
+        int helperCount = threadCount - 1;
+        try {
+            table.newSearch();
+            AtomicBoolean stopped = new AtomicBoolean();
+
+            // Helpers only stop when the main search does, so they get no time or node limit of their own
+            SearchLimits helperLimits = SearchLimits.ofDepth(limits.depth());
+            List<CompletableFuture<SearchResult>> helpers = new ArrayList<>(helperCount);
+            for (int i = 0; i < helperCount; i++) {
+                Searcher helper = new Searcher(position.copy(), history, table, helperLimits, stopped);
+                int startDepth = 2 + i % 2;
+                helpers.add(CompletableFuture.supplyAsync(() -> helper.iterate(startDepth), helperPool));
+            }
+
+            SearchResult result = new Searcher(position.copy(), history, table, limits, stopped).iterate(1);
+            stopped.set(true);
+            return combine(result, helpers);
+        } finally {
+            releaseThreads(threadCount);
+        }
+    }
+
+    /**
+     * Takes threads from the engine's budget ({@code chess.engine.max-threads}) for other
+     * CPU-bound work, so that work and searches together stay within it. Waits for the
+     * first thread; takes further ones only if they are free.
+     *
+     * @param wanted The number of threads wanted.
+     * @return The number of threads taken, from 1 to {@code wanted}; give them back with
+     *         {@link #releaseThreads(int)}.
+     */
+    public int acquireThreads(int wanted) {
+        threadPermits.acquireUninterruptibly();
+        int taken = 1;
+        while (taken < wanted && threadPermits.tryAcquire()) {
+            taken++;
+        }
+        return taken;
+    }
+
+    public void releaseThreads(int count) {
+        threadPermits.release(count);
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    public int getMaxThreadsPerSearch() {
+        return maxThreadsPerSearch;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        helperPool.shutdownNow();
+    }
+
+    // --- Private helpers ---
+
+    // Keeps the main thread's result unless a helper completed a deeper iteration.
+    private static SearchResult combine(SearchResult main, List<CompletableFuture<SearchResult>> helpers) {
+        SearchResult best = main;
+        long nodes = main.nodes();
+        for (CompletableFuture<SearchResult> helper : helpers) {
+            SearchResult result = helper.join();
+            nodes += result.nodes();
+            if (result.depth() > best.depth() && result.bestMove() != null) {
+                best = result;
+            }
+        }
+        if (helpers.isEmpty()) {
+            return main;
+        }
+        return new SearchResult(best.bestMove(), best.score(), best.mateIn(), best.depth(),
+                nodes, main.timeMs(), best.principalVariation());
+    }
+}
@@ -0,0 +1,31 @@
+package com.backend.chess.engine;
+
+/**
+ * When a search stops: after a depth, a time budget or a node count, whichever comes first.
+ * Zero means no limit for that dimension; the depth is capped at {@link #MAX_DEPTH}.
+ *
+ * @param depth The maximum depth in plies.
+ * @param timeMs The time budget in milliseconds.
+ * @param nodes The maximum number of nodes to visit.
+ */
+public record SearchLimits(int depth, long timeMs, long nodes) {
+    public static final int MAX_DEPTH = 64;
+
+    public SearchLimits {
+        if (depth < 0 || timeMs < 0 || nodes < 0) {
+            throw new IllegalArgumentException("Search limits must not be negative");
+        }
+        if (depth == 0 && timeMs == 0 && nodes == 0) {
+            throw new IllegalArgumentException("At least one search limit is required");
+        }
+        depth = (depth == 0) ? MAX_DEPTH : Math.min(depth, MAX_DEPTH);
+    }
+
+    public static SearchLimits ofTime(long timeMs) {
+        return new SearchLimits(0, timeMs, 0);
+    }
+
+    public static SearchLimits ofDepth(int depth) {
+        return new SearchLimits(depth, 0, 0);
+    }
+}
@@ -0,0 +1,31 @@
+package com.backend.chess.engine;
+
+import java.util.List;
+
+/**
+ * The outcome of a search.
+ *
+ * @param bestMove The best move in UCI notation, or null if the side to move has no legal move.
+ * @param score The score in centipawns from the side to move's point of view.
+ * @param mateIn Moves until mate when one was found (negative if the side to move gets mated), otherwise null.
+ * @param depth The deepest fully completed iteration.
+ * @param nodes The number of positions visited.
+ * @param timeMs The time spent searching.
+ * @param principalVariation The expected line, starting with the best move, in UCI notation.
+ */
+public record SearchResult(
+        String bestMove,
+        int score,
+        Integer mateIn,
+        int depth,
+        long nodes,
+        long timeMs,
+        List<String> principalVariation
+) {
+    /**
+     * Gets the search speed in nodes per second.
+     */
+    public long nodesPerSecond() {
+        return timeMs == 0 ? nodes * 1000 : nodes * 1000 / timeMs;
+    }
+}
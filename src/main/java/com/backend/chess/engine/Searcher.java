@@ -0,0 +1,375 @@
+package com.backend.chess.engine;
+
+import com.backend.chess.bitboard.MoveGenerator;
+import com.backend.chess.bitboard.PackedMove;
+import com.backend.chess.bitboard.Pieces;
+import com.backend.chess.bitboard.Position;
+import com.backend.chess.bitboard.RepetitionTable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One iterative deepening alpha-beta search over a private copy of a position.
+ * <p>
+ * Principal variation search with a transposition table, null-move pruning, late move
+ * reductions, check extensions and a captures-only quiescence search. Moves are ordered
+ * by the table's move, then captures by MVV-LVA (most valuable victim, least valuable
+ * attacker), then killer moves, then the history heuristic. All buffers are allocated
+ * up front, so the search itself does not allocate.
+ */
+final class Searcher {
+    static final int INFINITY = 32000;
+    static final int MATE = 31000;
+    static final int MAX_PLY = 128;
+    private static final int MATE_BOUND = MATE - MAX_PLY;
+
+    private static final int TABLE_MOVE_SCORE = 1 << 30;
+    private static final int CAPTURE_SCORE = 1 << 29;
+    private static final int KILLER_SCORE = 1 << 28;
+    private static final int HISTORY_LIMIT = 1 << 20;
+
+    private final Position position;
+    private final RepetitionTable gameHistory;
+    private final TranspositionTable table;
+    private final SearchLimits limits;
+    private final AtomicBoolean stopped;
+    private final long deadline;
+
+    private final int[][] moves = new int[MAX_PLY + 1][MoveGenerator.MAX_MOVES];
+    private final int[][] moveScores = new int[MAX_PLY + 1][MoveGenerator.MAX_MOVES];
+    private final int[][] killers = new int[MAX_PLY + 1][2];
+    private final int[][] history = new int[2][64 * 64];
+    private final int[][] pv = new int[MAX_PLY + 1][MAX_PLY + 1];
+    private final int[] pvLength = new int[MAX_PLY + 1];
+
+    private long nodes;
+    private boolean canStop;
+
+    /**
+     * @param position The position to search; it is changed during the search and restored afterwards.
+     * @param gameHistory The positions of the game since its last capture or pawn move, including
+     *                    the position to search. Only read, so searchers may share it.
+     * @param stopped Set to stop the search; the searcher sets it itself when a limit is reached.
+     */
+    Searcher(Position position, RepetitionTable gameHistory, TranspositionTable table, SearchLimits limits,
+             AtomicBoolean stopped) {
+        this.position = position;
+        this.gameHistory = gameHistory;
+        this.table = table;
+        this.limits = limits;
+        this.stopped = stopped;
+        this.deadline = limits.timeMs() > 0 ? System.nanoTime() + limits.timeMs() * 1_000_000 : Long.MAX_VALUE;
+    }
+
+    long nodes() {
+        return nodes;
+    }
+
+    /**
+     * Searches with increasing depth until a limit is reached.
+     *
+     * @param startDepth The first depth to search (helper threads of a parallel search start deeper).
+     * @return The result of the deepest completed iteration.
+     */
+    SearchResult iterate(int startDepth) {
+        long start = System.nanoTime();
+        int completedDepth = 0;
+        int bestScore = 0;
+        List<String> bestLine = List.of();
+
+        for (int depth = Math.max(1, startDepth); depth <= limits.depth(); depth++) {
+            int score = negamax(depth, -INFINITY, INFINITY, 0, false);
+            if (stopped.get() && completedDepth > 0) {
+                break;
+            }
+            completedDepth = depth;
+            bestScore = score;
+            bestLine = principalVariation();
+            canStop = true;
+            if (bestLine.isEmpty() || Math.abs(score) >= MATE_BOUND && depth >= MATE - Math.abs(score)) {
+                break; // No legal moves, or a forced mate that a deeper search cannot shorten
+            }
+        }
+
+        Integer mateIn = null;
+        if (bestScore >= MATE_BOUND) {
+            mateIn = (MATE - bestScore + 1) / 2;
+        } else if (bestScore <= -MATE_BOUND) {
+            mateIn = -(MATE + bestScore) / 2;
+        }
+        long timeMs = (System.nanoTime() - start) / 1_000_000;
+        return new SearchResult(bestLine.isEmpty() ? null : bestLine.get(0), bestScore, mateIn,
+                completedDepth, nodes, timeMs, bestLine);
+    }
+
+    // --- Search ---
+
+    private int negamax(int depth, int alpha, int beta, int ply, boolean allowNullMove) {
+        pvLength[ply] = ply;
+        if ((++nodes & 1023) == 0) {
+            checkLimits();
+        }
+        if (stopped.get() && canStop) {
+            return 0;
+        }
+        boolean root = ply == 0;
+        if (!root) {
+            if (position.halfmoveClock() >= 100 || position.isRepetition() || repeatsGame(ply)) {
+                return 0;
+            }
+            // Mate distance pruning: no line from here can beat a mate already found closer to the root
+            alpha = Math.max(alpha, -MATE + ply);
+            beta = Math.min(beta, MATE - ply - 1);
+            if (alpha >= beta) {
+                return alpha;
+            }
+        }
+        boolean inCheck = position.inCheck();
+        if (inCheck) {
+            depth++;
+        }
+        if (depth <= 0) {
+            return quiescence(alpha, beta, ply);
+        }
+        if (ply >= MAX_PLY) {
+            return Evaluator.evaluate(position);
+        }
+
+        long key = position.key();
+        boolean pvNode = beta - alpha > 1;
+        long entry = table.probe(key);
+        int tableMove = PackedMove.NONE;
+        if (entry != 0) {
+            tableMove = TranspositionTable.move(entry);
+            if (!pvNode && TranspositionTable.depth(entry) >= depth) {
+                int score = fromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.BOUND_EXACT
+                        || bound == TranspositionTable.BOUND_LOWER && score >= beta
+                        || bound == TranspositionTable.BOUND_UPPER && score <= alpha) {
+                    return score;
+                }
+            }
+        }
+
+        // Null move: if passing still fails high, a real move will too (not in zugzwang-prone endings)
+        if (allowNullMove && !pvNode && !inCheck && depth >= 3 && hasPieces(position.sideToMove())
+                && Evaluator.evaluate(position) >= beta) {
+            position.makeNullMove();
+            int score = -negamax(depth - 3, -beta, -beta + 1, ply + 1, false);
+            position.unmakeNullMove();
+            if (stopped.get() && canStop) {
+                return 0;
+            }
+            if (score >= beta) {
+                return score >= MATE_BOUND ? beta : score;
+            }
+        }
+
+        int[] plyMoves = moves[ply];
+        int count = MoveGenerator.generateLegalMoves(position, plyMoves);
+        if (count == 0) {
+            return inCheck ? -MATE + ply : 0;
+        }
+        scoreMoves(ply, count, tableMove);
+
+        int side = position.sideToMove();
+        int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = PackedMove.NONE;
+        for (int i = 0; i < count; i++) {
+            int move = pickMove(ply, i, count);
+            boolean quiet = !PackedMove.isCapture(move) && !PackedMove.isPromotion(move);
+            position.makeMove(move);
+            int score;
+            if (i == 0) {
+                score = -negamax(depth - 1, -beta, -alpha, ply + 1, true);
+            } else {
+                // Late quiet moves are searched one ply shallower first, with a null window
+                int reduction = (depth >= 3 && i >= 4 && quiet && !inCheck && !position.inCheck()) ? 1 : 0;
+                score = -negamax(depth - 1 - reduction, -alpha - 1, -alpha, ply + 1, true);
+                if (score > alpha && (reduction > 0 || score < beta)) {
+                    score = -negamax(depth - 1, -beta, -alpha, ply + 1, true);
+                }
+            }
+            position.unmakeMove(move);
+            if (stopped.get() && canStop) {
+                return 0;
+            }
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePrincipalVariation(ply, move);
+                    if (score >= beta) {
+                        if (quiet) {
+                            rememberQuietCutoff(ply, side, move, depth);
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+
+        int bound = bestScore >= beta ? TranspositionTable.BOUND_LOWER
+                : bestScore > originalAlpha ? TranspositionTable.BOUND_EXACT : TranspositionTable.BOUND_UPPER;
+        table.store(key, bestMove, toTable(bestScore, ply), depth, bound);
+        return bestScore;
+    }
+
+    private int quiescence(int alpha, int beta, int ply) {
+        pvLength[ply] = ply;
+        if ((++nodes & 1023) == 0) {
+            checkLimits();
+        }
+        if (stopped.get() && canStop) {
+            return 0;
+        }
+        if (ply >= MAX_PLY) {
+            return Evaluator.evaluate(position);
+        }
+
+        // Out of check, the side to move may "stand pat" instead of capturing
+        boolean inCheck = position.inCheck();
+        int bestScore = -MATE + ply;
+        if (!inCheck) {
+            bestScore = Evaluator.evaluate(position);
+            if (bestScore >= beta) {
+                return bestScore;
+            }
+            alpha = Math.max(alpha, bestScore);
+        }
+
+        int count = MoveGenerator.generateLegalMoves(position, moves[ply]);
+        scoreMoves(ply, count, PackedMove.NONE);
+        for (int i = 0; i < count; i++) {
+            int move = pickMove(ply, i, count);
+            if (!inCheck && !PackedMove.isCapture(move) && !PackedMove.isPromotion(move)) {
+                break; // Captures and promotions are ordered first
+            }
+            position.makeMove(move);
+            int score = -quiescence(-beta, -alpha, ply + 1);
+            position.unmakeMove(move);
+            if (stopped.get() && canStop) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                if (score > alpha) {
+                    alpha = score;
+                    if (score >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        return bestScore;
+    }
+
+    // --- Move ordering ---
+
+    private void scoreMoves(int ply, int count, int tableMove) {
+        int[] plyMoves = moves[ply];
+        int[] scores = moveScores[ply];
+        int side = position.sideToMove();
+        for (int i = 0; i < count; i++) {
+            int move = plyMoves[i];
+            int from = PackedMove.from(move);
+            int to = PackedMove.to(move);
+            if (move == tableMove) {
+                scores[i] = TABLE_MOVE_SCORE;
+            } else if (PackedMove.isCapture(move) || PackedMove.isPromotion(move)) {
+                int victim = PackedMove.flags(move) == PackedMove.EN_PASSANT ? Pieces.PAWN
+                        : PackedMove.isCapture(move) ? Pieces.type(position.pieceAt(to)) : Pieces.NONE;
+                int victimValue = victim == Pieces.NONE ? 0 : Evaluator.PIECE_VALUES[victim];
+                int promotionValue = PackedMove.isPromotion(move) ? Evaluator.PIECE_VALUES[PackedMove.promotionType(move)] : 0;
+                scores[i] = CAPTURE_SCORE + (victimValue + promotionValue) * 8 - Pieces.type(position.pieceAt(from));
+            } else if (move == killers[ply][0]) {
+                scores[i] = KILLER_SCORE + 1;
+            } else if (move == killers[ply][1]) {
+                scores[i] = KILLER_SCORE;
+            } else {
+                scores[i] = history[side][from * 64 + to];
+            }
+        }
+    }
+
+    // Selection sort, one step at a time: a cutoff usually comes before the list is sorted.
+    private int pickMove(int ply, int index, int count) {
+        int[] plyMoves = moves[ply];
+        int[] scores = moveScores[ply];
+        int best = index;
+        for (int i = index + 1; i < count; i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        int move = plyMoves[best];
+        plyMoves[best] = plyMoves[index];
+        plyMoves[index] = move;
+        int score = scores[best];
+        scores[best] = scores[index];
+        scores[index] = score;
+        return move;
+    }
+
+    private void rememberQuietCutoff(int ply, int side, int move, int depth) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+        int[] sideHistory = history[side];
+        int index = PackedMove.from(move) * 64 + PackedMove.to(move);
+        sideHistory[index] += depth * depth;
+        if (sideHistory[index] >= HISTORY_LIMIT) {
+            for (int i = 0; i < sideHistory.length; i++) {
+                sideHistory[i] >>= 1;
+            }
+        }
+    }
+
+    // --- Helpers ---
+
+    // A position of the game itself can only recur while every move since the root was reversible.
+    private boolean repeatsGame(int ply) {
+        return position.halfmoveClock() >= ply && gameHistory.count(position.key()) > 0;
+    }
+
+    private void checkLimits() {
+        if (canStop && ((limits.nodes() > 0 && nodes >= limits.nodes()) || System.nanoTime() >= deadline)) {
+            stopped.set(true);
+        }
+    }
+
+    private boolean hasPieces(int color) {
+        return (position.colorPieces(color)
+                & ~position.pieces(color, Pieces.PAWN) & ~position.pieces(color, Pieces.KING)) != 0;
+    }
+
+    private void updatePrincipalVariation(int ply, int move) {
+        pv[ply][ply] = move;
+        System.arraycopy(pv[ply + 1], ply + 1, pv[ply], ply + 1, pvLength[ply + 1] - ply - 1);
+        pvLength[ply] = Math.max(pvLength[ply + 1], ply + 1);
+    }
+
+    private List<String> principalVariation() {
+        List<String> line = new ArrayList<>(pvLength[0]);
+        for (int i = 0; i < pvLength[0]; i++) {
+            line.add(PackedMove.toUci(pv[0][i]));
+        }
+        return line;
+    }
+
+    // Mate scores are stored relative to the node, so they stay valid wherever the position recurs.
+    private static int toTable(int score, int ply) {
+        return score >= MATE_BOUND ? score + ply : score <= -MATE_BOUND ? score - ply : score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        return score >= MATE_BOUND ? score - ply : score <= -MATE_BOUND ? score + ply : score;
+    }
+}
@@ -0,0 +1,110 @@
+package com.backend.chess.engine;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size transposition table that any number of search threads can share without locks.
+ * <p>
+ * Each slot is two longs: the entry data, and the position key XOR-ed with that data. A
+ * reader accepts an entry only if XOR-ing them back gives its key, so a slot that was torn
+ * by two threads writing at once simply reads as a miss instead of returning another
+ * position's data. Entries pack the best move (16 bits), score (16), depth (8),
+ * bound type (2) and search generation (8).
+ */
+public class TranspositionTable {
+    public static final int BOUND_NONE = 0;
+    public static final int BOUND_EXACT = 1;
+    public static final int BOUND_LOWER = 2;
+    public static final int BOUND_UPPER = 3;
+
+    private static final int BYTES_PER_ENTRY = 16;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int mask;
+    private volatile int generation;
+
+    /**
+     * @param sizeMb The memory budget; the entry count is rounded down to a power of two.
+     */
+    public TranspositionTable(int sizeMb) {
+        long entries = Math.max(1024L, (long) sizeMb * 1024 * 1024 / BYTES_PER_ENTRY);
+        int size = Integer.highestOneBit((int) Math.min(entries, 1 << 30));
+        this.keys = new long[size];
+        this.data = new long[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Starts a new search, so entries from older searches are replaced first.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    /**
+     * Looks up a position.
+     *
+     * @return The packed entry (read it with the static accessors), or 0 if the position is not stored.
+     */
+    public long probe(long key) {
+        int index = (int) key & mask;
+        long entry = data[index];
+        return (keys[index] ^ entry) == key ? entry : 0L;
+    }
+
+    /**
+     * Stores a search result, keeping a deeper entry for another position from the current search.
+     *
+     * @param score The score, already adjusted for mate distance from this node.
+     */
+    public void store(long key, int move, int score, int depth, int bound) {
+        int index = (int) key & mask;
+        long existing = data[index];
+        boolean samePosition = (keys[index] ^ existing) == key;
+        if (!samePosition && existing != 0 && generation(existing) == generation && depth(existing) > depth) {
+            return;
+        }
+        if (samePosition && move == 0) {
+            move = move(existing); // Keep the best move known for the position
+        }
+        long entry = (move & 0xFFFFL)
+                | ((score & 0xFFFFL) << 16)
+                | ((long) (depth & 0xFF) << 32)
+                | ((long) bound << 40)
+                | ((long) generation << 42);
+        data[index] = entry;
+        keys[index] = key ^ entry;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(data, 0L);
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    // --- Entry accessors ---
+
+    public static int move(long entry) {
+        return (int) (entry & 0xFFFF);
+    }
+
+    public static int score(long entry) {
+        return (short) (entry >>> 16);
+    }
+
+    public static int depth(long entry) {
+        return (int) ((entry >>> 32) & 0xFF);
+    }
+
+    public static int bound(long entry) {
+        return (int) ((entry >>> 40) & 3);
+    }
+
+    private static int generation(long entry) {
+        return (int) ((entry >>> 42) & 0xFF);
+    }
+}
@@ -0,0 +1,113 @@
+package com.backend.chess.messaging;
+
+import com.backend.chess.dto.GameDeltaDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Publishes game deltas to the game topics. Each delta is serialized once per format
+ * into a byte array, and the broker hands that same array to every subscriber.
+ * <p>
+ * Clients choose the format per subscription: {@code /topic/game/{gameId}} carries JSON,
+ * {@code /topic/game/{gameId}/cbor} carries CBOR and is only encoded while it has
+ * subscribers on this node (always, with an external broker relay, as subscribers on other
+ * nodes are not counted here). CBOR frames are sent with content type application/octet-stream, which
+ * makes Spring use binary WebSocket frames; this needs a native WebSocket connection
+ * (e.g. /ws/websocket), as SockJS transports are text only.
+ * <p>
+ * Payload sizes are recorded per format, and the JSON topic's subscriber count per delta
+ * (the fan-out) when this node's broker holds the subscriptions.
+ */
+@Component
+public class GameBroadcaster {
+    public static final String CBOR_SUFFIX = "/cbor";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SubscriptionCounter subscriptionCounter;
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper cborMapper;
+    private final boolean relay;
+    private final DistributionSummary jsonSize;
+    private final DistributionSummary cborSize;
+    private final DistributionSummary subscribers;
+
+    @Autowired
+    public GameBroadcaster(SimpMessagingTemplate messagingTemplate, SubscriptionCounter subscriptionCounter,
+                           Jackson2ObjectMapperBuilder mapperBuilder,
+                           @Value("${chess.broker.mode:simple}") String brokerMode,
+                           MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.subscriptionCounter = subscriptionCounter;
+        this.relay = "relay".equals(brokerMode);
+        this.jsonMapper = mapperBuilder.build();
+        this.cborMapper = mapperBuilder.factory(new CBORFactory()).build();
+        this.jsonSize = sizeSummary("json", meterRegistry);
+        this.cborSize = sizeSummary("cbor", meterRegistry);
+        this.subscribers = DistributionSummary.builder("chess.broadcast.subscribers")
+                .description("Subscribers each delta is delivered to")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Gets the JSON topic of a game.
+     */
+    public static String topic(String gameId) {
+        return "/topic/game/" + gameId;
+    }
+
+    /**
+     * Publishes a delta to the game's topics.
+     */
+    public void publish(GameDeltaDTO delta) {
+        String topic = topic(delta.gameId());
+        byte[] json = serialize(jsonMapper, delta);
+        jsonSize.record(json.length);
+        if (!relay) {
+            subscribers.record(subscriptionCounter.count(topic));
+        }
+        send(topic, json, MimeTypeUtils.APPLICATION_JSON);
+        if (relay || subscriptionCounter.count(topic + CBOR_SUFFIX) > 0) {
+            byte[] cbor = serialize(cborMapper, delta);
+            cborSize.record(cbor.length);
+            send(topic + CBOR_SUFFIX, cbor, MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        }
+    }
+
+    // --- Private helpers ---
+
+    private static DistributionSummary sizeSummary(String format, MeterRegistry meterRegistry) {
+        return DistributionSummary.builder("chess.broadcast.size")
+                .description("Serialized size of each delta")
+                .baseUnit("bytes")
+                .tag("format", format)
+                .register(meterRegistry);
+    }
+
+    private void send(String destination, byte[] payload, MimeType contentType) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create();
+        headers.setContentType(contentType);
+        headers.setLeaveMutable(true);
+        // Sent as is: byte payloads skip the template's message converters
+        messagingTemplate.send(destination, MessageBuilder.createMessage(payload, headers.getMessageHeaders()));
+    }
+
+    private static byte[] serialize(ObjectMapper mapper, Object payload) {
+        try {
+            return mapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Error serializing " + payload.getClass().getSimpleName(), ex);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.backend.chess.messaging;
+
+import com.backend.chess.dto.GameStateDTO;
+import com.backend.chess.dto.MoveDto;
+import com.backend.chess.engine.SearchResult;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Decides which node owns a game when several nodes share one external broker.
+ * <p>
+ * Active games live in the memory of a single node, so every move for a game must be
+ * processed there. The owner is picked by rendezvous hashing of the game ID over the
+ * configured nodes: every node computes the same owner without coordination, and adding
+ * or removing a node only moves the games of that node. Other nodes forward moves and
+ * state requests to the owner over its REST API; the owner publishes the resulting delta
+ * through the broker, which delivers it to subscribers on every node.
+ * <p>
+ * Forwarded moves for a game are chained one after another, so they reach the owner in
+ * the order they arrived, but they run on their own threads rather than on the game
+ * lanes: a slow or unreachable owner then only holds up its own games, not every local
+ * game that shares a lane with them.
+ */
+@Component
+public class GameRouter {
+    private final List<String> nodes;
+    private final String self;
+    private final RestClient restClient;
+    private final ExecutorService forwarder;
+    // The last request forwarded for each game, until it completes
+    private final Map<String, CompletableFuture<Void>> forwarding = new ConcurrentHashMap<>();
+
+    @Autowired
+    public GameRouter(@Value("${chess.cluster.nodes:}") List<String> nodes,
+                      @Value("${chess.cluster.self:}") String self,
+                      RestClient.Builder restClientBuilder,
+                      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.nodes = nodes.stream().map(String::trim).filter(node -> !node.isEmpty()).toList();
+        this.self = self.trim();
+        this.restClient = restClientBuilder.build();
+        // At most one request per game is in flight, so threads are bounded by the games being forwarded
+        ThreadFactory threadFactory = virtualThreads
+                ? new VirtualThreadTaskExecutor("game-forward-").getVirtualThreadFactory()
+                : task -> {
+                    Thread thread = new Thread(task, "game-forward");
+                    thread.setDaemon(true);
+                    return thread;
+                };
+        this.forwarder = Executors.newCachedThreadPool(threadFactory);
+        if (this.nodes.size() > 1 && !this.nodes.contains(this.self)) {
+            throw new IllegalStateException("chess.cluster.self (" + self + ") is not one of chess.cluster.nodes " + nodes);
+        }
+    }
+
+    /**
+     * Checks whether this node owns a game. Always true when no cluster is configured.
+     */
+    public boolean isLocal(String gameId) {
+        return nodes.size() <= 1 || ownerOf(gameId).equals(self);
+    }
+
+    /**
+     * Gets the base URL of the node that owns a game.
+     */
+    public String ownerOf(String gameId) {
+        String owner = null;
+        long bestScore = Long.MIN_VALUE;
+        for (String node : nodes) {
+            long score = mix(((long) node.hashCode() << 32) ^ gameId.hashCode());
+            if (owner == null || score > bestScore) {
+                owner = node;
+                bestScore = score;
+            }
+        }
+        return owner;
+    }
+
+    /**
+     * Forwards a move to the node that owns the game. Requests for a game are sent one at a
+     * time, so moves received by this node reach the owner in the order they arrived.
+     *
+     * @return A future completed once the owner has processed the move.
+     */
+    public CompletableFuture<Void> forwardMove(String gameId, MoveDto moveDTO) {
+        return forward(gameId, () -> restClient.post()
+                .uri(ownerOf(gameId) + "/api/game/{gameId}/move", gameId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(moveDTO)
+                .retrieve()
+                .toBodilessEntity());
+    }
+
+    /**
+     * Asks the node that owns a game to make the computer's move if it is the computer's turn.
+     *
+     * @return A future completed once the owner has accepted the request.
+     */
+    public CompletableFuture<Void> forwardComputerMove(String gameId) {
+        return forward(gameId, () -> restClient.post()
+                .uri(ownerOf(gameId) + "/api/game/{gameId}/computer-move", gameId)
+                .retrieve()
+                .toBodilessEntity());
+    }
+
+    /**
+     * Gets the state of a game from the node that owns it.
+     */
+    public GameStateDTO fetchState(String gameId) {
+        return restClient.get()
+                .uri(ownerOf(gameId) + "/api/game/{gameId}", gameId)
+                .retrieve()
+                .body(GameStateDTO.class);
+    }
+
+    /**
+     * Asks the node that owns a game for the best move in its current position.
+     */
+    public SearchResult fetchBestMove(String gameId, long timeMs, int depth, long nodes, int threads) {
+        return restClient.get()
+                .uri(ownerOf(gameId) + "/api/game/{gameId}/best-move?timeMs={timeMs}&depth={depth}&nodes={nodes}&threads={threads}",
+                        gameId, timeMs, depth, nodes, threads)
+                .retrieve()
+                .body(SearchResult.class);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        forwarder.shutdown();
+    }
+
+    // --- Private helpers ---
+
+    // Runs the request after the game's previous one, whether that succeeded or not
+    private CompletableFuture<Void> forward(String gameId, Runnable request) {
+        CompletableFuture<Void> forwarded = forwarding.compute(gameId, (id, previous) -> previous == null
+                ? CompletableFuture.runAsync(request, forwarder)
+                : previous.handle((result, ex) -> null).thenRunAsync(request, forwarder));
+        forwarded.whenComplete((result, ex) -> forwarding.remove(gameId, forwarded));
+        return forwarded;
+    }
+
+    // 64-bit finalizer from MurmurHash3, so nearby hash codes give unrelated scores
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,62 @@
+package com.backend.chess.metrics;
+
+import com.backend.chess.analysis.AnalysisCache;
+import com.backend.chess.persistence.ActiveGameStore;
+import com.backend.chess.service.GameLanes;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the state the components already track as meters: active and unsaved games,
+ * and the analysis cache's hits, misses, evictions and size. Meters read the components'
+ * own counters when scraped, so nothing is added to the move path.
+ * <p>
+ * Per-move timings are recorded by {@code GameService} (chess.move, chess.move.stage,
+ * chess.move.queue, chess.move.illegal) and broadcast sizes by {@code GameBroadcaster}
+ * (chess.broadcast.size, chess.broadcast.subscribers).
+ */
+@Component
+public class ChessMetrics implements MeterBinder {
+    private final ActiveGameStore activeGameStore;
+    private final AnalysisCache analysisCache;
+    private final GameLanes gameLanes;
+
+    @Autowired
+    public ChessMetrics(ActiveGameStore activeGameStore, AnalysisCache analysisCache, GameLanes gameLanes) {
+        this.activeGameStore = activeGameStore;
+        this.analysisCache = analysisCache;
+        this.gameLanes = gameLanes;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("chess.games.active", activeGameStore, ActiveGameStore::activeGameCount)
+                .description("Games held in memory")
+                .register(registry);
+        Gauge.builder("chess.games.dirty", activeGameStore, ActiveGameStore::dirtyGameCount)
+                .description("Games with changes not yet written to the database")
+                .register(registry);
+        Gauge.builder("chess.lanes", gameLanes, GameLanes::laneCount)
+                .description("Game lanes moves are processed on")
+                .register(registry);
+
+        FunctionCounter.builder("chess.analysis.cache.requests", analysisCache, AnalysisCache::getHits)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("chess.analysis.cache.requests", analysisCache, AnalysisCache::getMisses)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("chess.analysis.cache.evictions", analysisCache, AnalysisCache::getEvictions)
+                .register(registry);
+        Gauge.builder("chess.analysis.cache.size", analysisCache, AnalysisCache::size)
+                .description("Positions in the analysis cache")
+                .register(registry);
+        Gauge.builder("chess.analysis.cache.memory", analysisCache, AnalysisCache::estimatedBytes)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+}
@@ -1,25 +1,146 @@
 package com.backend.chess.model;
 
-import lombok.Getter;
-
-import java.util.Arrays;
-
+import com.backend.chess.bitboard.Bitboards;
+import com.backend.chess.bitboard.Fen;
+import com.backend.chess.bitboard.Pieces;
+import com.backend.chess.bitboard.Position;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * The chess board. The state lives in a bitboard {@link Position}; this class adapts it to
+ * the {@link Piece}/{@link Coordinates} model used by the services and DTOs.
+ */
 public class Board {
-    @Getter
-    private Piece[][] squares;
+    // One shared Piece instance per piece code, so lookups never allocate.
+    private static final Piece[] PIECES = new Piece[Pieces.COUNT];
+
+    static {
+        for (PlayerColor color : PlayerColor.values()) {
+            for (PieceType type : PieceType.values()) {
+                PIECES[toPieceCode(type, color)] = new Piece(type, color);
+            }
+        }
+    }
+
+    private final Position position;
 
     //constructors
     public Board() {
-        squares = new Piece[8][8];
-        setupInitialPositions();
-
+        this.position = Position.initial();
     }
 
     public Board(Piece[][] squares) {
-        this.squares = squares;
+        this(squares, null, null, null, null, null);
+    }
+
+    /**
+     * Creates a board from its stored form. Boards stored before castling and en passant
+     * were tracked only have squares; their castling rights are inferred from the
+     * kings and rooks still on their home squares.
+     */
+    @JsonCreator
+    public Board(@JsonProperty("squares") Piece[][] squares,
+                 @JsonProperty("sideToMove") PlayerColor sideToMove,
+                 @JsonProperty("castlingRights") String castlingRights,
+                 @JsonProperty("enPassantSquare") String enPassantSquare,
+                 @JsonProperty("halfmoveClock") Integer halfmoveClock,
+                 @JsonProperty("fullmoveNumber") Integer fullmoveNumber) {
+        this.position = new Position();
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++) {
+                Piece piece = squares[y][x];
+                if (piece != null) {
+                    position.put(y * 8 + x, toPieceCode(piece.type(), piece.color()));
+                }
+            }
+        }
+        position.setSideToMove(toColorCode(sideToMove != null ? sideToMove : PlayerColor.WHITE));
+        position.setCastlingRights(castlingRights != null ? parseCastlingRights(castlingRights) : position.inferCastlingRights());
+        position.setEnPassantSquare(enPassantSquare != null ? Bitboards.parseSquare(enPassantSquare) : -1);
+        position.setHalfmoveClock(halfmoveClock != null ? halfmoveClock : 0);
+        position.setFullmoveNumber(fullmoveNumber != null ? fullmoveNumber : 1);
+    }
+
+    public Board(Position position) {
+        this.position = position;
+    }
+
+    /**
+     * Creates a board from a FEN string.
+     *
+     * @throws IllegalArgumentException if the FEN is invalid or describes an illegal position.
+     */
+    public static Board fromFen(String fen) {
+        return new Board(Fen.parse(fen));
     }
 
     //public functions
+    /**
+     * Gets the underlying bitboard position.
+     */
+    @JsonIgnore
+    public Position getPosition() {
+        return position;
+    }
+
+    /**
+     * Builds the 8x8 array view of the board, indexed as [y][x] (rank, file).
+     *
+     * @return A fresh array; changes to it do not affect the board.
+     */
+    public Piece[][] getSquares() {
+        Piece[][] squares = new Piece[8][8];
+        long occupied = position.occupied();
+        while (occupied != 0) {
+            int square = Long.numberOfTrailingZeros(occupied);
+            squares[square >>> 3][square & 7] = PIECES[position.pieceAt(square)];
+            occupied &= occupied - 1;
+        }
+        return squares;
+    }
+
+    public PlayerColor getSideToMove() {
+        return toPlayerColor(position.sideToMove());
+    }
+
+    /**
+     * Gets the castling rights in FEN notation (e.g., "KQkq", or "-" for none).
+     */
+    public String getCastlingRights() {
+        int rights = position.castlingRights();
+        StringBuilder builder = new StringBuilder(4);
+        if ((rights & Position.WHITE_KING_SIDE) != 0) builder.append('K');
+        if ((rights & Position.WHITE_QUEEN_SIDE) != 0) builder.append('Q');
+        if ((rights & Position.BLACK_KING_SIDE) != 0) builder.append('k');
+        if ((rights & Position.BLACK_QUEEN_SIDE) != 0) builder.append('q');
+        return builder.length() == 0 ? "-" : builder.toString();
+    }
+
+    /**
+     * Gets the square a pawn may capture onto en passant (e.g., "e3"), or null if there is none.
+     */
+    public String getEnPassantSquare() {
+        int square = position.enPassantSquare();
+        return square < 0 ? null : Bitboards.squareName(square);
+    }
+
+    public int getHalfmoveClock() {
+        return position.halfmoveClock();
+    }
+
+    public int getFullmoveNumber() {
+        return position.fullmoveNumber();
+    }
+
+    /**
+     * Writes the board as a FEN string.
+     */
+    public String toFen() {
+        return Fen.toFen(position);
+    }
+
     /**
      * Gets the piece at a given coordinate.
      *
@@ -30,7 +151,7 @@ public class Board {
         if (coords.isOutOfBounds()) {
             return null;
         }
-        return squares[coords.y()][coords.x()];
+        return toPiece(position.pieceAt(coords.y() * 8 + coords.x()));
     }
 
     /**
@@ -41,48 +162,78 @@ public class Board {
      */
     public void setPieceAt(Coordinates coords, Piece piece) {
         if (!coords.isOutOfBounds()) {
-            squares[coords.y()][coords.x()] = piece;
+            int code = (piece == null) ? Pieces.NONE : toPieceCode(piece.type(), piece.color());
+            position.set(coords.y() * 8 + coords.x(), code);
         }
     }
 
     public Board copy() {
-        Piece[][] newSquares = new Piece[8][];
-        for (int i = 0; i < 8; i++) {
-            newSquares[i] = Arrays.copyOf(squares[i], 8);
-        }
-        return new Board(newSquares);
+        return new Board(position.copy());
     }
 
-    //private functions
-
+    /**
+     * Converts a piece type and colour to the primitive piece code used by {@link Position}.
+     */
+    public static int toPieceCode(PieceType type, PlayerColor color) {
+        return Pieces.of(toColorCode(color), toTypeCode(type));
+    }
 
+    /**
+     * Converts a primitive piece code back to a (shared) Piece.
+     *
+     * @return The Piece, or null for {@link Pieces#NONE}.
+     */
+    public static Piece toPiece(int pieceCode) {
+        return pieceCode == Pieces.NONE ? null : PIECES[pieceCode];
+    }
 
-    private void setupInitialPositions() {
-        for (int i = 0; i < 8; i++) {
-            squares[1][i] = new Piece(PieceType.PAWN, PlayerColor.WHITE);
-            squares[6][i] = new Piece(PieceType.PAWN, PlayerColor.BLACK);
+    /**
+     * Parses castling rights in FEN notation (e.g., "KQkq" or "-").
+     */
+    public static int parseCastlingRights(String castlingRights) {
+        int rights = 0;
+        for (int i = 0; i < castlingRights.length(); i++) {
+            switch (castlingRights.charAt(i)) {
+                case 'K': rights |= Position.WHITE_KING_SIDE; break;
+                case 'Q': rights |= Position.WHITE_QUEEN_SIDE; break;
+                case 'k': rights |= Position.BLACK_KING_SIDE; break;
+                case 'q': rights |= Position.BLACK_QUEEN_SIDE; break;
+                case '-': break;
+                default: throw new IllegalArgumentException("Invalid castling rights: " + castlingRights);
+            }
         }
+        return rights;
+    }
 
-        // Place White pieces
-        squares[0][0] = new Piece(PieceType.ROOK, PlayerColor.WHITE);
-        squares[0][7] = new Piece(PieceType.ROOK, PlayerColor.WHITE);
-        squares[0][1] = new Piece(PieceType.KNIGHT, PlayerColor.WHITE);
-        squares[0][6] = new Piece(PieceType.KNIGHT, PlayerColor.WHITE);
-        squares[0][2] = new Piece(PieceType.BISHOP, PlayerColor.WHITE);
-        squares[0][5] = new Piece(PieceType.BISHOP, PlayerColor.WHITE);
-        squares[0][3] = new Piece(PieceType.QUEEN, PlayerColor.WHITE);
-        squares[0][4] = new Piece(PieceType.KING, PlayerColor.WHITE);
-
-        // Place Black pieces
-        squares[7][0] = new Piece(PieceType.ROOK, PlayerColor.BLACK);
-        squares[7][7] = new Piece(PieceType.ROOK, PlayerColor.BLACK);
-        squares[7][1] = new Piece(PieceType.KNIGHT, PlayerColor.BLACK);
-        squares[7][6] = new Piece(PieceType.KNIGHT, PlayerColor.BLACK);
-        squares[7][2] = new Piece(PieceType.BISHOP, PlayerColor.BLACK);
-        squares[7][5] = new Piece(PieceType.BISHOP, PlayerColor.BLACK);
-        squares[7][3] = new Piece(PieceType.QUEEN, PlayerColor.BLACK);
-        squares[7][4] = new Piece(PieceType.KING, PlayerColor.BLACK);
+    public static int toColorCode(PlayerColor color) {
+        return color == PlayerColor.WHITE ? Pieces.WHITE : Pieces.BLACK;
     }
 
-}
+    public static PlayerColor toPlayerColor(int colorCode) {
+        return colorCode == Pieces.WHITE ? PlayerColor.WHITE : PlayerColor.BLACK;
+    }
+
+    public static PieceType toPieceType(int typeCode) {
+        switch (typeCode) {
+            case Pieces.PAWN: return PieceType.PAWN;
+            case Pieces.KNIGHT: return PieceType.KNIGHT;
+            case Pieces.BISHOP: return PieceType.BISHOP;
+            case Pieces.ROOK: return PieceType.ROOK;
+            case Pieces.QUEEN: return PieceType.QUEEN;
+            case Pieces.KING: return PieceType.KING;
+            default: throw new IllegalArgumentException("Unknown piece type code: " + typeCode);
+        }
+    }
 
+    public static int toTypeCode(PieceType type) {
+        switch (type) {
+            case PAWN: return Pieces.PAWN;
+            case KNIGHT: return Pieces.KNIGHT;
+            case BISHOP: return Pieces.BISHOP;
+            case ROOK: return Pieces.ROOK;
+            case QUEEN: return Pieces.QUEEN;
+            case KING: return Pieces.KING;
+            default: throw new IllegalArgumentException("Unknown piece type: " + type);
+        }
+    }
+}
@@ -1,13 +1,22 @@
 package com.backend.chess.model;
 
+import com.backend.chess.analysis.TerritoryTracker;
+import com.backend.chess.bitboard.Bitboards;
+import com.backend.chess.bitboard.Fen;
+import com.backend.chess.bitboard.MoveGenerator;
+import com.backend.chess.bitboard.PackedMove;
+import com.backend.chess.bitboard.Pieces;
+import com.backend.chess.bitboard.Position;
+import com.backend.chess.bitboard.RepetitionTable;
 import com.backend.chess.persistence.BoardConverter;
+import com.backend.chess.persistence.RepetitionTableConverter;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Entity
 @Getter
@@ -16,8 +25,14 @@ public class Game {
     private String id;
 
     @Convert(converter = BoardConverter.class)
+    @Column(name = "board_data", length = 64)
     private Board board;
 
+    // Board as JSON, written by earlier versions. Read once on load, then cleared.
+    @Column(name = "board", length = 4096)
+    @Getter(AccessLevel.NONE)
+    private String legacyBoardJson;
+
     @Enumerated(EnumType.STRING)
     @Setter
     private PlayerColor currentPlayer;
@@ -26,38 +41,158 @@ public class Game {
     @Setter
     private GameStatus status;
 
-    @ElementCollection(fetch = FetchType.EAGER) // Store a collection of basic types
-    @CollectionTable(name="game_moves", joinColumns=@JoinColumn(name="game_id"))
-    @Column(name="move")
+    // The side played by the search engine, or null when both sides are human
+    @Enumerated(EnumType.STRING)
     @Setter
-    private List<String> moveHistory;  // storing moves in algebraic notations
+    private PlayerColor computerColor;
+
+    // The position the game started from, or null for the standard starting position
+    @Column(name = "start_fen", length = 100)
+    private String startFen;
+
+    // Number of moves included in the stored board; the moves themselves live in the move log
+    // and are read from there a page at a time (GameService.getMoves)
+    @Column(name = "ply_count")
+    private int plyCount;
+
+    // Positions since the last capture or pawn move, counted for threefold repetition
+    @Convert(converter = RepetitionTableConverter.class)
+    @Column(name = "repetition_keys", length = RepetitionTable.MAX_POSITIONS * Long.BYTES)
+    @Getter(AccessLevel.NONE)
+    private RepetitionTable repetitions;
+
+    // Attacker counts for the current board, kept up to date by applyMove once analysis has run.
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private TerritoryTracker territoryTracker;
+
+    // Held while the game is read or changed. A lock rather than the game's monitor, because
+    // moves write to the database while holding it, and a virtual thread blocked inside a
+    // synchronized block would keep its carrier thread blocked too.
+    @Transient
+    private final ReentrantLock lock = new ReentrantLock();
 
     public Game() {
+        this(new Board());
+    }
+
+    private Game(Board board) {
         this.id = UUID.randomUUID().toString();
-        this.board = new Board();
-        this.currentPlayer = PlayerColor.WHITE;
-        this.status = GameStatus.IN_PROGRESS;
-        this.moveHistory = new ArrayList<>();
+        this.board = board;
+        this.currentPlayer = board.getSideToMove();
+        this.status = GameStatus.of(board.getPosition());
+        this.repetitions = new RepetitionTable();
+        this.repetitions.add(board.getPosition().key());
+    }
+
+    /**
+     * Creates a game starting from the position in a FEN string.
+     *
+     * @throws IllegalArgumentException if the FEN is invalid or describes an illegal position.
+     */
+    public static Game fromFen(String fen) {
+        Game game = new Game(Board.fromFen(fen));
+        String normalized = game.getFen();
+        game.startFen = normalized.equals(Fen.INITIAL) ? null : normalized;
+        return game;
+    }
+
+    /**
+     * Gets the current position as a FEN string.
+     */
+    public String getFen() {
+        return board.toFen();
     }
 
+    /**
+     * Applies a move given as coordinates, if it is legal in the current position.
+     * Castling moves the rook and en passant removes the captured pawn as well.
+     */
     public void applyMove(Move move) {
-        Piece pieceToMove = board.getPieceAt(move.from());
-        if (pieceToMove == null) {
+        if (move.from().isOutOfBounds() || move.to().isOutOfBounds()) {
+            return;
+        }
+        int promotionType = (move.promotion() != null) ? Board.toTypeCode(move.promotion()) : Pieces.NONE;
+        int packedMove = MoveGenerator.findLegalMove(board.getPosition(),
+                Bitboards.square(move.from().x(), move.from().y()),
+                Bitboards.square(move.to().x(), move.to().y()),
+                promotionType, new int[MoveGenerator.MAX_MOVES]);
+        if (packedMove == PackedMove.NONE) {
             return;
         }
+        applyMove(packedMove);
+    }
+
+    /**
+     * Applies a legal move in packed form (see {@link PackedMove}) to the board, counting it
+     * in the ply count.
+     */
+    public void applyMove(int packedMove) {
+        Position position = board.getPosition();
+        position.makeMove(packedMove);
+
+        // Positions before a capture or pawn move can never occur again
+        if (position.halfmoveClock() == 0) {
+            repetitions.clear();
+        }
+        repetitions.add(position.key());
+
+        if (territoryTracker != null) {
+            territoryTracker.update(position, PackedMove.changedSquares(packedMove));
+        }
+
+        this.currentPlayer = board.getSideToMove();
+        this.plyCount++;
+    }
+
+    /**
+     * Gets the Zobrist key of the current position. It is maintained incrementally by
+     * applyMove, so identical positions can be compared in O(1) across games.
+     */
+    public long getPositionKey() {
+        return board.getPosition().key();
+    }
+
+    /**
+     * Gets how often the current position has occurred in this game (1 the first time).
+     * Only positions since the last capture or pawn move are counted, as earlier ones
+     * cannot repeat.
+     */
+    public int getRepetitionCount() {
+        return repetitions.count(getPositionKey());
+    }
+
+    /**
+     * Gets a copy of the positions since the last capture or pawn move, ending with the
+     * current one, which stays valid while the game goes on.
+     */
+    public RepetitionTable copyRepetitions() {
+        return RepetitionTable.of(repetitions.toArray());
+    }
 
-        Piece movedPiece = (move.promotion() != null)
-                ? new Piece(move.promotion(), pieceToMove.color())
-                : pieceToMove;
+    @PostLoad
+    private void afterLoad() {
+        // Rows written before the binary board format only have the JSON column.
+        if (board == null && legacyBoardJson != null) {
+            board = BoardConverter.fromJson(legacyBoardJson);
+        }
+        legacyBoardJson = null;
 
-        board.setPieceAt(move.to(), movedPiece);
-        board.setPieceAt(move.from(), null);
+        // Boards stored before the side to move was part of the board take it from the game.
+        board.getPosition().setSideToMove(Board.toColorCode(currentPlayer));
 
-        this.currentPlayer = (this.currentPlayer == PlayerColor.WHITE) ? PlayerColor.BLACK : PlayerColor.WHITE;
+        // Games stored before repetitions were tracked start counting from their current position.
+        if (repetitions == null) {
+            repetitions = new RepetitionTable();
+            repetitions.add(board.getPosition().key());
+        }
     }
 
+    public TerritoryTracker getTerritoryTracker() {
+        return territoryTracker;
+    }
 
-    public void addMoveToHistory(String moveNotation) {
-        this.moveHistory.add(moveNotation);
+    public void setTerritoryTracker(TerritoryTracker territoryTracker) {
+        this.territoryTracker = territoryTracker;
     }
 }
@@ -1,9 +1,56 @@
 package com.backend.chess.model;
 
+import com.backend.chess.bitboard.MoveGenerator;
+import com.backend.chess.bitboard.Pieces;
+import com.backend.chess.bitboard.Position;
+
 public enum GameStatus {
     IN_PROGRESS,
     CHECK,
     WHITE_WINS,
     BLACK_WINS,
-    STALEMATE
+    STALEMATE,
+    THREEFOLD_REPETITION,
+    FIFTY_MOVE_RULE,
+    // Drawn for a reason not decided here, e.g. by agreement in an imported game
+    DRAW;
+
+    /**
+     * Gets the status of a position from the side to move's point of view: in check or not,
+     * and whether it has a legal move left (checkmate or stalemate if not).
+     */
+    public static GameStatus of(Position position) {
+        return of(position, 1);
+    }
+
+    /**
+     * Gets the status of a position in a game, including draws by repetition and by the
+     * fifty-move rule. Both are applied as soon as they can be claimed; checkmate on the
+     * move that completes fifty moves still wins.
+     *
+     * @param repetitions How often the position has occurred in the game.
+     */
+    public static GameStatus of(Position position, int repetitions) {
+        boolean inCheck = position.inCheck();
+        if (!MoveGenerator.hasLegalMove(position)) {
+            if (!inCheck) {
+                return STALEMATE;
+            }
+            return position.sideToMove() == Pieces.WHITE ? BLACK_WINS : WHITE_WINS;
+        }
+        if (repetitions >= 3) {
+            return THREEFOLD_REPETITION;
+        }
+        if (position.halfmoveClock() >= 100) {
+            return FIFTY_MOVE_RULE;
+        }
+        return inCheck ? CHECK : IN_PROGRESS;
+    }
+
+    /**
+     * Checks whether the game has ended.
+     */
+    public boolean isFinished() {
+        return this != IN_PROGRESS && this != CHECK;
+    }
 }
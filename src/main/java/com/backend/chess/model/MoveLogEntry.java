@@ -0,0 +1,55 @@
+package com.backend.chess.model;
+
+import com.backend.chess.bitboard.PackedMove;
+import jakarta.persistence.*;
+import lombok.Getter;
+
+/**
+ * One move in a game's append-only move log, which holds the game's full move history.
+ * Every accepted move is written here synchronously before it is applied in memory and is
+ * never rewritten afterwards, so saving a game costs the same at move 1 and at move 150.
+ * A game whose snapshot was not yet flushed is rebuilt by replaying the entries after the
+ * snapshot's {@link Game#getPlyCount() ply count}.
+ */
+@Entity
+@Table(name = "move_log", uniqueConstraints = @UniqueConstraint(columnNames = {"game_id", "ply"}))
+@Getter
+public class MoveLogEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "game_id", nullable = false)
+    private String gameId;
+
+    // 1-based index of the half-move in the game
+    @Column(nullable = false)
+    private int ply;
+
+    // The move as a 16-bit packed move code (see PackedMove)
+    @Column(nullable = false)
+    private short move;
+
+    protected MoveLogEntry() {
+    }
+
+    public MoveLogEntry(String gameId, int ply, int packedMove) {
+        this.gameId = gameId;
+        this.ply = ply;
+        this.move = (short) packedMove;
+    }
+
+    /**
+     * Gets the packed move as an int (see {@link PackedMove}).
+     */
+    public int getPackedMove() {
+        return move & 0xFFFF;
+    }
+
+    /**
+     * Gets the move in UCI coordinate notation (e.g. "e2e4", "e7e8q").
+     */
+    public String toUci() {
+        return PackedMove.toUci(getPackedMove());
+    }
+}
@@ -0,0 +1,234 @@
+package com.backend.chess.persistence;
+
+import com.backend.chess.bitboard.MoveGenerator;
+import com.backend.chess.bitboard.PackedMove;
+import com.backend.chess.model.Game;
+import com.backend.chess.model.GameStatus;
+import com.backend.chess.model.MoveLogEntry;
+import com.backend.chess.repository.GameRepository;
+import com.backend.chess.repository.MoveLogRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps active games in memory in front of {@link GameRepository}.
+ * <p>
+ * Moves are applied to the in-memory Game and only the move itself is written
+ * synchronously, to the append-only move log, which is also where the move history is
+ * kept. The game snapshot (board, status, ply count) is marked dirty and written behind in
+ * batches, every few seconds or as soon as the game ends. If the process dies before a
+ * flush, loading the game replays the logged moves that come after its last saved snapshot.
+ * <p>
+ * Callers must hold the Game's {@link Game#getLock() lock} while changing it; the flusher
+ * takes the same lock while copying a game into the persistence context.
+ * <p>
+ * Games are loaded outside the map, so the database is never queried while a map bin is
+ * locked. Dirty games are tracked by instance, so a game is written even if it was evicted
+ * while a move was being made on it.
+ */
+@Component
+public class ActiveGameStore {
+    private static final Logger log = LoggerFactory.getLogger(ActiveGameStore.class);
+
+    private final GameRepository gameRepository;
+    private final MoveLogRepository moveLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long idleTimeoutMs;
+
+    private final Map<String, ActiveGame> games = new ConcurrentHashMap<>();
+    private final Map<String, Game> dirtyGames = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ActiveGameStore(GameRepository gameRepository, MoveLogRepository moveLogRepository,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${chess.store.idle-timeout-ms:1800000}") long idleTimeoutMs) {
+        this.gameRepository = gameRepository;
+        this.moveLogRepository = moveLogRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.idleTimeoutMs = idleTimeoutMs;
+    }
+
+    /**
+     * Gets an active game, loading it (and replaying any unflushed moves) on first access.
+     *
+     * @throws IllegalArgumentException if no game is found with the given ID.
+     */
+    public Game get(String gameId) {
+        // Touched atomically with respect to eviction, so an evicted game is never handed out
+        ActiveGame active = games.computeIfPresent(gameId, (id, existing) -> existing.touch());
+        if (active == null) {
+            // Two threads may load the same game at once; the first one to be put wins
+            ActiveGame loaded = load(gameId);
+            active = games.putIfAbsent(gameId, loaded);
+            if (active == null) {
+                active = loaded;
+                if (loaded.replayed) {
+                    dirtyGames.put(gameId, loaded.game);
+                }
+            }
+        }
+        return active.game;
+    }
+
+    /**
+     * Saves a newly created game right away and keeps it active.
+     */
+    public Game add(Game game) {
+        Game saved = gameRepository.save(game);
+        games.put(saved.getId(), new ActiveGame(saved, false));
+        return saved;
+    }
+
+    /**
+     * Appends a move to the game's durable move log. Call this before applying the move
+     * in memory, so a move is never visible to players without being recoverable.
+     *
+     * @param game The game, in its state before the move.
+     * @param packedMove The legal move about to be applied (see {@link PackedMove}).
+     */
+    public void logMove(Game game, int packedMove) {
+        moveLogRepository.save(new MoveLogEntry(game.getId(), game.getPlyCount() + 1, packedMove));
+    }
+
+    /**
+     * Reads one page of a game's move history straight from the move log.
+     *
+     * @param afterPly The ply to start after (0 for the first move).
+     * @param limit The maximum number of moves to return.
+     * @return The moves in UCI coordinate notation.
+     */
+    public List<String> getMoves(String gameId, int afterPly, int limit) {
+        List<MoveLogEntry> entries = moveLogRepository.findByGameIdAndPlyGreaterThanOrderByPlyAsc(
+                gameId, afterPly, PageRequest.of(0, limit));
+        List<String> moves = new ArrayList<>(entries.size());
+        for (MoveLogEntry entry : entries) {
+            moves.add(entry.toUci());
+        }
+        return moves;
+    }
+
+    /**
+     * Marks a game as changed, so the next flush writes its snapshot.
+     */
+    public void markDirty(Game game) {
+        dirtyGames.put(game.getId(), game);
+    }
+
+    /**
+     * Writes a game's snapshot immediately, e.g. when the game has ended.
+     */
+    public void flush(Game game) {
+        dirtyGames.remove(game.getId());
+        transactionTemplate.executeWithoutResult(status -> save(game));
+    }
+
+    /**
+     * Writes every dirty game in one batch and drops idle games from memory.
+     */
+    @Scheduled(fixedDelayString = "${chess.store.flush-interval-ms:2000}")
+    public void flushDirtyGames() {
+        List<Game> batch = new ArrayList<>();
+        for (Map.Entry<String, Game> entry : dirtyGames.entrySet()) {
+            if (dirtyGames.remove(entry.getKey(), entry.getValue())) {
+                batch.add(entry.getValue());
+            }
+        }
+        if (!batch.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> batch.forEach(this::save));
+            } catch (RuntimeException ex) {
+                // Keep them dirty; their moves are safe in the move log meanwhile.
+                batch.forEach(game -> dirtyGames.putIfAbsent(game.getId(), game));
+                log.warn("Failed to flush {} games, will retry", batch.size(), ex);
+            }
+        }
+        evictIdleGames();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushDirtyGames();
+    }
+
+    public int activeGameCount() {
+        return games.size();
+    }
+
+    public int dirtyGameCount() {
+        return dirtyGames.size();
+    }
+
+    // --- Private helpers ---
+
+    private void save(Game game) {
+        game.getLock().lock();
+        try {
+            gameRepository.save(game);
+        } finally {
+            game.getLock().unlock();
+        }
+    }
+
+    private ActiveGame load(String gameId) {
+        Game game = gameRepository.findById(gameId)
+                .orElseThrow(() -> new IllegalArgumentException("Game not found with ID: " + gameId));
+
+        // Only the moves logged after the snapshot are read, and replayed onto the board; the
+        // rest of the history stays in the log and is read a page at a time (getMoves).
+        List<MoveLogEntry> entries = moveLogRepository.findByGameIdAndPlyGreaterThanOrderByPlyAsc(
+                gameId, game.getPlyCount());
+        int[] buffer = new int[MoveGenerator.MAX_MOVES];
+        boolean replayed = false;
+        for (MoveLogEntry entry : entries) {
+            int logged = entry.getPackedMove();
+            int packedMove = MoveGenerator.findLegalMove(game.getBoard().getPosition(), PackedMove.from(logged),
+                    PackedMove.to(logged), PackedMove.promotionType(logged), buffer);
+            if (packedMove != logged) {
+                log.error("Cannot replay move {} ({}) of game {}", entry.getPly(), entry.toUci(), gameId);
+                break;
+            }
+            game.applyMove(packedMove);
+            game.setStatus(GameStatus.of(game.getBoard().getPosition(), game.getRepetitionCount()));
+            replayed = true;
+        }
+        return new ActiveGame(game, replayed);
+    }
+
+    private void evictIdleGames() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMs;
+        for (String gameId : games.keySet()) {
+            // Checked and removed in one step, so a concurrent get() either keeps the game or reloads it
+            games.computeIfPresent(gameId, (id, active) ->
+                    active.lastAccess < cutoff && !dirtyGames.containsKey(id) ? null : active);
+        }
+    }
+
+    private static final class ActiveGame {
+        private final Game game;
+        // Whether moves logged after the stored snapshot were replayed, so the snapshot is stale
+        private final boolean replayed;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        ActiveGame(Game game, boolean replayed) {
+            this.game = game;
+            this.replayed = replayed;
+        }
+
+        ActiveGame touch() {
+            lastAccess = System.currentTimeMillis();
+            return this;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.backend.chess.persistence;
+
+import com.backend.chess.bitboard.Pieces;
+import com.backend.chess.bitboard.Position;
+import com.backend.chess.model.Board;
+
+/**
+ * Compact binary encoding of a Board (39 bytes).
+ * <pre>
+ * byte 0       format version (1); never '{', so it cannot be confused with legacy JSON
+ * bytes 1-32   64 squares as 4-bit nibbles, a1 first, low nibble first: 0 = empty, else piece code + 1
+ * byte 33      bit 0: side to move (1 = black), bits 1-4: castling rights
+ * byte 34      en passant square + 1 (0 = none)
+ * bytes 35-36  halfmove clock (unsigned, big-endian)
+ * bytes 37-38  fullmove number (unsigned, big-endian)
+ * </pre>
+ */
+public final class BoardCodec {
+    public static final byte VERSION = 1;
+    public static final int LENGTH = 39;
+
+    private BoardCodec() {
+    }
+
+    public static byte[] encode(Board board) {
+        Position position = board.getPosition();
+        byte[] data = new byte[LENGTH];
+        data[0] = VERSION;
+        for (int square = 0; square < 64; square++) {
+            int nibble = position.pieceAt(square) + 1;
+            data[1 + (square >>> 1)] |= (byte) ((square & 1) == 0 ? nibble : nibble << 4);
+        }
+        data[33] = (byte) (position.sideToMove() | (position.castlingRights() << 1));
+        data[34] = (byte) (position.enPassantSquare() + 1);
+        writeShort(data, 35, position.halfmoveClock());
+        writeShort(data, 37, position.fullmoveNumber());
+        return data;
+    }
+
+    /**
+     * Decodes a board written by {@link #encode(Board)}.
+     *
+     * @throws IllegalArgumentException if the data is not in a known format.
+     */
+    public static Board decode(byte[] data) {
+        if (data.length != LENGTH || data[0] != VERSION) {
+            throw new IllegalArgumentException("Unknown board encoding (version " + data[0] + ", " + data.length + " bytes)");
+        }
+        Position position = new Position();
+        for (int square = 0; square < 64; square++) {
+            int packed = data[1 + (square >>> 1)];
+            int nibble = ((square & 1) == 0 ? packed : packed >>> 4) & 0xF;
+            if (nibble != 0) {
+                if (nibble > Pieces.COUNT) {
+                    throw new IllegalArgumentException("Invalid piece code " + nibble + " on square " + square);
+                }
+                position.put(square, nibble - 1);
+            }
+        }
+        position.setSideToMove(data[33] & 1);
+        position.setCastlingRights((data[33] >>> 1) & 0xF);
+        position.setEnPassantSquare((data[34] & 0xFF) - 1);
+        position.setHalfmoveClock(readShort(data, 35));
+        position.setFullmoveNumber(readShort(data, 37));
+        return new Board(position);
+    }
+
+    private static void writeShort(byte[] data, int offset, int value) {
+        data[offset] = (byte) (value >>> 8);
+        data[offset + 1] = (byte) value;
+    }
+
+    private static int readShort(byte[] data, int offset) {
+        return ((data[offset] & 0xFF) << 8) | (data[offset + 1] & 0xFF);
+    }
+}
@@ -2,51 +2,59 @@ package com.backend.chess.persistence;
 
 
 import com.backend.chess.model.Board;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 /**
- * A JPA AttributeConverter to store the Board object as a JSON string in the database.
+ * A JPA AttributeConverter to store the Board object in the compact binary form of
+ * {@link BoardCodec}. Boards written by earlier versions as JSON can still be read.
  */
 @Converter(autoApply = true)
-public class BoardConverter implements AttributeConverter<Board, String> {
+public class BoardConverter implements AttributeConverter<Board, byte[]> {
 
     private final static ObjectMapper objectMapper = new ObjectMapper();
 
     /**
-     * Converts the Board object into a JSON string for database storage.
+     * Converts the Board object into its binary form for database storage.
      * @param board The Board object to convert.
-     * @return A JSON string representation of the board.
+     * @return The encoded board.
      */
     @Override
-    public String convertToDatabaseColumn(Board board) {
-        try {
-            return objectMapper.writeValueAsString(board);
-        } catch (JsonProcessingException ex) {
-            // In a real application, you'd want more robust error handling.
-            throw new RuntimeException("Error converting Board to JSON", ex);
-        }
+    public byte[] convertToDatabaseColumn(Board board) {
+        return board == null ? null : BoardCodec.encode(board);
     }
 
     /**
-     * Converts the JSON string from the database back into a Board object.
-     * @param dbData The JSON string from the database.
+     * Converts the stored bytes back into a Board object.
+     * Bytes starting with '{' are a legacy JSON board (e.g. copied over from the old text column).
+     * @param dbData The bytes from the database.
      * @return A Board object.
      */
     @Override
-    public Board convertToEntityAttribute(String dbData) {
-        if (dbData == null || dbData.isEmpty()) {
+    public Board convertToEntityAttribute(byte[] dbData) {
+        if (dbData == null || dbData.length == 0) {
             return null;
         }
+        if (dbData[0] == '{') {
+            return fromJson(new String(dbData, StandardCharsets.UTF_8));
+        }
+        return BoardCodec.decode(dbData);
+    }
+
+    /**
+     * Reads a board stored in the legacy JSON format.
+     * @param json The JSON string.
+     * @return A Board object.
+     */
+    public static Board fromJson(String json) {
         try {
-            return objectMapper.readValue(dbData, Board.class);
+            return objectMapper.readValue(json, Board.class);
         } catch (IOException ex) {
             throw new RuntimeException("Error converting JSON to Board", ex);
         }
     }
 }
-
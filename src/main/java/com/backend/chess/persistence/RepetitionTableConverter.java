@@ -0,0 +1,40 @@
+package com.backend.chess.persistence;
+
+import com.backend.chess.bitboard.RepetitionTable;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A JPA AttributeConverter to store a game's {@link RepetitionTable} as its position keys,
+ * 8 bytes each in the order they occurred.
+ */
+@Converter(autoApply = true)
+public class RepetitionTableConverter implements AttributeConverter<RepetitionTable, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(RepetitionTable table) {
+        if (table == null) {
+            return null;
+        }
+        long[] keys = table.toArray();
+        ByteBuffer buffer = ByteBuffer.allocate(keys.length * Long.BYTES);
+        buffer.asLongBuffer().put(keys);
+        return buffer.array();
+    }
+
+    /**
+     * Converts the stored keys back into a table. Games stored before repetitions were
+     * tracked have no keys; they start counting from their current position.
+     */
+    @Override
+    public RepetitionTable convertToEntityAttribute(byte[] dbData) {
+        if (dbData == null || dbData.length == 0) {
+            return null;
+        }
+        long[] keys = new long[dbData.length / Long.BYTES];
+        ByteBuffer.wrap(dbData).asLongBuffer().get(keys);
+        return RepetitionTable.of(keys);
+    }
+}
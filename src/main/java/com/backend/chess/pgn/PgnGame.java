@@ -0,0 +1,14 @@
+package com.backend.chess.pgn;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One game read from PGN text.
+ *
+ * @param tags The tag pairs (e.g. Event, White, Result, FEN), in the order they appeared.
+ * @param moves The moves of the main line in SAN, without move numbers, comments or variations.
+ * @param result The game termination marker ("1-0", "0-1", "1/2-1/2" or "*").
+ */
+public record PgnGame(Map<String, String> tags, List<String> moves, String result) {
+}
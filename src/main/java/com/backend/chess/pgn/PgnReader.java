@@ -0,0 +1,207 @@
+package com.backend.chess.pgn;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads games one at a time from PGN text of any size.
+ * <p>
+ * The text is scanned character by character and only the game being read is held in
+ * memory, so an archive of millions of games is read with the same memory as a single
+ * one. Comments, variations, numeric annotation glyphs and escape lines are skipped; only
+ * tags and the main line are kept. Wrap the source in a buffered reader.
+ */
+public final class PgnReader implements Closeable {
+    private static final int MAX_TOKEN_LENGTH = 256;
+
+    private final Reader in;
+    private int pushedBack = -1;
+    private boolean lineStart = true;
+
+    public PgnReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Reads the next game.
+     *
+     * @return The game, or null at the end of the input.
+     * @throws IOException if reading fails or the text is not PGN.
+     */
+    public PgnGame next() throws IOException {
+        Map<String, String> tags = new LinkedHashMap<>();
+        List<String> moves = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        while (true) {
+            boolean firstColumn = lineStart;
+            int c = read();
+            if (c == -1) {
+                break;
+            }
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            if (c == '%' && firstColumn) {
+                skipUntil('\n'); // Escape line
+                continue;
+            }
+            switch (c) {
+                case '[':
+                    if (!moves.isEmpty()) {
+                        // A new game's tags after movetext without a result
+                        pushBack(c);
+                        return new PgnGame(tags, moves, "*");
+                    }
+                    readTag(tags);
+                    break;
+                case '{':
+                    skipUntil('}');
+                    break;
+                case ';':
+                    skipUntil('\n');
+                    break;
+                case '(':
+                    skipVariation();
+                    break;
+                default:
+                    token.setLength(0);
+                    token.append((char) c);
+                    readToken(token);
+                    String text = token.toString();
+                    if (isResult(text)) {
+                        return new PgnGame(tags, moves, text);
+                    }
+                    String move = stripAnnotation(stripMoveNumber(text));
+                    // Skips NAGs ("$1") and stand-alone annotations ("!?")
+                    if (!move.isEmpty() && (Character.isLetter(move.charAt(0)) || move.charAt(0) == '0')) {
+                        moves.add(move);
+                    }
+            }
+        }
+        return tags.isEmpty() && moves.isEmpty() ? null : new PgnGame(tags, moves, "*");
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // --- Private helpers ---
+
+    private int read() throws IOException {
+        int c;
+        if (pushedBack >= 0) {
+            c = pushedBack;
+            pushedBack = -1;
+        } else {
+            c = in.read();
+        }
+        lineStart = c == '\n';
+        return c;
+    }
+
+    private void pushBack(int c) {
+        pushedBack = c;
+    }
+
+    // Reads [Name "value"], with \" and \\ escapes in the value
+    private void readTag(Map<String, String> tags) throws IOException {
+        StringBuilder name = new StringBuilder();
+        StringBuilder value = new StringBuilder();
+        int c;
+        while ((c = read()) != -1 && c != '"' && c != ']') {
+            if (!Character.isWhitespace(c)) {
+                name.append((char) c);
+            }
+        }
+        if (c == '"') {
+            while ((c = read()) != -1 && c != '"') {
+                if (c == '\\') {
+                    c = read();
+                }
+                value.append((char) c);
+                checkLength(value);
+            }
+            skipUntil(']');
+        }
+        if (c == -1) {
+            throw new IOException("Unterminated tag " + name);
+        }
+        tags.put(name.toString(), value.toString());
+    }
+
+    private void readToken(StringBuilder token) throws IOException {
+        int c;
+        while ((c = read()) != -1) {
+            if (Character.isWhitespace(c) || c == '{' || c == '(' || c == '[' || c == ';' || c == ')') {
+                pushBack(c);
+                return;
+            }
+            token.append((char) c);
+            checkLength(token);
+        }
+    }
+
+    // Skips a variation, including nested variations and comments containing parentheses
+    private void skipVariation() throws IOException {
+        int depth = 1;
+        int c;
+        while (depth > 0 && (c = read()) != -1) {
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '{') {
+                skipUntil('}');
+            } else if (c == ';') {
+                skipUntil('\n');
+            }
+        }
+    }
+
+    private void skipUntil(int end) throws IOException {
+        int c;
+        while ((c = read()) != -1 && c != end) {
+            // Skip
+        }
+    }
+
+    private static void checkLength(StringBuilder text) throws IOException {
+        if (text.length() > MAX_TOKEN_LENGTH) {
+            throw new IOException("Not PGN: token too long near '" + text.substring(0, 32) + "'");
+        }
+    }
+
+    private static boolean isResult(String token) {
+        return token.equals("1-0") || token.equals("0-1") || token.equals("1/2-1/2") || token.equals("*");
+    }
+
+    // "Bb5!?" to "Bb5"; check and mate signs are kept
+    private static String stripAnnotation(String move) {
+        int end = move.length();
+        while (end > 0 && (move.charAt(end - 1) == '!' || move.charAt(end - 1) == '?')) {
+            end--;
+        }
+        return move.substring(0, end);
+    }
+
+    // "12." or "12..." alone, or written together with the move as in "12.Nf3"
+    private static String stripMoveNumber(String token) {
+        int i = 0;
+        while (i < token.length() && Character.isDigit(token.charAt(i))) {
+            i++;
+        }
+        if (i == 0 || i == token.length() || token.charAt(i) != '.') {
+            return i == token.length() ? "" : token;
+        }
+        while (i < token.length() && token.charAt(i) == '.') {
+            i++;
+        }
+        return token.substring(i);
+    }
+}
@@ -0,0 +1,78 @@
+package com.backend.chess.pgn;
+
+import com.backend.chess.bitboard.Fen;
+import com.backend.chess.bitboard.Pieces;
+import com.backend.chess.bitboard.Position;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Writes games as PGN text, one after another, in export format: tags first, then
+ * movetext with move numbers, lines wrapped before 80 characters, and a blank line
+ * after each game.
+ */
+public final class PgnWriter {
+    private static final int LINE_LENGTH = 79;
+
+    private final Writer out;
+
+    public PgnWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes one game. Move numbers start from the game's FEN tag, if it has one.
+     */
+    public void write(PgnGame game) throws IOException {
+        for (Map.Entry<String, String> tag : game.tags().entrySet()) {
+            out.write('[');
+            out.write(tag.getKey());
+            out.write(" \"");
+            out.write(tag.getValue().replace("\\", "\\\\").replace("\"", "\\\""));
+            out.write("\"]\n");
+        }
+        out.write('\n');
+
+        String fen = game.tags().get("FEN");
+        Position start = fen != null ? Fen.parse(fen) : Position.initial();
+        int moveNumber = start.fullmoveNumber();
+        boolean white = start.sideToMove() == Pieces.WHITE;
+
+        StringBuilder line = new StringBuilder(LINE_LENGTH + 16);
+        boolean first = true;
+        for (String move : game.moves()) {
+            if (white) {
+                append(line, moveNumber + ". " + move);
+            } else {
+                append(line, first ? moveNumber + "... " + move : move);
+                moveNumber++;
+            }
+            white = !white;
+            first = false;
+        }
+        append(line, game.result());
+        out.write(line.toString());
+        out.write("\n\n");
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    // --- Private helpers ---
+
+    // Adds a token to the current line, first writing the line out if the token would not fit
+    private void append(StringBuilder line, String token) throws IOException {
+        if (!line.isEmpty() && line.length() + 1 + token.length() > LINE_LENGTH) {
+            out.write(line.toString());
+            out.write('\n');
+            line.setLength(0);
+        }
+        if (!line.isEmpty()) {
+            line.append(' ');
+        }
+        line.append(token);
+    }
+}
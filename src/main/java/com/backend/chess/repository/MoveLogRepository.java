@@ -0,0 +1,26 @@
+package com.backend.chess.repository;
+
+import com.backend.chess.model.MoveLogEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MoveLogRepository extends JpaRepository<MoveLogEntry, Long> {
+    /**
+     * Finds the logged moves of a game, in the order they were played.
+     */
+    List<MoveLogEntry> findByGameIdOrderByPlyAsc(String gameId);
+
+    /**
+     * Finds a game's logged moves after a given ply, in the order they were played.
+     */
+    List<MoveLogEntry> findByGameIdAndPlyGreaterThanOrderByPlyAsc(String gameId, int ply);
+
+    /**
+     * Finds one page of a game's logged moves after a given ply, in the order they were played.
+     */
+    List<MoveLogEntry> findByGameIdAndPlyGreaterThanOrderByPlyAsc(String gameId, int ply, Pageable pageable);
+}
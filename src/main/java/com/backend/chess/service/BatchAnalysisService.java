@@ -0,0 +1,136 @@
+package com.backend.chess.service;
+
+import com.backend.chess.analysis.AnalysisResult;
+import com.backend.chess.dto.PositionAnalysis;
+import com.backend.chess.model.Board;
+import com.backend.chess.model.GameStatus;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Iterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+
+/**
+ * Analyzes batches of positions given in FEN, in parallel on its own fork-join pool.
+ * <p>
+ * Positions are read from the batch only as fast as the pool gets through them: at most a
+ * few positions per thread are in flight, so a batch of any length is analyzed in constant
+ * memory. Each result is encoded on the pool too (serializing an analysis costs more than
+ * computing it), then handed to the caller's sink as it finishes, on the calling thread.
+ * Results share the analysis cache with games.
+ */
+@Service
+public class BatchAnalysisService {
+    // Positions queued per pool thread, enough to keep every thread busy
+    private static final int IN_FLIGHT_PER_THREAD = 4;
+
+    private final AnalysisService analysisService;
+    private final ForkJoinPool pool;
+    private final int maxInFlight;
+
+    /**
+     * Receives the encoded results of a batch, one at a time, on the thread that runs the batch.
+     */
+    public interface ResultSink<T> {
+        void accept(T result) throws IOException;
+
+        /**
+         * Called when no finished result is waiting, before blocking for the next one.
+         */
+        default void flush() throws IOException {
+        }
+    }
+
+    @Autowired
+    public BatchAnalysisService(AnalysisService analysisService,
+                                @Value("${chess.analysis.batch.threads:0}") int threads) {
+        this.analysisService = analysisService;
+        this.pool = new ForkJoinPool(threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        this.maxInFlight = pool.getParallelism() * IN_FLIGHT_PER_THREAD;
+    }
+
+    /**
+     * Analyzes every position in a batch. Blank entries are skipped; an invalid FEN gives a
+     * result with an error instead of ending the batch.
+     *
+     * @param fens The positions in FEN; read lazily, on the calling thread.
+     * @param encoder Encodes each result, on the pool thread that analyzed it.
+     * @param sink Receives one encoded result per position, in the order they finish.
+     * @return The number of positions analyzed.
+     * @throws IOException if the sink fails, which ends the batch.
+     * @throws RuntimeException thrown by the encoder, which also ends the batch.
+     */
+    public <T> long analyze(Iterator<String> fens, Function<PositionAnalysis, T> encoder, ResultSink<T> sink)
+            throws IOException {
+        BlockingQueue<Outcome<T>> finished = new LinkedBlockingQueue<>();
+        long submitted = 0;
+        int inFlight = 0;
+        try {
+            while (true) {
+                while (inFlight < maxInFlight && fens.hasNext()) {
+                    String fen = fens.next();
+                    if (fen == null || fen.isBlank()) {
+                        continue;
+                    }
+                    long index = submitted++;
+                    pool.execute(() -> finished.add(encode(encoder, analyzeOne(index, fen.trim()))));
+                    inFlight++;
+                }
+                if (inFlight == 0) {
+                    return submitted;
+                }
+                Outcome<T> outcome = finished.poll();
+                if (outcome == null) {
+                    sink.flush();
+                    outcome = finished.take();
+                }
+                inFlight--;
+                if (outcome.failure() != null) {
+                    throw outcome.failure();
+                }
+                sink.accept(outcome.value());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Batch analysis interrupted after " + submitted + " positions");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    // --- Private helpers ---
+
+    // An encoded result, or why encoding failed
+    private record Outcome<T>(T value, RuntimeException failure) {
+    }
+
+    // Never throws: the batch waits for one result per submitted position
+    private PositionAnalysis analyzeOne(long index, String fen) {
+        try {
+            Board board = Board.fromFen(fen);
+            GameStatus status = GameStatus.of(board.getPosition());
+            AnalysisResult analysis = analysisService.analyzeBoard(board);
+            return new PositionAnalysis(index, fen, status, analysis, null);
+        } catch (RuntimeException ex) {
+            return new PositionAnalysis(index, fen, null, null, ex.getMessage());
+        }
+    }
+
+    private static <T> Outcome<T> encode(Function<PositionAnalysis, T> encoder, PositionAnalysis result) {
+        try {
+            return new Outcome<>(encoder.apply(result), null);
+        } catch (RuntimeException ex) {
+            return new Outcome<>(null, ex);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.backend.chess.service;
+
+import com.backend.chess.dto.GameDeltaDTO;
+import com.backend.chess.dto.MoveDto;
+import com.backend.chess.engine.SearchLimits;
+import com.backend.chess.engine.SearchResult;
+import com.backend.chess.messaging.GameBroadcaster;
+import com.backend.chess.messaging.GameRouter;
+import com.backend.chess.model.Board;
+import com.backend.chess.model.Game;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Plays the computer's side of "play vs computer" games.
+ * <p>
+ * Searches are CPU bound, so they run on a pool with one platform thread per core rather
+ * than on the game lanes, which would hold up other games sharing the lane. The chosen move
+ * then goes through {@link GameService#submitMove} like a player's move and its delta is
+ * broadcast the same way. Only the node that owns a game plays in it (see {@link GameRouter});
+ * other nodes pass the request on to the owner.
+ */
+@Service
+public class ComputerPlayer {
+    private static final Logger log = LoggerFactory.getLogger(ComputerPlayer.class);
+
+    private final GameService gameService;
+    private final GameBroadcaster gameBroadcaster;
+    private final GameRouter gameRouter;
+    private final SearchLimits moveLimits;
+    private final ExecutorService searchPool;
+
+    @Autowired
+    public ComputerPlayer(GameService gameService, GameBroadcaster gameBroadcaster, GameRouter gameRouter,
+                          @Value("${chess.engine.computer-move-time-ms:100}") long moveTimeMs) {
+        this.gameService = gameService;
+        this.gameBroadcaster = gameBroadcaster;
+        this.gameRouter = gameRouter;
+        this.moveLimits = SearchLimits.ofTime(moveTimeMs);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.searchPool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), task -> {
+            Thread thread = new Thread(task, "computer-player-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Makes the computer's move if it is the computer's turn in the game.
+     *
+     * @param gameId The ID of the game.
+     * @return A future completed with the computer's move, or with null if it was not its turn
+     *         or another node owns the game.
+     */
+    public CompletableFuture<GameDeltaDTO> playIfComputerToMove(String gameId) {
+        if (!gameRouter.isLocal(gameId)) {
+            return gameRouter.forwardComputerMove(gameId).thenApply(done -> null);
+        }
+        if (!isComputerToMove(gameService.getGame(gameId))) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.supplyAsync(() -> gameService.getBestMove(gameId, moveLimits, 1), searchPool)
+                .thenCompose(result -> {
+                    // Skip the move if the position changed turns while searching
+                    if (result.bestMove() == null || !isComputerToMove(gameService.getGame(gameId))) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    return gameService.submitMove(gameId, toMoveDto(result), gameBroadcaster::publish);
+                })
+                .whenComplete((delta, error) -> {
+                    if (error != null) {
+                        log.warn("Computer move failed in game {}", gameId, error);
+                    }
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        searchPool.shutdownNow();
+    }
+
+    // --- Private helpers ---
+
+    private static boolean isComputerToMove(Game game) {
+        game.getLock().lock();
+        try {
+            return game.getComputerColor() != null
+                    && game.getComputerColor() == game.getCurrentPlayer()
+                    && !game.getStatus().isFinished();
+        } finally {
+            game.getLock().unlock();
+        }
+    }
+
+    private static MoveDto toMoveDto(SearchResult result) {
+        String uci = result.bestMove();
+        MoveDto moveDTO = new MoveDto();
+        moveDTO.setFrom(uci.substring(0, 2));
+        moveDTO.setTo(uci.substring(2, 4));
+        if (uci.length() > 4) {
+            moveDTO.setPromotion(Board.toPieceType("pnbrqk".indexOf(uci.charAt(4))));
+        }
+        return moveDTO;
+    }
+}
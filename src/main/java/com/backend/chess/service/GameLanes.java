@@ -0,0 +1,85 @@
+package com.backend.chess.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs work for a game on that game's lane: one of a fixed set of single-threaded
+ * executors, picked by the game ID. Everything submitted for a game runs in submission
+ * order and never concurrently, so moves cannot race each other, while games on
+ * different lanes run in parallel.
+ * <p>
+ * Lanes also block on the move log insert, so the default is two lanes per core. When
+ * virtual threads are enabled ({@code spring.threads.virtual.enabled}), each lane runs on a
+ * virtual thread that releases its carrier while it blocks, and the default becomes
+ * {@value #VIRTUAL_LANES} lanes so games rarely have to queue behind each other.
+ */
+@Component
+public class GameLanes {
+    private static final int VIRTUAL_LANES = 1024;
+
+    private final ExecutorService[] lanes;
+
+    public GameLanes(@Value("${chess.lanes.count:0}") int laneCount,
+                     @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        int count = laneCount > 0 ? laneCount
+                : virtualThreads ? VIRTUAL_LANES : 2 * Runtime.getRuntime().availableProcessors();
+        this.lanes = new ExecutorService[count];
+        ThreadFactory virtualThreadFactory = virtualThreads
+                ? new VirtualThreadTaskExecutor("game-lane-").getVirtualThreadFactory() : null;
+        for (int i = 0; i < count; i++) {
+            if (virtualThreadFactory != null) {
+                lanes[i] = Executors.newSingleThreadExecutor(virtualThreadFactory);
+                continue;
+            }
+            String name = "game-lane-" + i;
+            lanes[i] = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Queues a task on the game's lane.
+     *
+     * @param gameId The ID of the game the task works on.
+     * @param task The task.
+     * @return A future completed with the task's result, or exceptionally with what it threw.
+     */
+    public <T> CompletableFuture<T> submit(String gameId, Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, laneFor(gameId));
+    }
+
+    public int laneCount() {
+        return lanes.length;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        for (ExecutorService lane : lanes) {
+            lane.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    // --- Private helpers ---
+
+    private ExecutorService laneFor(String gameId) {
+        int hash = gameId.hashCode();
+        hash ^= hash >>> 16; // Spread the high bits, as HashMap does
+        return lanes[Math.floorMod(hash, lanes.length)];
+    }
+}
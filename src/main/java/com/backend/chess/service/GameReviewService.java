@@ -0,0 +1,89 @@
+package com.backend.chess.service;
+
+import com.backend.chess.analysis.TerritoryTracker;
+import com.backend.chess.bitboard.MoveGenerator;
+import com.backend.chess.bitboard.PackedMove;
+import com.backend.chess.bitboard.Position;
+import com.backend.chess.bitboard.San;
+import com.backend.chess.dto.PlyAnalysis;
+import com.backend.chess.model.Game;
+import com.backend.chess.model.GameStatus;
+import com.backend.chess.model.MoveLogEntry;
+import com.backend.chess.repository.GameRepository;
+import com.backend.chess.repository.MoveLogRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Analyzes every position of a game, for post-game review.
+ * <p>
+ * The game is replayed from its move log on a copy of its starting position, so games
+ * still being played can be reviewed without touching the live game, from any node. The
+ * replay keeps one {@link TerritoryTracker} up to date move by move, as a live game does,
+ * so each ply only recomputes the pieces its move affected; positions already in the
+ * analysis cache are not analyzed again.
+ */
+@Service
+public class GameReviewService {
+    private final GameRepository gameRepository;
+    private final MoveLogRepository moveLogRepository;
+    private final AnalysisService analysisService;
+
+    @Autowired
+    public GameReviewService(GameRepository gameRepository, MoveLogRepository moveLogRepository,
+                             AnalysisService analysisService) {
+        this.gameRepository = gameRepository;
+        this.moveLogRepository = moveLogRepository;
+        this.analysisService = analysisService;
+    }
+
+    /**
+     * Replays a game, analyzing the starting position and the position after every move.
+     * The move log is read up front; each ply is analyzed only when the iterator reaches
+     * it, so results can be sent on while the rest are computed.
+     *
+     * @param gameId The ID of the game.
+     * @return The analyses, from ply 0 to the last move logged.
+     * @throws IllegalArgumentException if no game is found with the given ID.
+     */
+    public Iterator<PlyAnalysis> reviewGame(String gameId) {
+        Game stored = gameRepository.findById(gameId)
+                .orElseThrow(() -> new IllegalArgumentException("Game not found with ID: " + gameId));
+        List<MoveLogEntry> entries = moveLogRepository.findByGameIdOrderByPlyAsc(gameId);
+
+        Game game = stored.getStartFen() != null ? Game.fromFen(stored.getStartFen()) : new Game();
+        Position position = game.getBoard().getPosition();
+        game.setTerritoryTracker(new TerritoryTracker(position));
+        int[] buffer = new int[MoveGenerator.MAX_MOVES];
+
+        return new Iterator<>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next <= entries.size();
+            }
+
+            @Override
+            public PlyAnalysis next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                String uci = null;
+                String san = null;
+                if (next > 0) {
+                    int move = entries.get(next - 1).getPackedMove();
+                    uci = PackedMove.toUci(move);
+                    san = San.toSan(position, move, buffer);
+                    game.applyMove(move);
+                }
+                GameStatus status = GameStatus.of(position, game.getRepetitionCount());
+                return new PlyAnalysis(next++, uci, san, game.getFen(), status, analysisService.analyzeGame(game));
+            }
+        };
+    }
+}
@@ -1,128 +1,328 @@
 package com.backend.chess.service;
 
 import com.backend.chess.analysis.AnalysisResult;
-import com.backend.chess.analysis.Territory;
+import com.backend.chess.bitboard.Bitboards;
+import com.backend.chess.bitboard.MoveGenerator;
+import com.backend.chess.bitboard.PackedMove;
+import com.backend.chess.bitboard.Pieces;
+import com.backend.chess.bitboard.Position;
+import com.backend.chess.bitboard.RepetitionTable;
+import com.backend.chess.dto.GameDeltaDTO;
 import com.backend.chess.dto.GameStateDTO;
 import com.backend.chess.dto.MoveDto;
+import com.backend.chess.engine.SearchEngine;
+import com.backend.chess.engine.SearchLimits;
+import com.backend.chess.engine.SearchResult;
 import com.backend.chess.model.*;
-import com.backend.chess.repository.GameRepository;
+import com.backend.chess.persistence.ActiveGameStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
 @Service
 public class GameService {
+    private static final Logger log = LoggerFactory.getLogger(GameService.class);
+
+    // Reusable per-thread buffer for legal move generation
+    private static final ThreadLocal<int[]> MOVE_BUFFER = ThreadLocal.withInitial(() -> new int[MoveGenerator.MAX_MOVES]);
 
-    private final GameRepository gameRepository;
+    private static final int MAX_MOVES_PAGE = 500;
+
+    private final ActiveGameStore activeGameStore;
     private final AnalysisService analysisService;
+    private final GameLanes gameLanes;
+    private final SearchEngine searchEngine;
+
+    // Move timings: queued on the lane, each stage of makeMove, and the whole move by outcome
+    private final Timer queueTimer;
+    private final Timer loadTimer;
+    private final Timer legalityTimer;
+    private final Timer previousAnalysisTimer;
+    private final Timer logTimer;
+    private final Timer applyTimer;
+    private final Timer saveTimer;
+    private final Timer analyzeTimer;
+    private final Timer dtoTimer;
+    private final Timer moveTimer;
+    private final Timer illegalMoveTimer;
+    private final Counter illegalMoves;
 
     @Autowired
-    public GameService(GameRepository gameRepository, AnalysisService analysisService) {
-        this.gameRepository = gameRepository;
+    public GameService(ActiveGameStore activeGameStore, AnalysisService analysisService, GameLanes gameLanes,
+                       SearchEngine searchEngine, MeterRegistry meterRegistry) {
+        this.activeGameStore = activeGameStore;
         this.analysisService = analysisService;
+        this.gameLanes = gameLanes;
+        this.searchEngine = searchEngine;
+        this.queueTimer = histogram(Timer.builder("chess.move.queue")
+                .description("Time moves wait on their game's lane"), meterRegistry);
+        this.loadTimer = stageTimer("load", meterRegistry);
+        this.legalityTimer = stageTimer("legality", meterRegistry);
+        this.previousAnalysisTimer = stageTimer("previous-analysis", meterRegistry);
+        this.logTimer = stageTimer("log", meterRegistry);
+        this.applyTimer = stageTimer("apply", meterRegistry);
+        this.saveTimer = stageTimer("save", meterRegistry);
+        this.analyzeTimer = stageTimer("analyze", meterRegistry);
+        this.dtoTimer = stageTimer("dto", meterRegistry);
+        this.moveTimer = histogram(Timer.builder("chess.move").tag("outcome", "ok"), meterRegistry);
+        this.illegalMoveTimer = histogram(Timer.builder("chess.move").tag("outcome", "illegal"), meterRegistry);
+        this.illegalMoves = Counter.builder("chess.move.illegal")
+                .description("Moves rejected as illegal")
+                .register(meterRegistry);
     }
 
     /**
      * Creates a new game, saves it to the database, and returns it.
      * @return The newly created Game object.
      */
-    @Transactional
     public Game createNewGame() {
         Game game = new Game();
-        return gameRepository.save(game);
+        return activeGameStore.add(game);
+    }
+
+    /**
+     * Creates a new game against the computer.
+     * @param computerColor The side played by the search engine, or null for a game between two players.
+     * @return The newly created Game object.
+     */
+    public Game createNewGame(PlayerColor computerColor) {
+        return createNewGame(computerColor, null);
     }
 
     /**
-     * Retrieves a game by its ID.
+     * Creates a new game starting from the given position.
+     * @param computerColor The side played by the search engine, or null for a game between two players.
+     * @param fen The starting position in FEN, or null for the standard starting position.
+     * @return The newly created Game object.
+     * @throws IllegalArgumentException if the FEN is malformed or not a legal position.
+     */
+    public Game createNewGame(PlayerColor computerColor, String fen) {
+        Game game = fen != null ? Game.fromFen(fen) : new Game();
+        game.setComputerColor(computerColor);
+        return activeGameStore.add(game);
+    }
+
+    /**
+     * Retrieves a game by its ID from the active game store.
      * @param gameId The ID of the game to find.
      * @return The found Game object.
      * @throws IllegalArgumentException if no game is found with the given ID.
      */
     public Game getGame(String gameId) {
-        return gameRepository.findById(gameId)
-                .orElseThrow(() -> new IllegalArgumentException("Game not found with ID: " + gameId));
+        return activeGameStore.get(gameId);
+    }
+
+    /**
+     * Reads one page of a game's move history, without loading the game itself.
+     * @param gameId The ID of the game.
+     * @param afterPly The ply to start after (0 for the first move).
+     * @param limit The maximum number of moves to return, capped at {@value #MAX_MOVES_PAGE}.
+     * @return The moves in UCI coordinate notation.
+     */
+    public List<String> getMoves(String gameId, int afterPly, int limit) {
+        return activeGameStore.getMoves(gameId, Math.max(afterPly, 0), Math.min(Math.max(limit, 1), MAX_MOVES_PAGE));
+    }
+
+    /**
+     * Searches for the best move in a game's current position. The search runs on a copy of
+     * the position, so moves can still be made while it is running, and knows the game's
+     * earlier positions, so it scores going back to one of them as a draw.
+     * @param gameId The ID of the game.
+     * @param limits When to stop searching.
+     * @param threads The number of threads to search with (see {@link SearchEngine}).
+     * @return The best move found, with its score and principal variation.
+     */
+    public SearchResult getBestMove(String gameId, SearchLimits limits, int threads) {
+        Game game = getGame(gameId);
+        Position position;
+        RepetitionTable history;
+        game.getLock().lock();
+        try {
+            position = game.getBoard().getPosition().copy();
+            history = game.copyRepetitions();
+        } finally {
+            game.getLock().unlock();
+        }
+        return searchEngine.search(position, history, limits, threads);
+    }
+
+    /**
+     * Builds the current state of a game, including its analysis.
+     * @param gameId The ID of the game.
+     * @return The GameStateDTO for the game's current position.
+     */
+    public GameStateDTO getGameState(String gameId) {
+        Game game = getGame(gameId);
+        game.getLock().lock();
+        try {
+            return GameStateDTO.of(game, analysisService.analyzeGame(game));
+        } finally {
+            game.getLock().unlock();
+        }
     }
 
     /**
      * Processes a player's move.
-     * This involves validating the move, updating the game state, saving it,
-     * running the analysis, and returning the new state.
+     * This involves validating the move, logging it, updating the in-memory game state,
+     * running the analysis, and returning what changed. The game snapshot itself is
+     * written to the database behind the scenes by the {@link ActiveGameStore}.
      *
      * @param gameId The ID of the game where the move is being made.
      * @param moveDTO The move data from the client.
-     * @return A GameStateDTO representing the new state of the game after the move.
+     * @return A GameDeltaDTO describing the changes the move made to the game.
      */
-    @Transactional
-    public GameStateDTO makeMove(String gameId, MoveDto moveDTO) {
+    public GameDeltaDTO makeMove(String gameId, MoveDto moveDTO) {
+        long start = System.nanoTime();
         Game game = getGame(gameId);
+        game.getLock().lock();
+        try {
+            return makeMove(game, moveDTO, lap(loadTimer, start), start);
+        } finally {
+            game.getLock().unlock();
+        }
+    }
+
+    /**
+     * Queues a player's move on the game's lane (see {@link GameLanes}). Moves for the same
+     * game are processed one at a time in the order they arrive; the game's lock is then
+     * only contended by state reads and snapshot flushes.
+     *
+     * @param gameId The ID of the game where the move is being made.
+     * @param moveDTO The move data from the client.
+     * @return A future completed with the move's delta, or exceptionally if the move is illegal.
+     */
+    public CompletableFuture<GameDeltaDTO> submitMove(String gameId, MoveDto moveDTO) {
+        return submitMove(gameId, moveDTO, delta -> {
+        });
+    }
+
+    /**
+     * Queues a player's move on the game's lane, and hands its delta to a publisher on the lane
+     * as well, before the game's next move is processed. Deltas therefore reach the publisher
+     * in the order the moves were made, which completing the returned future does not ensure:
+     * its callbacks may run on whichever thread completes or observes it.
+     *
+     * @param gameId The ID of the game where the move is being made.
+     * @param moveDTO The move data from the client.
+     * @param publisher Receives the move's delta, e.g. to broadcast it; not called for illegal moves.
+     * @return A future completed with the move's delta, or exceptionally if the move is illegal.
+     */
+    public CompletableFuture<GameDeltaDTO> submitMove(String gameId, MoveDto moveDTO, Consumer<GameDeltaDTO> publisher) {
+        long queuedAt = System.nanoTime();
+        return gameLanes.submit(gameId, () -> {
+            lap(queueTimer, queuedAt);
+            GameDeltaDTO delta = makeMove(gameId, moveDTO);
+            try {
+                publisher.accept(delta);
+            } catch (RuntimeException ex) {
+                // The move stands either way; subscribers resync from the next delta's seq
+                log.warn("Failed to publish move {} of game {}", delta.seq(), gameId, ex);
+            }
+            return delta;
+        });
+    }
+
+    private GameDeltaDTO makeMove(Game game, MoveDto moveDTO, long stageStart, long moveStart) {
+        // A drawn game still has legal moves, so finished games are turned away first
+        if (game.getStatus().isFinished()) {
+            illegalMoves.increment();
+            lap(illegalMoveTimer, moveStart);
+            throw new IllegalArgumentException("Game is over: " + game.getStatus());
+        }
         Move move = convertDtoToMove(moveDTO);
-        if (!isMoveLegal(game, move)) {
+        int packedMove = findLegalMove(game, move);
+        if (packedMove == PackedMove.NONE) {
+            illegalMoves.increment();
+            lap(illegalMoveTimer, moveStart);
             // If the move is illegal, we throw an exception.
             // In a real application, we might send a specific error message back to the player.
             throw new IllegalArgumentException("Illegal move: " + moveDTO.getFrom() + " to " + moveDTO.getTo());
         }
+        stageStart = lap(legalityTimer, stageStart);
 
+        // Usually still cached from the previous move; the delta only carries what changed since
+        AnalysisResult previousAnalysis = analysisService.analyzeGame(game);
+        stageStart = lap(previousAnalysisTimer, stageStart);
 
-        // TODO: Add full validation logic here.
-        // - Check if it's the correct player's turn.
-        // - Check if the move is pseudo-legal for the piece.
-        // - Check if the move would leave the player's own king in check.
-
-        // Convert DTO to domain objects
-        String moveNotation = moveDTO.getFrom() + moveDTO.getTo();
+        // Log the move durably first, then apply it to the in-memory game state
+        activeGameStore.logMove(game, packedMove);
+        stageStart = lap(logTimer, stageStart);
+        game.applyMove(packedMove);
+        updateGameStatus(game);
+        stageStart = lap(applyTimer, stageStart);
 
-        // Apply the move to the game state
-        game.applyMove(move);
-        game.addMoveToHistory(moveNotation);
-
-        // TODO: Update game status (check, checkmate, stalemate) based on the new position.
-
-        // Save the updated game state to the database
-        Game updatedGame = gameRepository.save(game);
+        // The snapshot is written behind; finished games are written right away
+        if (!game.getStatus().isFinished()) {
+            activeGameStore.markDirty(game);
+        } else {
+            activeGameStore.flush(game);
+        }
+        stageStart = lap(saveTimer, stageStart);
 
         // Run the analysis on the new board state
-        AnalysisResult analysisResult = analysisService.analyzeBoard(updatedGame.getBoard());
-
-        // Create and return the DTO for the new game state
-        return new GameStateDTO(
-                updatedGame.getId(),
-                updatedGame.getBoard().getSquares(),
-                updatedGame.getCurrentPlayer(),
-                updatedGame.getStatus(),
-                updatedGame.getMoveHistory(),
-                analysisResult
-        );
+        AnalysisResult analysisResult = analysisService.analyzeGame(game);
+        stageStart = lap(analyzeTimer, stageStart);
+
+        // Create and return the DTO for what the move changed
+        GameDeltaDTO delta = GameDeltaDTO.of(game, packedMove, previousAnalysis, analysisResult);
+        lap(dtoTimer, stageStart);
+        lap(moveTimer, moveStart);
+        return delta;
     }
+
     /**
-     * Checks if a move is legal in the context of the current game.
+     * Finds the legal move in the game's current position that matches the requested move.
+     * The generator already covers turn order, piece movement rules, castling, en passant,
+     * promotion and king safety, so no board copy or analysis is needed.
+     * A pawn reaching the last rank without a requested promotion piece promotes to a queen.
+     *
+     * @return The packed move (see {@link PackedMove}), or {@link PackedMove#NONE} if it is illegal.
      */
-    private boolean isMoveLegal(Game game, Move move) {
-        Piece pieceToMove = game.getBoard().getPieceAt(move.from());
-
-        // 1. Basic checks: Is there a piece? Is it the correct player's turn?
-        if (pieceToMove == null || pieceToMove.color() != game.getCurrentPlayer()) {
-            return false;
+    private int findLegalMove(Game game, Move move) {
+        if (move.from().isOutOfBounds() || move.to().isOutOfBounds()) {
+            return PackedMove.NONE;
         }
+        Position position = game.getBoard().getPosition();
+        int from = Bitboards.square(move.from().x(), move.from().y());
+        int to = Bitboards.square(move.to().x(), move.to().y());
 
-        // TODO: Add pseudo-legal move checks (e.g., is this a valid knight move?)
-        // For now, we assume the client sends valid-looking moves.
+        int promotionType = Pieces.NONE;
+        if (move.promotion() != null) {
+            promotionType = Board.toTypeCode(move.promotion());
+        } else if (position.pieceAt(from) == Pieces.of(position.sideToMove(), Pieces.PAWN)
+                && (Bitboards.rank(to) == 0 || Bitboards.rank(to) == 7)) {
+            promotionType = Pieces.QUEEN;
+        }
+        return MoveGenerator.findLegalMove(position, from, to, promotionType, MOVE_BUFFER.get());
+    }
 
-        // 2. The most important check: Does this move leave the king in check?
-        // We simulate the move on a temporary board to find out.
-        Board boardAfterMove = game.getBoard().copy();
-        boardAfterMove.setPieceAt(move.to(), pieceToMove);
-        boardAfterMove.setPieceAt(move.from(), null);
+    /**
+     * Records the time since a start, and returns the current time as the start of what follows.
+     */
+    private static long lap(Timer timer, long start) {
+        long now = System.nanoTime();
+        timer.record(now - start, TimeUnit.NANOSECONDS);
+        return now;
+    }
 
-        // Analyze the board state *after* the move.
-        AnalysisResult analysisAfterMove = analysisService.analyzeBoard(boardAfterMove);
-        Coordinates kingPosition = analysisService.findKing(game.getCurrentPlayer(), boardAfterMove);
+    private static Timer stageTimer(String stage, MeterRegistry meterRegistry) {
+        return histogram(Timer.builder("chess.move.stage")
+                .description("Time spent in each stage of processing a move")
+                .tag("stage", stage), meterRegistry);
+    }
 
-        // Check if the king's square is attacked by the opponent.
-        Territory kingTerritory = analysisAfterMove.territoryMap().get(coordinatesToAlgebraic(kingPosition));
-        if (game.getCurrentPlayer() == PlayerColor.WHITE) {
-            return kingTerritory.blackAttackers() == 0;
-        } else {
-            return kingTerritory.whiteAttackers() == 0;
-        }
+    // Histogram buckets let Prometheus compute percentiles across nodes
+    private static Timer histogram(Timer.Builder builder, MeterRegistry meterRegistry) {
+        return builder.publishPercentileHistogram().register(meterRegistry);
     }
 
     /**
@@ -135,23 +335,12 @@ public class GameService {
     }
 
     /**
-     * Updates the game's status based on the analysis of the new position.
+     * Updates the game's status for the new position: check, checkmate, stalemate, or a draw
+     * by repetition or the fifty-move rule. Only needs to know whether one legal move exists,
+     * so it stops at the first one; the repetition count is a table lookup.
      */
-    private void updateGameStatus(Game game, AnalysisResult analysisResult) {
-        PlayerColor opponentColor = (game.getCurrentPlayer() == PlayerColor.WHITE) ? PlayerColor.BLACK : PlayerColor.WHITE;
-        Coordinates opponentKingPosition = analysisService.findKing(opponentColor, game.getBoard());
-        Territory opponentKingTerritory = analysisResult.territoryMap().get(coordinatesToAlgebraic(opponentKingPosition));
-
-        boolean isOpponentInCheck = (opponentColor == PlayerColor.WHITE && opponentKingTerritory.blackAttackers() > 0) ||
-                (opponentColor == PlayerColor.BLACK && opponentKingTerritory.whiteAttackers() > 0);
-
-        if (isOpponentInCheck) {
-            // TODO: Here we would check if it's checkmate.
-            game.setStatus(GameStatus.CHECK);
-        } else {
-            // TODO: Here we would check if it's stalemate.
-            game.setStatus(GameStatus.IN_PROGRESS);
-        }
+    private void updateGameStatus(Game game) {
+        game.setStatus(GameStatus.of(game.getBoard().getPosition(), game.getRepetitionCount()));
     }
 
     /**
@@ -165,9 +354,4 @@ public class GameService {
         int y = algebraic.charAt(1) - '1';
         return new Coordinates(x, y);
     }
-    private String coordinatesToAlgebraic(Coordinates coords) {
-        char file = (char) ('a' + coords.x());
-        char rank = (char) ('1' + coords.y());
-        return "" + file + rank;
-    }
 }
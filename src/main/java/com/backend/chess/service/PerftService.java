@@ -0,0 +1,80 @@
+package com.backend.chess.service;
+
+import com.backend.chess.bitboard.Fen;
+import com.backend.chess.bitboard.Perft;
+import com.backend.chess.bitboard.Position;
+import com.backend.chess.dto.PerftResult;
+import com.backend.chess.engine.SearchEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs perft counts on request, to check the move generator of a running server and to
+ * measure its throughput. Counts take their threads from the search engine's budget
+ * ({@code chess.engine.max-threads}), so perft and searches together leave cores to move
+ * processing, and a count waits while the budget is used up.
+ */
+@Service
+public class PerftService {
+    // Depth 6 from the starting position is 119 million leaves, a few seconds on one core
+    public static final int MAX_DEPTH = 6;
+
+    private final SearchEngine searchEngine;
+
+    @Autowired
+    public PerftService(SearchEngine searchEngine) {
+        this.searchEngine = searchEngine;
+    }
+
+    /**
+     * Counts the leaf nodes of a position's move tree.
+     *
+     * @param fen The position in FEN.
+     * @param depth The depth in plies, from 1 to {@value #MAX_DEPTH}.
+     * @param divide Whether to split the count by first move.
+     * @param parallel Whether to count on a fork-join pool with as many of the engine's threads
+     *                 as are free, instead of the calling thread alone.
+     *                 Divide counts always run on the calling thread.
+     * @throws IllegalArgumentException if the FEN or the depth is invalid.
+     */
+    public PerftResult perft(String fen, int depth, boolean divide, boolean parallel) {
+        if (depth < 1 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Perft depth must be between 1 and " + MAX_DEPTH + ": " + depth);
+        }
+        Position position = Fen.parse(fen);
+        int threads = searchEngine.acquireThreads(parallel && !divide ? searchEngine.getMaxThreadsPerSearch() : 1);
+        try {
+            long start = System.nanoTime();
+            Map<String, Long> counts = null;
+            long nodes;
+            if (divide) {
+                counts = Perft.divide(position, depth);
+                nodes = counts.values().stream().mapToLong(Long::longValue).sum();
+            } else if (threads > 1) {
+                nodes = countParallel(position, depth, threads);
+            } else {
+                nodes = Perft.count(position, depth);
+            }
+            long elapsedNanos = System.nanoTime() - start;
+            long nodesPerSecond = elapsedNanos == 0 ? 0 : (long) (nodes * 1e9 / elapsedNanos);
+            return new PerftResult(fen, depth, nodes, elapsedNanos / 1_000_000, nodesPerSecond, counts);
+        } finally {
+            searchEngine.releaseThreads(threads);
+        }
+    }
+
+    // --- Private helpers ---
+
+    // The pool is sized to the threads taken from the budget, so it lives as long as the count.
+    private static long countParallel(Position position, int depth, int threads) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return Perft.countParallel(position, depth, pool);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
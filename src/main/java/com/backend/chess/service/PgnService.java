@@ -0,0 +1,241 @@
+package com.backend.chess.service;
+
+import com.backend.chess.bitboard.PackedMove;
+import com.backend.chess.bitboard.MoveGenerator;
+import com.backend.chess.bitboard.Position;
+import com.backend.chess.bitboard.San;
+import com.backend.chess.dto.PgnImportResult;
+import com.backend.chess.model.Game;
+import com.backend.chess.model.GameStatus;
+import com.backend.chess.model.MoveLogEntry;
+import com.backend.chess.model.PlayerColor;
+import com.backend.chess.pgn.PgnGame;
+import com.backend.chess.pgn.PgnReader;
+import com.backend.chess.pgn.PgnWriter;
+import com.backend.chess.repository.GameRepository;
+import com.backend.chess.repository.MoveLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Imports and exports games as PGN.
+ * <p>
+ * Both directions stream: an import reads one game at a time and saves games with their
+ * move logs in batches of {@code chess.pgn.batch-size}, one transaction per batch, and an
+ * export reads games a page at a time. Memory use therefore does not depend on the size
+ * of the archive. Imported games are saved like finished snapshots, without being loaded
+ * into the active game store; they are loaded on first access like any other game.
+ */
+@Service
+public class PgnService {
+    private static final Logger log = LoggerFactory.getLogger(PgnService.class);
+    private static final int MAX_REPORTED_ERRORS = 20;
+
+    private final GameRepository gameRepository;
+    private final MoveLogRepository moveLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    @Autowired
+    public PgnService(GameRepository gameRepository, MoveLogRepository moveLogRepository,
+                      TransactionTemplate transactionTemplate,
+                      @Value("${chess.pgn.batch-size:200}") int batchSize) {
+        this.gameRepository = gameRepository;
+        this.moveLogRepository = moveLogRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Imports every game in PGN text. Games with an illegal move or position are skipped;
+     * the rest are saved.
+     *
+     * @param source The PGN text; it is read to the end but not closed.
+     * @throws IOException if reading fails or the text is not PGN.
+     */
+    public PgnImportResult importGames(Reader source) throws IOException {
+        long start = System.nanoTime();
+        PgnReader reader = new PgnReader(source);
+        List<Game> games = new ArrayList<>(batchSize);
+        List<MoveLogEntry> entries = new ArrayList<>(batchSize * 80);
+        List<String> errors = new ArrayList<>();
+        int[] buffer = new int[MoveGenerator.MAX_MOVES];
+        long imported = 0;
+        long skipped = 0;
+        PgnGame pgn;
+        while ((pgn = reader.next()) != null) {
+            try {
+                games.add(toGame(pgn, entries, buffer));
+            } catch (IllegalArgumentException ex) {
+                skipped++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add("Game " + (imported + games.size() + skipped) + ": " + ex.getMessage());
+                }
+            }
+            if (games.size() == batchSize) {
+                imported += save(games, entries);
+            }
+        }
+        imported += save(games, entries);
+
+        long timeMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Imported {} games from PGN in {} ms ({} skipped)", imported, timeMs, skipped);
+        return new PgnImportResult(imported, skipped, errors, timeMs, (imported + skipped) * 1000 / Math.max(timeMs, 1));
+    }
+
+    /**
+     * Writes one game as PGN.
+     *
+     * @throws IllegalArgumentException if no game is found with the given ID.
+     */
+    public void exportGame(String gameId, Writer out) throws IOException {
+        Game game = gameRepository.findById(gameId)
+                .orElseThrow(() -> new IllegalArgumentException("Game not found with ID: " + gameId));
+        PgnWriter writer = new PgnWriter(out);
+        writer.write(toPgn(game, moveLogRepository.findByGameIdOrderByPlyAsc(gameId)));
+        writer.flush();
+    }
+
+    /**
+     * Writes every stored game as PGN, a page of games at a time, flushing after each page.
+     */
+    public void exportAll(Writer out) throws IOException {
+        PgnWriter writer = new PgnWriter(out);
+        Page<Game> page = gameRepository.findAll(PageRequest.of(0, batchSize, Sort.by("id")));
+        while (true) {
+            for (Game game : page) {
+                writer.write(toPgn(game, moveLogRepository.findByGameIdOrderByPlyAsc(game.getId())));
+            }
+            writer.flush();
+            if (!page.hasNext()) {
+                return;
+            }
+            page = gameRepository.findAll(page.nextPageable());
+        }
+    }
+
+    // --- Private helpers ---
+
+    /**
+     * Replays a PGN game into a new Game, adding its moves to the move log entries. The replay
+     * stops where the game ends under this server's rules: draws by repetition or the
+     * fifty-move rule are automatic here, while a PGN game may go on until one is claimed.
+     *
+     * @throws IllegalArgumentException if the start position or a move is not legal.
+     */
+    private static Game toGame(PgnGame pgn, List<MoveLogEntry> entries, int[] buffer) {
+        String fen = pgn.tags().get("FEN");
+        Game game = fen != null ? Game.fromFen(fen) : new Game();
+        Position position = game.getBoard().getPosition();
+        List<MoveLogEntry> moves = new ArrayList<>(pgn.moves().size());
+        GameStatus status = GameStatus.of(position);
+        for (String san : pgn.moves()) {
+            if (status.isFinished()) {
+                break;
+            }
+            int move = San.parse(position, san, buffer);
+            if (move == PackedMove.NONE) {
+                throw new IllegalArgumentException("Illegal or ambiguous move '" + san + "' at ply " + (game.getPlyCount() + 1));
+            }
+            moves.add(new MoveLogEntry(game.getId(), game.getPlyCount() + 1, move));
+            game.applyMove(move);
+            status = GameStatus.of(position, game.getRepetitionCount());
+        }
+
+        // Games usually end by resignation or agreement, which only the result tells
+        if (!status.isFinished()) {
+            status = statusOf(pgn.result(), status);
+        }
+        game.setStatus(status);
+        entries.addAll(moves);
+        return game;
+    }
+
+    private static PgnGame toPgn(Game stored, List<MoveLogEntry> entries) {
+        Game game = stored.getStartFen() != null ? Game.fromFen(stored.getStartFen()) : new Game();
+        Position position = game.getBoard().getPosition();
+        int[] buffer = new int[MoveGenerator.MAX_MOVES];
+        List<String> moves = new ArrayList<>(entries.size());
+        for (MoveLogEntry entry : entries) {
+            int move = entry.getPackedMove();
+            moves.add(San.toSan(position, move, buffer));
+            game.applyMove(move);
+        }
+        // The stored status can lag behind the move log; it is only needed for results no rule decides
+        GameStatus status = GameStatus.of(position, game.getRepetitionCount());
+        if (!status.isFinished()) {
+            status = stored.getStatus();
+        }
+        String result = resultOf(status);
+
+        Map<String, String> tags = new LinkedHashMap<>();
+        tags.put("Event", "?");
+        tags.put("Site", "?");
+        tags.put("Date", "????.??.??");
+        tags.put("Round", "-");
+        tags.put("White", stored.getComputerColor() == PlayerColor.WHITE ? "Computer" : "?");
+        tags.put("Black", stored.getComputerColor() == PlayerColor.BLACK ? "Computer" : "?");
+        tags.put("Result", result);
+        if (stored.getStartFen() != null) {
+            tags.put("SetUp", "1");
+            tags.put("FEN", stored.getStartFen());
+        }
+        tags.put("GameId", stored.getId());
+        return new PgnGame(tags, moves, result);
+    }
+
+    private static GameStatus statusOf(String result, GameStatus unfinished) {
+        switch (result) {
+            case "1-0":
+                return GameStatus.WHITE_WINS;
+            case "0-1":
+                return GameStatus.BLACK_WINS;
+            case "1/2-1/2":
+                return GameStatus.DRAW;
+            default:
+                return unfinished;
+        }
+    }
+
+    private static String resultOf(GameStatus status) {
+        switch (status) {
+            case WHITE_WINS:
+                return "1-0";
+            case BLACK_WINS:
+                return "0-1";
+            case IN_PROGRESS:
+            case CHECK:
+                return "*";
+            default:
+                return "1/2-1/2";
+        }
+    }
+
+    private int save(List<Game> games, List<MoveLogEntry> entries) {
+        int count = games.size();
+        if (count > 0) {
+            transactionTemplate.executeWithoutResult(status -> {
+                gameRepository.saveAll(games);
+                moveLogRepository.saveAll(entries);
+            });
+        }
+        games.clear();
+        entries.clear();
+        return count;
+    }
+}
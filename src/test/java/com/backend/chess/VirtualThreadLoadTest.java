@@ -0,0 +1,93 @@
+package com.backend.chess;
+
+import com.backend.chess.dto.GameDeltaDTO;
+import com.backend.chess.dto.MoveDto;
+import com.backend.chess.model.MoveLogEntry;
+import com.backend.chess.repository.MoveLogRepository;
+import com.backend.chess.service.GameService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Runs thousands of games whose moves block on a slow move log write at the same time, and
+ * checks that they all make progress together while the platform thread count stays small.
+ * With platform-thread lanes the same load would need one OS thread per blocked game, and a
+ * write made while holding a monitor would pin each virtual thread to its carrier, so the
+ * moves would run a few at a time.
+ * Runs only on Java 21+ (the java21 profile is active on JDK 21).
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(properties = {"spring.threads.virtual.enabled=true", "chess.lanes.count=20000"})
+class VirtualThreadLoadTest {
+	private static final int GAMES = 2000;
+	private static final long BLOCK_MS = 1000;
+
+	@Autowired
+	private GameService gameService;
+
+	@SpyBean
+	private MoveLogRepository moveLogRepository;
+
+	@Test
+	void blockedGamesDoNotTieUpPlatformThreads() throws Exception {
+		List<String> gameIds = new ArrayList<>(GAMES);
+		for (int i = 0; i < GAMES; i++) {
+			gameIds.add(gameService.createNewGame().getId());
+		}
+		// Every move blocks while writing its move log entry, with the game locked
+		doAnswer(invocation -> {
+			sleep(BLOCK_MS);
+			return invocation.getArgument(0);
+		}).when(moveLogRepository).save(any(MoveLogEntry.class));
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		threads.resetPeakThreadCount();
+
+		long start = System.nanoTime();
+		List<CompletableFuture<GameDeltaDTO>> moves = new ArrayList<>(GAMES);
+		for (String gameId : gameIds) {
+			moves.add(gameService.submitMove(gameId, move("e2", "e4")));
+		}
+		CompletableFuture.allOf(moves.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+		long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		for (CompletableFuture<GameDeltaDTO> move : moves) {
+			assertEquals(1, move.get().seq());
+		}
+		// Run one after another (or on a small pool) this would take GAMES * BLOCK_MS / poolSize.
+		assertTrue(elapsedMs < 10 * BLOCK_MS, "Blocked games did not run concurrently: " + elapsedMs + " ms");
+		// getPeakThreadCount only counts platform threads.
+		assertTrue(threads.getPeakThreadCount() < 500, "Peak platform threads: " + threads.getPeakThreadCount());
+	}
+
+	private static MoveDto move(String from, String to) {
+		MoveDto move = new MoveDto();
+		move.setFrom(from);
+		move.setTo(to);
+		return move;
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(ex);
+		}
+	}
+}
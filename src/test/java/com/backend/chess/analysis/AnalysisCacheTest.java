@@ -0,0 +1,71 @@
+package com.backend.chess.analysis;
+
+import com.backend.chess.model.Board;
+import com.backend.chess.service.AnalysisService;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnalysisCacheTest {
+	private static final AnalysisResult RESULT = new AnalysisResult(Map.of(), Map.of(), List.of(), List.of(), List.of());
+
+	@Test
+	void staysWithinItsMemoryBudget() {
+		AnalysisCache cache = new AnalysisCache(1);
+		Random random = new Random(1);
+		for (int i = 0; i < 20_000; i++) {
+			cache.put(random.nextLong(), RESULT);
+		}
+
+		assertTrue(cache.estimatedBytes() <= cache.getMaxBytes(), cache.estimatedBytes() + " bytes");
+		assertTrue(cache.getEvictions() > 0);
+		assertEquals(cache.size() * AnalysisCache.estimateBytes(RESULT), cache.estimatedBytes());
+	}
+
+	@Test
+	void evictsTheLeastRecentlyUsedEntries() {
+		AnalysisCache cache = new AnalysisCache(1);
+		// Keys with the same top bits share a segment
+		long recentlyUsed = 1;
+		long unused = 2;
+		cache.put(recentlyUsed, RESULT);
+		cache.put(unused, RESULT);
+		for (long key = 3; cache.getEvictions() < 10; key++) {
+			cache.put(key, RESULT);
+			assertNotNull(cache.get(recentlyUsed));
+		}
+
+		assertSame(RESULT, cache.get(recentlyUsed));
+		assertNull(cache.get(unused));
+	}
+
+	@Test
+	void countsHitsAndMisses() {
+		AnalysisCache cache = new AnalysisCache(1);
+		cache.get(42);
+		cache.put(42, RESULT);
+		cache.get(42);
+		cache.get(42);
+
+		assertEquals(2, cache.getHits());
+		assertEquals(1, cache.getMisses());
+	}
+
+	@Test
+	void analysisIsSharedByPositionsWithTheSamePlacement() {
+		AnalysisService analysisService = new AnalysisService(new AnalysisCache(1));
+		AnalysisResult white = analysisService.analyzeBoard(Board.fromFen("4k3/8/8/3q4/8/8/3R4/4K3 w - - 0 1"));
+		AnalysisResult black = analysisService.analyzeBoard(Board.fromFen("4k3/8/8/3q4/8/8/3R4/4K3 b - - 5 9"));
+
+		assertSame(white, black);
+		assertEquals(Territory.of(1, 1), white.territoryMap().get("d4"));
+	}
+}
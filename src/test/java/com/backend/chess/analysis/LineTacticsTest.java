@@ -0,0 +1,47 @@
+package com.backend.chess.analysis;
+
+import com.backend.chess.bitboard.Bitboards;
+import com.backend.chess.bitboard.Fen;
+import com.backend.chess.model.Coordinates;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LineTacticsTest {
+
+	@Test
+	void findsAbsolutePins() {
+		LineTactics lines = LineTactics.of(Fen.parse("4k3/4r3/8/b7/8/2P5/3PN3/4K3 w - - 0 1"));
+
+		assertEquals(List.of("e2 pinned by e7"), lines.pins().stream()
+				.map(pin -> name(pin.pinnedPiecePosition()) + " pinned by " + name(pin.pinningPiecePosition()))
+				.toList());
+		assertEquals(List.of(), lines.discoveredAttacks());
+	}
+
+	@Test
+	void findsDiscoveredAttacksOnTheKing() {
+		LineTactics lines = LineTactics.of(Fen.parse("4k3/8/8/8/8/8/4N3/4R2K w - - 0 1"));
+
+		assertEquals(List.of("e1 e2 e8"), lines.discoveredAttacks().stream().map(LineTacticsTest::name).toList());
+		assertEquals(List.of(), lines.pins());
+	}
+
+	@Test
+	void findsSkewersAndRelativePinsAsXRays() {
+		// The bishop skewers the king to the queen; the rook pins the knight to the queen
+		LineTactics lines = LineTactics.of(Fen.parse("1q6/6q1/8/1n6/3k4/8/8/BR5K b - - 0 1"));
+
+		assertEquals(List.of("a1 d4 g7", "b1 b5 b8"), lines.xRays().stream().map(LineTacticsTest::name).sorted().toList());
+	}
+
+	private static String name(XRay line) {
+		return name(line.attackerPosition()) + " " + name(line.blockerPosition()) + " " + name(line.targetPosition());
+	}
+
+	private static String name(Coordinates coordinates) {
+		return Bitboards.squareName(Bitboards.square(coordinates.x(), coordinates.y()));
+	}
+}
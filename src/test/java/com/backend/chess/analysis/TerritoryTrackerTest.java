@@ -0,0 +1,68 @@
+package com.backend.chess.analysis;
+
+import com.backend.chess.bitboard.Fen;
+import com.backend.chess.bitboard.MoveGenerator;
+import com.backend.chess.bitboard.PackedMove;
+import com.backend.chess.bitboard.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TerritoryTrackerTest {
+
+	@Test
+	void updatesFromChangedSquaresMatchARebuild() {
+		// Castling, en passant and promotions are all reachable from here
+		Position position = Fen.parse("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+		TerritoryTracker tracker = new TerritoryTracker(position);
+		Random random = new Random(42);
+		int[] moves = new int[MoveGenerator.MAX_MOVES];
+		for (int ply = 0; ply < 400; ply++) {
+			int count = MoveGenerator.generateLegalMoves(position, moves);
+			if (count == 0 || position.halfmoveClock() >= 100) {
+				position = Fen.parse("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+				tracker = new TerritoryTracker(position);
+				continue;
+			}
+			int move = moves[random.nextInt(count)];
+			position.makeMove(move);
+			tracker.update(position, PackedMove.changedSquares(move));
+
+			TerritoryTracker rebuilt = new TerritoryTracker(position);
+			for (int square = 0; square < 64; square++) {
+				assertEquals(rebuilt.whiteAttackers(square), tracker.whiteAttackers(square), PackedMove.toUci(move));
+				assertEquals(rebuilt.blackAttackers(square), tracker.blackAttackers(square), PackedMove.toUci(move));
+			}
+		}
+	}
+
+	@Test
+	void sharesTheTerritoryMapUntilACountChanges() {
+		Position position = Fen.parse(Fen.INITIAL);
+		TerritoryTracker tracker = new TerritoryTracker(position);
+		LineTactics lines = LineTactics.of(position);
+
+		AnalysisResult first = tracker.toAnalysisResult(lines);
+		assertSame(first.territoryMap(), tracker.toAnalysisResult(lines).territoryMap());
+
+		int move = MoveGenerator.findUciMove(position, "e2e4", new int[MoveGenerator.MAX_MOVES]);
+		position.makeMove(move);
+		tracker.update(position, PackedMove.changedSquares(move));
+		AnalysisResult second = tracker.toAnalysisResult(LineTactics.of(position));
+
+		assertNotSame(first.territoryMap(), second.territoryMap());
+		// The map behaves like the hash map it replaces
+		Map<String, Territory> copy = new HashMap<>(second.territoryMap());
+		assertEquals(64, copy.size());
+		assertEquals(copy, second.territoryMap());
+		assertEquals(Territory.of(1, 0), second.territoryMap().get("d5"));
+		assertNull(second.territoryMap().get("i9"));
+	}
+}
@@ -0,0 +1,110 @@
+package com.backend.chess.bitboard;
+
+import com.backend.chess.model.Board;
+import com.backend.chess.model.Coordinates;
+import com.backend.chess.model.Piece;
+import com.backend.chess.model.PieceType;
+import com.backend.chess.model.PlayerColor;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks the attack tables and magic bitboards against a plain square-by-square scan, and
+ * that a Board built from the 8x8 array view keeps every piece where it was.
+ */
+class BitboardsTest {
+
+	@Test
+	void leaperAttacksStayOnTheBoard() {
+		assertEquals(squares("b3", "c2"), Bitboards.knightAttacks(Bitboards.parseSquare("a1")));
+		assertEquals(8, Long.bitCount(Bitboards.knightAttacks(Bitboards.parseSquare("d4"))));
+		assertEquals(squares("d1", "d2", "e2", "f2", "f1"), Bitboards.kingAttacks(Bitboards.parseSquare("e1")));
+		assertEquals(squares("b3"), Bitboards.pawnAttacks(Pieces.WHITE, Bitboards.parseSquare("a2")));
+		assertEquals(squares("d6", "f6"), Bitboards.pawnAttacks(Pieces.BLACK, Bitboards.parseSquare("e7")));
+	}
+
+	@Test
+	void sliderAttacksMatchARayScan() {
+		Random random = new Random(7);
+		int[] sliders = {Pieces.of(Pieces.WHITE, Pieces.BISHOP), Pieces.of(Pieces.WHITE, Pieces.ROOK),
+				Pieces.of(Pieces.BLACK, Pieces.QUEEN)};
+		for (int i = 0; i < 2000; i++) {
+			// Sparse and dense boards
+			long occupied = random.nextLong() & random.nextLong() & (i % 2 == 0 ? random.nextLong() : -1L);
+			for (int square = 0; square < 64; square++) {
+				for (int piece : sliders) {
+					assertEquals(scanAttacks(Pieces.type(piece), square, occupied), Bitboards.attacks(piece, square, occupied),
+							"piece " + piece + " on " + Bitboards.squareName(square));
+				}
+			}
+		}
+	}
+
+	@Test
+	void betweenAndLineFollowSharedRays() {
+		assertEquals(squares("b2", "c3"), Bitboards.between(Bitboards.parseSquare("a1"), Bitboards.parseSquare("d4")));
+		assertEquals(0L, Bitboards.between(Bitboards.parseSquare("a1"), Bitboards.parseSquare("b3")));
+		assertEquals(Bitboards.FILE_A, Bitboards.line(Bitboards.parseSquare("a2"), Bitboards.parseSquare("a7")));
+	}
+
+	@Test
+	void boardKeepsThePiecesOfItsArrayView() {
+		Piece[][] squares = new Piece[8][8];
+		squares[0][4] = new Piece(PieceType.KING, PlayerColor.WHITE);
+		squares[7][4] = new Piece(PieceType.KING, PlayerColor.BLACK);
+		squares[3][2] = new Piece(PieceType.KNIGHT, PlayerColor.BLACK);
+		squares[6][7] = new Piece(PieceType.PAWN, PlayerColor.WHITE);
+		Board board = new Board(squares);
+
+		assertArrayEquals(squares, board.getSquares());
+		assertEquals(squares[3][2], board.getPieceAt(new Coordinates(2, 3)));
+		assertNull(board.getPieceAt(new Coordinates(3, 3)));
+		assertEquals(Bitboards.bit(Bitboards.square(2, 3)), board.getPosition().pieces(Pieces.BLACK, Pieces.KNIGHT));
+		assertEquals(4, Long.bitCount(board.getPosition().occupied()));
+	}
+
+	// --- Helpers ---
+
+	private static long scanAttacks(int type, int square, long occupied) {
+		int[][] diagonals = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+		int[][] orthogonals = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+		long attacks = 0L;
+		if (type != Pieces.ROOK) {
+			attacks |= scanRays(square, occupied, diagonals);
+		}
+		if (type != Pieces.BISHOP) {
+			attacks |= scanRays(square, occupied, orthogonals);
+		}
+		return attacks;
+	}
+
+	private static long scanRays(int square, long occupied, int[][] directions) {
+		long attacks = 0L;
+		for (int[] direction : directions) {
+			int x = Bitboards.file(square) + direction[0];
+			int y = Bitboards.rank(square) + direction[1];
+			while (x >= 0 && x < 8 && y >= 0 && y < 8) {
+				attacks |= Bitboards.bit(Bitboards.square(x, y));
+				if ((occupied & Bitboards.bit(Bitboards.square(x, y))) != 0) {
+					break;
+				}
+				x += direction[0];
+				y += direction[1];
+			}
+		}
+		return attacks;
+	}
+
+	private static long squares(String... names) {
+		long bitboard = 0L;
+		for (String name : names) {
+			bitboard |= Bitboards.bit(Bitboards.parseSquare(name));
+		}
+		return bitboard;
+	}
+}
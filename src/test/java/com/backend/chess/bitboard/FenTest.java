@@ -0,0 +1,16 @@
+package com.backend.chess.bitboard;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FenTest {
+
+	@Test
+	void rejectsInvalidFen() {
+		assertThrows(IllegalArgumentException.class, () -> Fen.parse("8/8/8/8/8/8/8/8 w - - 0 1"));
+		assertThrows(IllegalArgumentException.class, () -> Fen.parse("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP w KQkq - 0 1"));
+		assertThrows(IllegalArgumentException.class, () -> Fen.parse("4k3/8/8/8/8/8/8/4K2r b - - 0 1"));
+		assertThrows(IllegalArgumentException.class, () -> Fen.parse("4k3/8/8/8/8/8/8/4K3 x - - 0 1"));
+	}
+}
@@ -0,0 +1,82 @@
+package com.backend.chess.bitboard;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the move generator on the rules that perft counts only cover in aggregate:
+ * en passant next to a pinned king, castling through or out of check, pinned pieces
+ * and promotions, and that make/unmake restores the position exactly.
+ */
+class MoveGeneratorTest {
+
+	@ParameterizedTest(name = "{1} in {0}")
+	@CsvSource(delimiter = ';', value = {
+			// En passant would take both pawns off the rank and expose the king to the rook
+			"8/8/8/KPp4r/8/8/8/7k w - c6 0 1; b5c6; false",
+			"8/8/8/1Pp5/8/8/8/K6k w - c6 0 1; b5c6; true",
+			// The king may not pass through or start on an attacked square; the rook may
+			"4kr2/8/8/8/8/8/8/R3K2R w KQ - 0 1; e1g1; false",
+			"4kr2/8/8/8/8/8/8/R3K2R w KQ - 0 1; e1c1; true",
+			"4k3/8/8/8/1b6/8/8/R3K2R w KQ - 0 1; e1g1; false",
+			"4k3/8/8/8/1b6/8/8/R3K2R w KQ - 0 1; e1c1; false",
+			"1r2k3/8/8/8/8/8/8/R3K2R w KQ - 0 1; e1c1; true",
+			"r3k2r/8/8/8/8/8/8/4K3 b kq - 0 1; e8c8; true",
+			"r3k2r/8/8/8/8/8/8/4KR2 b kq - 0 1; e8g8; false",
+			// A pinned piece may only move along the pin
+			"4k3/4r3/8/8/8/8/4R3/4K3 w - - 0 1; e2e7; true",
+			"4k3/4r3/8/8/8/8/4R3/4K3 w - - 0 1; e2d2; false",
+			"4k3/8/8/8/8/2b5/3N4/4K3 w - - 0 1; d2f3; false",
+			// The king may not step along the line of the slider checking it
+			"4k3/8/8/8/8/8/8/r3K3 w - - 0 1; e1f1; false",
+			"4k3/8/8/8/8/8/8/r3K3 w - - 0 1; e1e2; true"
+	})
+	void appliesTheRulesOfLegality(String fen, String uci, boolean legal) {
+		Position position = Fen.parse(fen);
+
+		assertEquals(legal, legalMoves(position).contains(uci));
+		assertEquals(legal, MoveGenerator.findUciMove(position, uci, new int[MoveGenerator.MAX_MOVES]) != PackedMove.NONE);
+	}
+
+	@Test
+	void generatesEveryPromotionPiece() {
+		Position position = Fen.parse("1n2k3/P7/8/8/8/8/8/4K3 w - - 0 1");
+		List<String> moves = legalMoves(position);
+
+		assertTrue(moves.containsAll(List.of("a7a8q", "a7a8r", "a7a8b", "a7a8n", "a7b8q", "a7b8r", "a7b8b", "a7b8n")));
+		assertEquals(8 + 5, moves.size());
+	}
+
+	@Test
+	void makeAndUnmakeRestoreThePosition() {
+		String fen = "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1";
+		Position position = Fen.parse(fen);
+		long key = position.key();
+		int[] moves = new int[MoveGenerator.MAX_MOVES];
+		int count = MoveGenerator.generateLegalMoves(position, moves);
+		for (int i = 0; i < count; i++) {
+			position.makeMove(moves[i]);
+			position.unmakeMove(moves[i]);
+
+			assertEquals(fen, Fen.toFen(position), PackedMove.toUci(moves[i]));
+			assertEquals(key, position.key(), PackedMove.toUci(moves[i]));
+		}
+	}
+
+	private static List<String> legalMoves(Position position) {
+		int[] moves = new int[MoveGenerator.MAX_MOVES];
+		int count = MoveGenerator.generateLegalMoves(position, moves);
+		List<String> uci = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			uci.add(PackedMove.toUci(moves[i]));
+		}
+		return uci;
+	}
+}
@@ -0,0 +1,105 @@
+package com.backend.chess.bitboard;
+
+import com.backend.chess.analysis.AnalysisCache;
+import com.backend.chess.model.Board;
+import com.backend.chess.model.Coordinates;
+import com.backend.chess.model.Move;
+import com.backend.chess.service.AnalysisService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks move generation against the published perft counts of the standard test positions
+ * (https://www.chessprogramming.org/Perft_Results), which between them cover castling
+ * through and out of check, en passant (including discovered checks), promotions and pins.
+ */
+class PerftTest {
+
+	@ParameterizedTest(name = "{0} at depth {1}")
+	@CsvSource(delimiter = ';', value = {
+			"rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1; 5; 4865609",
+			"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1; 4; 4085603",
+			"8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1; 5; 674624",
+			"r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1; 4; 422333",
+			"r2q1rk1/pP1p2pp/Q4n2/bbp1p3/Np6/1B3NBn/pPPP1PPP/R3K2R b KQ - 0 1; 4; 422333",
+			"rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8; 4; 2103487",
+			"r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10; 4; 3894594"
+	})
+	void matchesReferenceCounts(String fen, int depth, long expected) {
+		Position position = Fen.parse(fen);
+		long key = position.key();
+
+		assertEquals(expected, Perft.count(position, depth));
+		assertEquals(key, position.key(), "make/unmake must restore the position");
+		assertEquals(expected, Perft.countParallel(position, depth, ForkJoinPool.commonPool()));
+	}
+
+	@Test
+	void divideSplitsTheCountByFirstMove() {
+		Position position = Fen.parse("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1");
+		Map<String, Long> divide = Perft.divide(position, 3);
+
+		assertEquals(14, divide.size());
+		assertEquals(2812, divide.values().stream().mapToLong(Long::longValue).sum());
+		position.makeMove(MoveGenerator.findUciMove(position, "e2e4", new int[MoveGenerator.MAX_MOVES]));
+		assertEquals(Perft.count(position, 2), divide.get("e2e4"));
+	}
+
+	@ParameterizedTest
+	@CsvSource(delimiter = ';', value = {
+			"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+			"r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+			"8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1"
+	})
+	void pseudoLegalMovesIncludeEveryLegalMove(String fen) {
+		AnalysisService analysisService = new AnalysisService(new AnalysisCache(1));
+		Position position = Fen.parse(fen);
+		int[] moves = new int[MoveGenerator.MAX_MOVES];
+		int count = MoveGenerator.generateLegalMoves(position, moves);
+		// Check the root and every position one move deeper
+		for (int i = -1; i < count; i++) {
+			if (i >= 0) {
+				position.makeMove(moves[i]);
+			}
+			assertPseudoLegalMovesMatch(analysisService, position);
+			if (i >= 0) {
+				position.unmakeMove(moves[i]);
+			}
+		}
+	}
+
+	// Every legal move must be pseudo-legal, and every pseudo-legal move must be legal unless it leaves the king in check
+	private static void assertPseudoLegalMovesMatch(AnalysisService analysisService, Position position) {
+		Set<Integer> legal = new HashSet<>();
+		int[] moves = new int[MoveGenerator.MAX_MOVES];
+		int count = MoveGenerator.generateLegalMoves(position, moves);
+		for (int i = 0; i < count; i++) {
+			legal.add(moves[i]);
+		}
+
+		Set<Integer> pseudoLegal = new HashSet<>();
+		Board board = new Board(position);
+		long ours = position.colorPieces(position.sideToMove());
+		while (ours != 0) {
+			int square = Long.numberOfTrailingZeros(ours);
+			ours &= ours - 1;
+			for (Move move : analysisService.generatePseudoLegalMoves(new Coordinates(Bitboards.file(square), Bitboards.rank(square)), board)) {
+				int promotionType = move.promotion() != null ? Board.toTypeCode(move.promotion()) : Pieces.NONE;
+				int packed = MoveGenerator.findLegalMove(position, square,
+						Bitboards.square(move.to().x(), move.to().y()), promotionType, new int[MoveGenerator.MAX_MOVES]);
+				if (packed != PackedMove.NONE) {
+					pseudoLegal.add(packed);
+				}
+			}
+		}
+		assertEquals(legal, pseudoLegal);
+	}
+}
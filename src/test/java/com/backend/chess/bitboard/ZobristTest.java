@@ -0,0 +1,81 @@
+package com.backend.chess.bitboard;
+
+import com.backend.chess.model.Game;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Checks that the incrementally maintained Zobrist keys always equal the keys computed
+ * from scratch, and that they identify positions rather than the way they were reached.
+ */
+class ZobristTest {
+
+	@Test
+	void incrementalKeysMatchKeysComputedFromScratch() {
+		walk(Fen.parse("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"), 3, new int[4][MoveGenerator.MAX_MOVES]);
+		walk(Fen.parse("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1"), 4, new int[5][MoveGenerator.MAX_MOVES]);
+	}
+
+	@Test
+	void transpositionsHaveTheSameKey() {
+		Position first = play("g1f3 g8f6 b1c3 b8c6");
+		Position second = play("b1c3 b8c6 g1f3 g8f6");
+
+		assertEquals(first.key(), second.key());
+		assertEquals(first.placementKey(), second.placementKey());
+	}
+
+	@Test
+	void keysDistinguishSideToMoveCastlingAndEnPassant() {
+		Position position = Fen.parse("r3k2r/8/8/3pP3/8/8/8/R3K2R w KQkq d6 0 1");
+		long key = position.key();
+
+		long withoutEnPassant = Fen.parse("r3k2r/8/8/3pP3/8/8/8/R3K2R w KQkq - 0 1").key();
+		assertNotEquals(key, withoutEnPassant);
+		assertNotEquals(withoutEnPassant, Fen.parse("r3k2r/8/8/3pP3/8/8/8/R3K2R b KQkq - 0 1").key());
+		assertNotEquals(key, Fen.parse("r3k2r/8/8/3pP3/8/8/8/R3K2R w Kkq d6 0 1").key());
+		// The placement key ignores everything but the pieces
+		assertEquals(position.placementKey(), Fen.parse("r3k2r/8/8/3pP3/8/8/8/R3K2R b - - 0 1").placementKey());
+	}
+
+	@Test
+	void gameKeyFollowsItsMoves() {
+		Game game = new Game();
+		long initial = game.getPositionKey();
+		for (String uci : "g1f3 g8f6 f3g1 f6g8".split(" ")) {
+			game.applyMove(MoveGenerator.findUciMove(game.getBoard().getPosition(), uci, new int[MoveGenerator.MAX_MOVES]));
+		}
+
+		assertEquals(initial, game.getPositionKey());
+		assertEquals(Fen.parse(Fen.INITIAL).key(), initial);
+	}
+
+	// --- Helpers ---
+
+	// Every key is checked against a position parsed from its own FEN, and restored by unmake
+	private static void walk(Position position, int depth, int[][] buffers) {
+		assertEquals(Fen.parse(Fen.toFen(position)).key(), position.key(), Fen.toFen(position));
+		if (depth == 0) {
+			return;
+		}
+		int[] moves = buffers[depth];
+		int count = MoveGenerator.generateLegalMoves(position, moves);
+		for (int i = 0; i < count; i++) {
+			long key = position.key();
+			position.makeMove(moves[i]);
+			walk(position, depth - 1, buffers);
+			position.unmakeMove(moves[i]);
+			assertEquals(key, position.key());
+		}
+	}
+
+	private static Position play(String moves) {
+		Position position = Position.initial();
+		for (String uci : moves.split(" ")) {
+			position.makeMove(MoveGenerator.findUciMove(position, uci, new int[MoveGenerator.MAX_MOVES]));
+		}
+		return position;
+	}
+}
@@ -0,0 +1,85 @@
+package com.backend.chess.dto;
+
+import com.backend.chess.analysis.AnalysisCache;
+import com.backend.chess.analysis.AnalysisResult;
+import com.backend.chess.analysis.Territory;
+import com.backend.chess.bitboard.MoveGenerator;
+import com.backend.chess.model.Game;
+import com.backend.chess.model.Piece;
+import com.backend.chess.model.PlayerColor;
+import com.backend.chess.service.AnalysisService;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that a delta carries exactly what changed, so a client applying it to the previous
+ * state ends up with the full new state.
+ */
+class GameDeltaDTOTest {
+	private final AnalysisService analysisService = new AnalysisService(new AnalysisCache(1));
+
+	@Test
+	void castlingChangesTheKingAndRookSquares() {
+		Game game = Game.fromFen("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+		GameDeltaDTO delta = play(game, "e1g1");
+
+		assertEquals(Map.of("e1", "", "f1", "ROOK", "g1", "KING", "h1", ""), pieceTypes(delta.changedSquares()));
+		assertEquals(1, delta.seq());
+		assertEquals("e1g1", delta.move());
+		assertEquals(PlayerColor.BLACK, delta.currentPlayer());
+	}
+
+	@Test
+	void enPassantEmptiesTheCapturedPawnsSquare() {
+		Game game = Game.fromFen("4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 1");
+		GameDeltaDTO delta = play(game, "e5d6");
+
+		assertEquals(Map.of("e5", "", "d6", "PAWN", "d5", ""), pieceTypes(delta.changedSquares()));
+	}
+
+	@Test
+	void changedTerritoryBringsThePreviousTerritoryUpToDate() {
+		Game game = new Game();
+		for (String uci : "e2e4 e7e5 g1f3 b8c6 f1b5".split(" ")) {
+			AnalysisResult before = analysisService.analyzeGame(game);
+			Map<String, Territory> territory = new HashMap<>(before.territoryMap());
+			GameDeltaDTO delta = play(game, uci, before);
+
+			assertTrue(delta.changedTerritory().size() < 64, uci);
+			territory.putAll(delta.changedTerritory());
+			assertEquals(analysisService.analyzeGame(game).territoryMap(), territory, uci);
+		}
+	}
+
+	@Test
+	void aDeltaWithoutPreviousAnalysisCarriesTheWholeTerritory() {
+		Game game = new Game();
+		GameDeltaDTO delta = play(game, "d2d4", null);
+
+		assertEquals(64, delta.changedTerritory().size());
+	}
+
+	// --- Helpers ---
+
+	private GameDeltaDTO play(Game game, String uci) {
+		return play(game, uci, analysisService.analyzeGame(game));
+	}
+
+	private GameDeltaDTO play(Game game, String uci, AnalysisResult before) {
+		int move = MoveGenerator.findUciMove(game.getBoard().getPosition(), uci, new int[MoveGenerator.MAX_MOVES]);
+		game.applyMove(move);
+		return GameDeltaDTO.of(game, move, before, analysisService.analyzeGame(game));
+	}
+
+	// Emptied squares map to "", as Map.of does not take nulls
+	private static Map<String, String> pieceTypes(Map<String, Piece> squares) {
+		Map<String, String> types = new HashMap<>();
+		squares.forEach((square, piece) -> types.put(square, piece == null ? "" : piece.type().name()));
+		return types;
+	}
+}
@@ -0,0 +1,118 @@
+package com.backend.chess.engine;
+
+import com.backend.chess.bitboard.Fen;
+import com.backend.chess.bitboard.MoveGenerator;
+import com.backend.chess.bitboard.PackedMove;
+import com.backend.chess.bitboard.Position;
+import com.backend.chess.bitboard.RepetitionTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the engine finds forced mates, returns a principal variation that can be
+ * played, stops at its limits, uses the game's history for repetitions and reaches a
+ * useful depth within the computer player's default move time.
+ */
+class SearchEngineTest {
+	private final SearchEngine engine = new SearchEngine(16, 1, 1);
+
+	@AfterEach
+	void shutdown() {
+		engine.shutdown();
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@CsvSource(delimiter = ';', value = {
+			"6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1; a1a8; 1",
+			"r1bqkb1r/pppp1ppp/2n2n2/4p2Q/2B1P3/8/PPPP1PPP/RNB1K1NR w KQkq - 4 4; h5f7; 1",
+			"7k/8/8/8/8/8/R7/1R4K1 w - - 0 1; ; 2",
+			"kr6/ppq5/8/8/8/8/5PPP/2R3K1 b - - 0 1; c7c1; 1"
+	})
+	void findsForcedMates(String fen, String expectedMove, int mateIn) {
+		SearchResult result = engine.search(Fen.parse(fen), SearchLimits.ofDepth(8));
+
+		assertEquals(mateIn, result.mateIn());
+		if (expectedMove != null) {
+			assertEquals(expectedMove, result.bestMove());
+		}
+		// The line ends in mate, so it is exactly as long as the mate
+		assertEquals(2 * mateIn - 1, result.principalVariation().size());
+	}
+
+	@Test
+	void principalVariationIsPlayableAndStartsWithTheTableMove() {
+		Position position = Fen.parse("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+		long key = position.key();
+		SearchResult result = engine.search(position, SearchLimits.ofDepth(6));
+
+		assertEquals(6, result.depth());
+		assertEquals(key, position.key(), "the search must not change the given position");
+		assertEquals(result.bestMove(), result.principalVariation().get(0));
+		assertEquals(result.bestMove(), PackedMove.toUci(TranspositionTable.move(engine.getTable().probe(key))));
+
+		int[] buffer = new int[MoveGenerator.MAX_MOVES];
+		for (String uci : result.principalVariation()) {
+			int move = MoveGenerator.findUciMove(position, uci, buffer);
+			assertNotEquals(PackedMove.NONE, move, uci + " is not legal in " + Fen.toFen(position));
+			position.makeMove(move);
+		}
+	}
+
+	@Test
+	void scoresAReturnToAnEarlierPositionOfTheGameAsADraw() {
+		// Black is a queen down; going back to a position the game has already seen is its best chance
+		Position position = Fen.parse("8/8/8/8/8/2k5/8/K6Q b - - 0 1");
+		Position repeated = position.copy();
+		repeated.makeMove(MoveGenerator.findUciMove(repeated, "c3c4", new int[MoveGenerator.MAX_MOVES]));
+		RepetitionTable history = RepetitionTable.of(new long[]{repeated.key(), position.key()});
+
+		SearchResult withoutHistory = engine.search(position, SearchLimits.ofDepth(4));
+		engine.getTable().clear();
+		SearchResult withHistory = engine.search(position, history, SearchLimits.ofDepth(4), 1);
+
+		assertTrue(withoutHistory.score() < -500, "score " + withoutHistory.score());
+		assertEquals("c3c4", withHistory.bestMove());
+		assertEquals(0, withHistory.score());
+	}
+
+	@Test
+	void stopsAtTheNodeLimit() {
+		SearchResult result = engine.search(Fen.parse(Fen.INITIAL), new SearchLimits(0, 0, 20_000));
+
+		// Limits are checked every 1024 nodes, once the first iteration is complete
+		assertTrue(result.nodes() >= 20_000 && result.nodes() < 20_000 + 2048, "nodes " + result.nodes());
+		assertTrue(result.depth() >= 1);
+	}
+
+	@Test
+	void stopsAtTheTimeLimit() {
+		long start = System.nanoTime();
+		SearchResult result = engine.search(Fen.parse(Fen.INITIAL), SearchLimits.ofTime(50));
+		long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+		assertTrue(elapsedMs < 50 + 100, "took " + elapsedMs + " ms");
+		assertTrue(result.depth() >= 1);
+	}
+
+	@Test
+	void reachesAUsefulDepthWithinTheComputerMoveTime() {
+		Position position = Fen.parse("r1bqkb1r/pppp1ppp/2n2n2/4p3/2B1P3/5N2/PPPP1PPP/RNBQK2R w KQkq - 4 4");
+		// Warm up the JIT, as a running server would be
+		engine.search(position, SearchLimits.ofTime(500));
+
+		// Best of three, so a busy build machine does not fail it
+		int depth = 0;
+		for (int i = 0; i < 3; i++) {
+			engine.getTable().clear();
+			depth = Math.max(depth, engine.search(position, SearchLimits.ofTime(100)).depth());
+		}
+
+		assertTrue(depth >= 4, "depth " + depth);
+	}
+}
@@ -0,0 +1,74 @@
+package com.backend.chess.engine;
+
+import com.backend.chess.bitboard.Bitboards;
+import com.backend.chess.bitboard.MoveGenerator;
+import com.backend.chess.bitboard.Pieces;
+import com.backend.chess.bitboard.Position;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Reports how search speed (nodes per second) scales with the number of search threads,
+ * from one thread up to every available processor, on a few opening and middlegame
+ * positions. Run with mvn test -Dtest=SearchScalingBenchmark -Dbenchmark=true.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SearchScalingBenchmark {
+	private static final long TIME_MS = 2000;
+
+	// Positions reached from the start by these moves
+	private static final List<String> LINES = List.of(
+			"",
+			"e2e4 e7e5 g1f3 b8c6 f1b5 a7a6 b5a4 g8f6 e1g1 f8e7",
+			"d2d4 g8f6 c2c4 e7e6 b1c3 f8b4 e2e3 e8g8 f1d3 d7d5 g1f3 c7c5",
+			"e2e4 c7c5 g1f3 d7d6 d2d4 c5d4 f3d4 g8f6 b1c3 a7a6 c1e3 e7e5 d4b3 c8e6 f2f3 f8e7 d1d2 e8g8");
+
+	@Test
+	void nodesPerSecondByThreadCount() {
+		int processors = Runtime.getRuntime().availableProcessors();
+		SearchEngine engine = new SearchEngine(256, processors, processors);
+		// Warm up the JIT before measuring
+		engine.search(position(LINES.get(1)), SearchLimits.ofTime(TIME_MS));
+
+		long singleThreadSpeed = 0;
+		System.out.printf("%8s %14s %8s %8s%n", "threads", "nodes/s", "speedup", "depth");
+		for (int threads = 1; threads <= processors; threads = (threads < processors && threads * 2 > processors) ? processors : threads * 2) {
+			long nodes = 0;
+			long timeMs = 0;
+			int depth = 0;
+			for (String line : LINES) {
+				engine.getTable().clear();
+				SearchResult result = engine.search(position(line), SearchLimits.ofTime(TIME_MS), threads);
+				assertNotNull(result.bestMove());
+				nodes += result.nodes();
+				timeMs += result.timeMs();
+				depth += result.depth();
+			}
+			long speed = nodes * 1000 / Math.max(timeMs, 1);
+			if (threads == 1) {
+				singleThreadSpeed = speed;
+			}
+			System.out.printf("%8d %14d %8.2f %8.1f%n", threads, speed,
+					(double) speed / singleThreadSpeed, (double) depth / LINES.size());
+		}
+		engine.shutdown();
+	}
+
+	private static Position position(String line) {
+		Position position = Position.initial();
+		int[] buffer = new int[MoveGenerator.MAX_MOVES];
+		for (String move : line.split(" ")) {
+			if (move.isEmpty()) {
+				continue;
+			}
+			int from = Bitboards.parseSquare(move.substring(0, 2));
+			int to = Bitboards.parseSquare(move.substring(2, 4));
+			position.makeMove(MoveGenerator.findLegalMove(position, from, to, Pieces.NONE, buffer));
+		}
+		return position;
+	}
+}
@@ -0,0 +1,154 @@
+package com.backend.chess.messaging;
+
+import com.backend.chess.ChessApplication;
+import com.backend.chess.service.GameService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.ByteArrayMessageConverter;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs two nodes in relay mode against an embedded broker stand-in and checks that a move
+ * sent to the node that does not own the game is processed by the owner and that the
+ * delta reaches a subscriber on the first node.
+ */
+class BrokerRelayTest {
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private EmbeddedStompBroker broker;
+	private ConfigurableApplicationContext node1;
+	private ConfigurableApplicationContext node2;
+
+	@AfterEach
+	void tearDown() throws IOException {
+		if (node1 != null) {
+			node1.close();
+		}
+		if (node2 != null) {
+			node2.close();
+		}
+		if (broker != null) {
+			broker.close();
+		}
+	}
+
+	@Test
+	void moveOnOneNodeReachesSubscribersOnAnother() throws Exception {
+		broker = new EmbeddedStompBroker();
+		int port1 = freePort();
+		int port2 = freePort();
+		String nodes = "http://localhost:" + port1 + ",http://localhost:" + port2;
+		node1 = startNode(port1, nodes);
+		node2 = startNode(port2, nodes);
+
+		// A game owned by node 2, played through node 1
+		GameService gameService = node1.getBean(GameService.class);
+		GameRouter router = node1.getBean(GameRouter.class);
+		String gameId = gameService.createNewGame().getId();
+		while (router.isLocal(gameId)) {
+			gameId = gameService.createNewGame().getId();
+		}
+		assertFalse(node2.getBean(GameRouter.class).ownerOf(gameId).endsWith(":" + port1));
+
+		WebSocketStompClient client = new WebSocketStompClient(new StandardWebSocketClient());
+		client.setMessageConverter(new ByteArrayMessageConverter() {
+			@Override
+			protected boolean supportsMimeType(MessageHeaders headers) {
+				return true;
+			}
+		});
+		StompSession session = client.connectAsync("ws://localhost:" + port1 + "/ws/websocket",
+				new StompSessionHandlerAdapter() {
+				}).get(10, TimeUnit.SECONDS);
+		BlockingQueue<byte[]> deltas = subscribe(session, "/topic/game/" + gameId);
+		BlockingQueue<byte[]> snapshots = subscribe(session, "/app/game/" + gameId);
+
+		JsonNode snapshot = read(snapshots);
+		assertEquals(gameId, snapshot.get("gameId").asText());
+		assertEquals(0, snapshot.get("seq").asInt());
+
+		// The subscription travels to the broker asynchronously
+		Thread.sleep(500);
+		StompHeaders headers = new StompHeaders();
+		headers.setDestination("/app/game/" + gameId + "/move");
+		headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+		session.send(headers, "{\"from\":\"e2\",\"to\":\"e4\"}".getBytes(StandardCharsets.UTF_8));
+
+		JsonNode delta = read(deltas);
+		assertEquals("e2e4", delta.get("move").asText());
+		assertEquals(1, delta.get("seq").asInt());
+		assertEquals(1, node2.getBean(GameService.class).getGame(gameId).getPlyCount());
+		session.disconnect();
+	}
+
+	private ConfigurableApplicationContext startNode(int port, String nodes) throws InterruptedException {
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(ChessApplication.class)
+				.run(
+						"--server.port=" + port,
+						"--spring.datasource.url=jdbc:h2:mem:relaytest;DB_CLOSE_DELAY=-1",
+						"--chess.broker.mode=relay",
+						"--chess.broker.relay.host=127.0.0.1",
+						"--chess.broker.relay.port=" + broker.getPort(),
+						"--chess.cluster.nodes=" + nodes,
+						"--chess.cluster.self=http://localhost:" + port);
+		AbstractBrokerMessageHandler relay = context.getBean("stompBrokerRelayMessageHandler", AbstractBrokerMessageHandler.class);
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (!relay.isBrokerAvailable() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+		}
+		assertTrue(relay.isBrokerAvailable(), "Relay did not connect to the broker");
+		return context;
+	}
+
+	private static BlockingQueue<byte[]> subscribe(StompSession session, String destination) {
+		BlockingQueue<byte[]> frames = new LinkedBlockingQueue<>();
+		session.subscribe(destination, new StompFrameHandler() {
+			@Override
+			public Type getPayloadType(StompHeaders headers) {
+				return byte[].class;
+			}
+
+			@Override
+			public void handleFrame(StompHeaders headers, Object payload) {
+				frames.add((byte[]) payload);
+			}
+		});
+		return frames;
+	}
+
+	private JsonNode read(BlockingQueue<byte[]> frames) throws Exception {
+		byte[] frame = frames.poll(10, TimeUnit.SECONDS);
+		assertNotNull(frame, "No frame received");
+		return objectMapper.readTree(frame);
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+}
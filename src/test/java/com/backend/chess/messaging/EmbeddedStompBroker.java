@@ -0,0 +1,164 @@
+package com.backend.chess.messaging;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompDecoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A minimal in-process STOMP broker for tests, standing in for the external broker that
+ * the broker relay connects to. It supports CONNECT, SUBSCRIBE, UNSUBSCRIBE, SEND and
+ * DISCONNECT with exact destination matching, and turns heartbeats off.
+ */
+class EmbeddedStompBroker implements AutoCloseable {
+	private final ServerSocket serverSocket;
+	private final List<Connection> connections = new CopyOnWriteArrayList<>();
+	private final AtomicLong messageIds = new AtomicLong();
+
+	EmbeddedStompBroker() throws IOException {
+		this.serverSocket = new ServerSocket(0);
+		Thread acceptor = new Thread(this::acceptConnections, "stomp-broker-acceptor");
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	@Override
+	public void close() throws IOException {
+		serverSocket.close();
+		for (Connection connection : connections) {
+			connection.close();
+		}
+	}
+
+	private void acceptConnections() {
+		while (!serverSocket.isClosed()) {
+			try {
+				Connection connection = new Connection(serverSocket.accept());
+				connections.add(connection);
+				Thread reader = new Thread(connection::readFrames, "stomp-broker-connection");
+				reader.setDaemon(true);
+				reader.start();
+			} catch (IOException ex) {
+				return; // Closed
+			}
+		}
+	}
+
+	private void publish(String destination, StompHeaderAccessor sendHeaders, byte[] payload) {
+		for (Connection connection : connections) {
+			for (Map.Entry<String, String> subscription : connection.subscriptions.entrySet()) {
+				if (subscription.getValue().equals(destination)) {
+					StringBuilder headers = new StringBuilder()
+							.append("destination:").append(escape(destination)).append('\n')
+							.append("subscription:").append(escape(subscription.getKey())).append('\n')
+							.append("message-id:").append(messageIds.incrementAndGet()).append('\n');
+					if (sendHeaders.getContentType() != null) {
+						headers.append("content-type:").append(escape(sendHeaders.getContentType().toString())).append('\n');
+					}
+					headers.append("content-length:").append(payload.length).append('\n');
+					connection.send("MESSAGE", headers.toString(), payload);
+				}
+			}
+		}
+	}
+
+	private static String escape(String value) {
+		return value.replace("\\", "\\\\").replace("\n", "\\n").replace(":", "\\c");
+	}
+
+	private final class Connection {
+		private final Socket socket;
+		private final OutputStream output;
+		// subscription ID -> destination
+		private final Map<String, String> subscriptions = new ConcurrentHashMap<>();
+
+		Connection(Socket socket) throws IOException {
+			this.socket = socket;
+			this.output = socket.getOutputStream();
+		}
+
+		void readFrames() {
+			StompDecoder decoder = new StompDecoder();
+			ByteBuffer buffer = ByteBuffer.allocate(1 << 20);
+			byte[] chunk = new byte[8192];
+			try (InputStream input = socket.getInputStream()) {
+				int read;
+				while ((read = input.read(chunk)) > 0) {
+					buffer.put(chunk, 0, read);
+					buffer.flip();
+					for (Message<byte[]> frame : decoder.decode(buffer)) {
+						handle(frame);
+					}
+					buffer.compact();
+				}
+			} catch (IOException ex) {
+				// Connection closed
+			} finally {
+				close();
+			}
+		}
+
+		private void handle(Message<byte[]> frame) {
+			StompHeaderAccessor headers = StompHeaderAccessor.wrap(frame);
+			if (headers.getMessageType() == SimpMessageType.HEARTBEAT) {
+				return;
+			}
+			StompCommand command = headers.getCommand();
+			if (command == StompCommand.CONNECT || command == StompCommand.STOMP) {
+				send("CONNECTED", "version:1.2\nheart-beat:0,0\n", new byte[0]);
+			} else if (command == StompCommand.SUBSCRIBE) {
+				subscriptions.put(headers.getSubscriptionId(), headers.getDestination());
+			} else if (command == StompCommand.UNSUBSCRIBE) {
+				subscriptions.remove(headers.getSubscriptionId());
+			} else if (command == StompCommand.SEND) {
+				publish(headers.getDestination(), headers, frame.getPayload());
+			} else if (command == StompCommand.DISCONNECT) {
+				if (headers.getReceipt() != null) {
+					send("RECEIPT", "receipt-id:" + escape(headers.getReceipt()) + "\n", new byte[0]);
+				}
+				close();
+			}
+		}
+
+		synchronized void send(String command, String headers, byte[] payload) {
+			try {
+				ByteArrayOutputStream frame = new ByteArrayOutputStream(command.length() + headers.length() + payload.length + 4);
+				frame.write((command + "\n" + headers + "\n").getBytes(StandardCharsets.UTF_8));
+				frame.write(payload);
+				frame.write(0);
+				output.write(frame.toByteArray());
+				output.flush();
+			} catch (IOException ex) {
+				close();
+			}
+		}
+
+		void close() {
+			connections.remove(this);
+			try {
+				socket.close();
+			} catch (IOException ex) {
+				// Already closed
+			}
+		}
+	}
+}
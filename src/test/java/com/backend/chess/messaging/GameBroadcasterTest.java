@@ -0,0 +1,84 @@
+package com.backend.chess.messaging;
+
+import com.backend.chess.dto.GameDeltaDTO;
+import com.backend.chess.model.GameStatus;
+import com.backend.chess.model.PlayerColor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GameBroadcasterTest {
+	private static final GameDeltaDTO DELTA = new GameDeltaDTO("game", 1, "e2e4", Map.of(), PlayerColor.BLACK,
+			GameStatus.IN_PROGRESS, "00000000000000ff", Map.of(), Map.of(), List.of(), List.of(), List.of());
+
+	private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+	private final SubscriptionCounter subscriptionCounter = mock(SubscriptionCounter.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void sendsOneSerializedJsonPayload() throws Exception {
+		when(subscriptionCounter.count("/topic/game/game")).thenReturn(3);
+		broadcaster("simple").publish(DELTA);
+
+		Message<byte[]> message = sent("/topic/game/game");
+		assertEquals(MimeTypeUtils.APPLICATION_JSON, message.getHeaders().get(MessageHeaders.CONTENT_TYPE));
+		assertEquals(DELTA, new ObjectMapper().readValue(message.getPayload(), GameDeltaDTO.class));
+		assertEquals(3, meterRegistry.get("chess.broadcast.subscribers").summary().totalAmount());
+		// Nobody subscribed to CBOR, so it is not encoded
+		verify(messagingTemplate, never()).send(eq("/topic/game/game/cbor"), any());
+	}
+
+	@Test
+	void encodesCborOnlyForItsSubscribers() throws Exception {
+		when(subscriptionCounter.count("/topic/game/game/cbor")).thenReturn(1);
+		broadcaster("simple").publish(DELTA);
+
+		Message<byte[]> message = sent("/topic/game/game/cbor");
+		assertEquals(MimeTypeUtils.APPLICATION_OCTET_STREAM, message.getHeaders().get(MessageHeaders.CONTENT_TYPE));
+		assertEquals(DELTA, new ObjectMapper(new CBORFactory()).readValue(message.getPayload(), GameDeltaDTO.class));
+		assertEquals(1, meterRegistry.get("chess.broadcast.size").tag("format", "cbor").summary().count());
+	}
+
+	@Test
+	void alwaysEncodesCborThroughARelay() {
+		broadcaster("relay").publish(DELTA);
+
+		sent("/topic/game/game");
+		sent("/topic/game/game/cbor");
+		verify(subscriptionCounter, never()).count(anyString());
+	}
+
+	// --- Helpers ---
+
+	private GameBroadcaster broadcaster(String brokerMode) {
+		return new GameBroadcaster(messagingTemplate, subscriptionCounter, new Jackson2ObjectMapperBuilder(),
+				brokerMode, meterRegistry);
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private Message<byte[]> sent(String destination) {
+		ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+		verify(messagingTemplate, times(1)).send(eq(destination), captor.capture());
+		return (Message<byte[]>) captor.getValue();
+	}
+}
@@ -0,0 +1,101 @@
+package com.backend.chess.messaging;
+
+import com.backend.chess.dto.MoveDto;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Checks that moves forwarded to the owning node keep their order per game, and that a
+ * game whose owner is slow does not hold up the forwarding of other games.
+ */
+class GameRouterTest {
+	private final List<String> received = Collections.synchronizedList(new ArrayList<>());
+	private final CountDownLatch slowOwner = new CountDownLatch(1);
+	private HttpServer owner;
+	private GameRouter router;
+
+	@AfterEach
+	void tearDown() {
+		slowOwner.countDown();
+		router.shutdown();
+		owner.stop(0);
+	}
+
+	@Test
+	void forwardsMovesInOrderWithoutBlockingOtherGames() throws Exception {
+		start();
+		String slowGame = ownedGame(0);
+		String otherGame = ownedGame(1);
+
+		CompletableFuture<Void> blocked = router.forwardMove(slowGame, move("e2", "e4"));
+		CompletableFuture<Void> queued = router.forwardMove(slowGame, move("e7", "e5"));
+		// The owner is stuck on the first game; another game's move still gets through
+		router.forwardMove(otherGame, move("d2", "d4")).get(5, TimeUnit.SECONDS);
+		assertFalse(queued.isDone());
+
+		slowOwner.countDown();
+		blocked.get(5, TimeUnit.SECONDS);
+		queued.get(5, TimeUnit.SECONDS);
+		assertEquals(List.of(otherGame + " d2d4", slowGame + " e2e4", slowGame + " e7e5"), received);
+	}
+
+	// --- Helpers ---
+
+	private void start() throws IOException {
+		owner = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		owner.setExecutor(Executors.newCachedThreadPool());
+		owner.createContext("/api/game/", exchange -> {
+			String gameId = exchange.getRequestURI().getPath().split("/")[3];
+			String body = new String(exchange.getRequestBody().readAllBytes());
+			try {
+				if (gameId.equals(ownedGame(0)) && !slowOwner.await(5, TimeUnit.SECONDS)) {
+					throw new IllegalStateException("never released");
+				}
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			received.add(gameId + " " + uci(body));
+			exchange.sendResponseHeaders(200, -1);
+			exchange.close();
+		});
+		owner.start();
+		String ownerUrl = "http://localhost:" + owner.getAddress().getPort();
+		router = new GameRouter(List.of(ownerUrl, "http://self"), "http://self", RestClient.builder(), false);
+	}
+
+	// The n-th game ID, in a fixed sequence, that the test server owns
+	private String ownedGame(int n) {
+		for (int i = 0; ; i++) {
+			String gameId = "game-" + i;
+			if (!router.isLocal(gameId) && n-- == 0) {
+				return gameId;
+			}
+		}
+	}
+
+	private static String uci(String json) {
+		return json.replaceAll(".*\"from\":\"(\\w+)\".*\"to\":\"(\\w+)\".*", "$1$2");
+	}
+
+	private static MoveDto move(String from, String to) {
+		MoveDto move = new MoveDto();
+		move.setFrom(from);
+		move.setTo(to);
+		return move;
+	}
+}
@@ -0,0 +1,91 @@
+package com.backend.chess.metrics;
+
+import com.backend.chess.analysis.AnalysisCache;
+import com.backend.chess.dto.MoveDto;
+import com.backend.chess.engine.SearchEngine;
+import com.backend.chess.model.Game;
+import com.backend.chess.persistence.ActiveGameStore;
+import com.backend.chess.service.AnalysisService;
+import com.backend.chess.service.GameLanes;
+import com.backend.chess.service.GameService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that every stage of a move is timed, that illegal moves are counted apart, and that
+ * the store, lane and cache figures are exposed as meters.
+ */
+class ChessMetricsTest {
+	private static final List<String> STAGES = List.of("load", "legality", "previous-analysis", "log", "apply", "save",
+			"analyze", "dto");
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ActiveGameStore activeGameStore = mock(ActiveGameStore.class);
+	private final AnalysisCache analysisCache = new AnalysisCache(1);
+	private final GameLanes gameLanes = new GameLanes(2, false);
+	private final SearchEngine searchEngine = new SearchEngine(1, 1, 1);
+	private final GameService gameService = new GameService(activeGameStore, new AnalysisService(analysisCache),
+			gameLanes, searchEngine, meterRegistry);
+
+	@AfterEach
+	void shutdown() throws InterruptedException {
+		gameLanes.shutdown();
+		searchEngine.shutdown();
+	}
+
+	@Test
+	void timesEveryStageOfAMove() {
+		Game game = new Game();
+		when(activeGameStore.get("game")).thenReturn(game);
+
+		gameService.submitMove("game", move("e2", "e4")).join();
+		gameService.makeMove("game", move("e7", "e5"));
+
+		for (String stage : STAGES) {
+			assertEquals(2, meterRegistry.get("chess.move.stage").tag("stage", stage).timer().count(), stage);
+		}
+		assertEquals(2, meterRegistry.get("chess.move").tag("outcome", "ok").timer().count());
+		assertEquals(1, meterRegistry.get("chess.move.queue").timer().count());
+	}
+
+	@Test
+	void countsIllegalMovesApart() {
+		when(activeGameStore.get("game")).thenReturn(new Game());
+
+		assertThrows(IllegalArgumentException.class, () -> gameService.makeMove("game", move("e2", "e5")));
+
+		assertEquals(1, meterRegistry.get("chess.move.illegal").counter().count());
+		assertEquals(1, meterRegistry.get("chess.move").tag("outcome", "illegal").timer().count());
+		assertEquals(0, meterRegistry.get("chess.move").tag("outcome", "ok").timer().count());
+		assertEquals(0, meterRegistry.get("chess.move.stage").tag("stage", "apply").timer().count());
+	}
+
+	@Test
+	void exposesStoreLaneAndCacheFigures() {
+		when(activeGameStore.activeGameCount()).thenReturn(5);
+		when(activeGameStore.dirtyGameCount()).thenReturn(2);
+		new ChessMetrics(activeGameStore, analysisCache, gameLanes).bindTo(meterRegistry);
+		analysisCache.get(1);
+
+		assertEquals(5, meterRegistry.get("chess.games.active").gauge().value());
+		assertEquals(2, meterRegistry.get("chess.games.dirty").gauge().value());
+		assertEquals(2, meterRegistry.get("chess.lanes").gauge().value());
+		assertEquals(1, meterRegistry.get("chess.analysis.cache.requests").tag("result", "miss").functionCounter().count());
+		assertEquals(0, meterRegistry.get("chess.analysis.cache.requests").tag("result", "hit").functionCounter().count());
+	}
+
+	private static MoveDto move(String from, String to) {
+		MoveDto move = new MoveDto();
+		move.setFrom(from);
+		move.setTo(to);
+		return move;
+	}
+}
@@ -0,0 +1,32 @@
+package com.backend.chess.model;
+
+import com.backend.chess.bitboard.Fen;
+import com.backend.chess.bitboard.MoveGenerator;
+import com.backend.chess.bitboard.Position;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GameStatusTest {
+
+	@ParameterizedTest(name = "{0}")
+	@CsvSource(delimiter = ';', value = {
+			"rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR w KQkq - 1 3; BLACK_WINS",
+			"7k/5Q2/6K1/8/8/8/8/8 b - - 0 1; STALEMATE",
+			"r1bqkb1r/pppp1Qpp/2n2n2/4p3/2B1P3/8/PPPP1PPP/RNB1K1NR b KQkq - 0 4; WHITE_WINS",
+			"6rk/6pp/8/8/8/8/8/R5K1 w - - 0 1; IN_PROGRESS",
+			"4k3/8/8/8/8/8/3P1P2/r3K3 w - - 0 1; CHECK",
+			"8/8/1k6/8/3Pp3/8/8/4K3 b - d3 0 1; IN_PROGRESS",
+			"8/8/8/8/k2Pp2Q/8/8/3K4 b - d3 0 1; IN_PROGRESS",
+			"4k3/8/8/8/8/8/8/R3K3 b - - 100 80; FIFTY_MOVE_RULE",
+			"k7/1Q6/1K6/8/8/8/8/8 b - - 100 80; WHITE_WINS"
+	})
+	void detectsGameEndings(String fen, GameStatus expected) {
+		Position position = Fen.parse(fen);
+
+		assertEquals(expected, GameStatus.of(position));
+		assertEquals(MoveGenerator.generateLegalMoves(position, new int[MoveGenerator.MAX_MOVES]) > 0,
+				MoveGenerator.hasLegalMove(position));
+	}
+}
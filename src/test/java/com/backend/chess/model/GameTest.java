@@ -0,0 +1,67 @@
+package com.backend.chess.model;
+
+import com.backend.chess.bitboard.MoveGenerator;
+import com.backend.chess.bitboard.Position;
+import com.backend.chess.bitboard.RepetitionTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GameTest {
+
+	@Test
+	void countsRepetitionsSinceTheLastIrreversibleMove() {
+		Game game = new Game();
+		play(game, "g1f3 g8f6 f3g1 f6g8");
+		assertEquals(2, game.getRepetitionCount());
+		play(game, "g1f3 g8f6 f3g1 f6g8");
+		assertEquals(3, game.getRepetitionCount());
+		assertEquals(GameStatus.THREEFOLD_REPETITION, GameStatus.of(game.getBoard().getPosition(), game.getRepetitionCount()));
+
+		// A pawn move starts the count again: the position after it has now occurred twice
+		play(game, "e2e4 g8f6 f1e2 f6g8 e2f1");
+		assertEquals(2, game.getRepetitionCount());
+	}
+
+	@Test
+	void repetitionTableSurvivesGrowingAndStorage() {
+		RepetitionTable table = new RepetitionTable();
+		for (long key = 1; key <= 300; key++) {
+			table.add(key * 0x9E3779B97F4A7C15L);
+		}
+		assertEquals(2, table.add(7 * 0x9E3779B97F4A7C15L));
+
+		RepetitionTable restored = RepetitionTable.of(table.toArray());
+		assertEquals(2, restored.count(7 * 0x9E3779B97F4A7C15L));
+		assertEquals(1, restored.count(8 * 0x9E3779B97F4A7C15L));
+		restored.clear();
+		assertEquals(0, restored.count(7 * 0x9E3779B97F4A7C15L));
+	}
+
+	@Test
+	@Timeout(value = 5, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+	void repetitionTableClearsCollidingKeys() {
+		RepetitionTable table = new RepetitionTable();
+		// Keys 128 apart share a home slot, so each cycle builds a probe chain; a slot left
+		// occupied by clear() would pile up until lookups in the full table never end
+		for (long cycle = 0; cycle < 1000; cycle++) {
+			for (long j = 0; j < 3; j++) {
+				assertEquals(1, table.add(((cycle * 3 + j) << 7) | 5));
+			}
+			assertEquals(2, table.add(((cycle * 3 + 2) << 7) | 5));
+			table.clear();
+			for (long j = 0; j < 3; j++) {
+				assertEquals(0, table.count(((cycle * 3 + j) << 7) | 5));
+			}
+		}
+		assertEquals(0, table.size());
+	}
+
+	private static void play(Game game, String moves) {
+		Position position = game.getBoard().getPosition();
+		for (String uci : moves.split(" ")) {
+			game.applyMove(MoveGenerator.findUciMove(position, uci, new int[MoveGenerator.MAX_MOVES]));
+		}
+	}
+}
@@ -0,0 +1,125 @@
+package com.backend.chess.persistence;
+
+import com.backend.chess.bitboard.MoveGenerator;
+import com.backend.chess.dto.MoveDto;
+import com.backend.chess.model.Game;
+import com.backend.chess.model.GameStatus;
+import com.backend.chess.model.PlayerColor;
+import com.backend.chess.repository.GameRepository;
+import com.backend.chess.repository.MoveLogRepository;
+import com.backend.chess.service.GameService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "chess.store.flush-interval-ms=600000")
+class ActiveGameStoreTest {
+
+	@Autowired
+	private GameService gameService;
+
+	@Autowired
+	private ActiveGameStore store;
+
+	@Autowired
+	private GameRepository gameRepository;
+
+	@Autowired
+	private MoveLogRepository moveLogRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void loadReplaysMovesLoggedAfterTheSnapshot() {
+		String gameId = gameService.createNewGame().getId();
+		move(gameId, "e2", "e4");
+		move(gameId, "e7", "e5");
+		store.flushDirtyGames();
+		move(gameId, "g1", "f3");
+		move(gameId, "b8", "c6");
+		assertEquals(2, storedPlyCount(gameId));
+
+		// A store that never saw the game, as after a restart before the next flush
+		Game loaded = new ActiveGameStore(gameRepository, moveLogRepository, transactionTemplate, 1_800_000).get(gameId);
+		assertEquals(4, loaded.getPlyCount());
+		assertEquals(PlayerColor.WHITE, loaded.getCurrentPlayer());
+		assertEquals(gameService.getGame(gameId).getPositionKey(), loaded.getPositionKey());
+
+		store.flushDirtyGames();
+		assertEquals(4, storedPlyCount(gameId));
+		assertEquals(List.of("e2e4", "e7e5", "g1f3", "b8c6"), gameService.getMoves(gameId, 0, 10));
+		assertEquals(List.of("g1f3"), gameService.getMoves(gameId, 2, 1));
+	}
+
+	@Test
+	void writesSnapshotsBehindUntilTheGameEnds() {
+		String gameId = gameService.createNewGame().getId();
+		Game game = store.get(gameId);
+		move(gameId, "f2", "f3");
+		move(gameId, "e7", "e5");
+
+		// Moves change the game in memory; the stored snapshot waits for the next flush
+		assertSame(game, store.get(gameId));
+		assertEquals(2, game.getPlyCount());
+		assertEquals(0, storedPlyCount(gameId));
+		assertTrue(store.dirtyGameCount() > 0);
+
+		// The end of the game is written right away
+		move(gameId, "g2", "g4");
+		move(gameId, "d8", "h4");
+		assertEquals(GameStatus.BLACK_WINS, game.getStatus());
+		assertEquals(4, storedPlyCount(gameId));
+	}
+
+	@Test
+	void writesIdleGamesBeforeEvictingThem() throws InterruptedException {
+		ActiveGameStore idleStore = new ActiveGameStore(gameRepository, moveLogRepository, transactionTemplate, 0);
+		Game game = idleStore.add(new Game());
+		// Applied without logging, so only the snapshot can bring it back
+		game.applyMove(MoveGenerator.findUciMove(game.getBoard().getPosition(), "e2e4", new int[MoveGenerator.MAX_MOVES]));
+		idleStore.markDirty(game);
+		Thread.sleep(5);
+
+		idleStore.flushDirtyGames();
+		assertEquals(0, idleStore.activeGameCount());
+		Game reloaded = idleStore.get(game.getId());
+		assertEquals(1, reloaded.getPlyCount());
+		assertEquals(game.getPositionKey(), reloaded.getPositionKey());
+	}
+
+	@Test
+	void writesAGameMarkedDirtyAfterItWasEvicted() throws InterruptedException {
+		ActiveGameStore idleStore = new ActiveGameStore(gameRepository, moveLogRepository, transactionTemplate, 0);
+		Game game = idleStore.add(new Game());
+		Thread.sleep(5);
+		idleStore.flushDirtyGames();
+		assertEquals(0, idleStore.activeGameCount());
+
+		// A move that was already under way on the evicted instance
+		game.applyMove(MoveGenerator.findUciMove(game.getBoard().getPosition(), "d2d4", new int[MoveGenerator.MAX_MOVES]));
+		idleStore.markDirty(game);
+		idleStore.flushDirtyGames();
+
+		assertEquals(0, idleStore.dirtyGameCount());
+		assertEquals(1, storedPlyCount(game.getId()));
+	}
+
+	private void move(String gameId, String from, String to) {
+		MoveDto move = new MoveDto();
+		move.setFrom(from);
+		move.setTo(to);
+		gameService.makeMove(gameId, move);
+	}
+
+	private int storedPlyCount(String gameId) {
+		return transactionTemplate.execute(status -> gameRepository.findById(gameId).orElseThrow().getPlyCount());
+	}
+}
@@ -0,0 +1,55 @@
+package com.backend.chess.persistence;
+
+import com.backend.chess.model.Board;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BoardCodecTest {
+	private final BoardConverter converter = new BoardConverter();
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+			"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w Kq - 0 1",
+			"rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3",
+			"8/8/8/8/8/2k5/8/K6Q b - - 99 300"
+	})
+	void roundTripsEveryPartOfTheBoard(String fen) {
+		byte[] data = converter.convertToDatabaseColumn(Board.fromFen(fen));
+
+		assertEquals(BoardCodec.LENGTH, data.length);
+		assertEquals(fen, converter.convertToEntityAttribute(data).toFen());
+	}
+
+	@Test
+	void readsLegacyJsonBoards() throws Exception {
+		Board board = Board.fromFen("r3k2r/8/8/8/8/8/8/R3K2R b Kk - 3 20");
+		byte[] json = new ObjectMapper().writeValueAsBytes(board);
+
+		assertEquals(board.toFen(), converter.convertToEntityAttribute(json).toFen());
+	}
+
+	@Test
+	void infersCastlingRightsOfJsonBoardsWithSquaresOnly() throws Exception {
+		String json = new ObjectMapper().writeValueAsString(new Board().getSquares());
+		Board board = BoardConverter.fromJson("{\"squares\":" + json + "}");
+
+		assertEquals(new Board().toFen(), board.toFen());
+	}
+
+	@Test
+	void rejectsUnknownEncodings() {
+		byte[] data = converter.convertToDatabaseColumn(new Board());
+		data[0] = 2;
+
+		assertThrows(IllegalArgumentException.class, () -> converter.convertToEntityAttribute(data));
+		assertThrows(IllegalArgumentException.class, () -> BoardCodec.decode("not a board".getBytes(StandardCharsets.UTF_8)));
+	}
+}
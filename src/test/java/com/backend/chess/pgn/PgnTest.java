@@ -0,0 +1,170 @@
+package com.backend.chess.pgn;
+
+import com.backend.chess.bitboard.Fen;
+import com.backend.chess.bitboard.MoveGenerator;
+import com.backend.chess.bitboard.PackedMove;
+import com.backend.chess.bitboard.Position;
+import com.backend.chess.bitboard.RepetitionTable;
+import com.backend.chess.bitboard.San;
+import com.backend.chess.dto.PgnImportResult;
+import com.backend.chess.model.Game;
+import com.backend.chess.model.GameStatus;
+import com.backend.chess.persistence.RepetitionTableConverter;
+import com.backend.chess.repository.GameRepository;
+import com.backend.chess.repository.MoveLogRepository;
+import com.backend.chess.service.PgnService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class PgnTest {
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			Fen.INITIAL,
+			"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+			"rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3",
+			"8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 b - - 12 40"
+	})
+	void fenRoundTrips(String fen) {
+		assertEquals(fen, Fen.toFen(Fen.parse(fen)));
+	}
+
+	@Test
+	void writesAndParsesSan() {
+		int[] buffer = new int[MoveGenerator.MAX_MOVES];
+		// Knights on b1 and f3 can both reach d2; rooks on a1 and a5 both reach a3
+		Position position = Fen.parse("4k3/8/8/R7/8/8/8/RN2KN2 w - - 0 1");
+		assertEquals("Nbd2", San.toSan(position, San.parse(position, "Nbd2", buffer), buffer));
+		assertEquals("R1a3", San.toSan(position, San.parse(position, "R1a3", buffer), buffer));
+		assertEquals(PackedMove.NONE, San.parse(position, "Nd2", buffer));
+		assertEquals(PackedMove.NONE, San.parse(position, "Ra3", buffer));
+
+		Position mate = Fen.parse("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+		assertEquals("Ra8#", San.toSan(mate, San.parse(mate, "Ra8", buffer), buffer));
+
+		Position promotion = Fen.parse("8/P6k/8/8/8/8/8/K7 w - - 0 1");
+		assertEquals("a8=Q", San.toSan(promotion, San.parse(promotion, "a8Q", buffer), buffer));
+		assertEquals("a8=N", San.toSan(promotion, San.parse(promotion, "a8=N", buffer), buffer));
+	}
+
+	@Test
+	void importStopsWhereTheGameIsDrawn() throws IOException {
+		// 130 plies without a capture or pawn move, never repeating a position
+		Position position = Fen.parse("4k3/8/8/8/8/8/8/R3K2R w - - 0 1");
+		int[] buffer = new int[MoveGenerator.MAX_MOVES];
+		int[] moves = new int[MoveGenerator.MAX_MOVES];
+		Set<Long> seen = new HashSet<>(List.of(position.key()));
+		StringBuilder text = new StringBuilder("[FEN \"4k3/8/8/8/8/8/8/R3K2R w - - 0 1\"]\n\n");
+		for (int ply = 0; ply < 130; ply++) {
+			int count = MoveGenerator.generateLegalMoves(position, moves);
+			for (int i = 0; i < count; i++) {
+				int move = moves[i];
+				position.makeMove(move);
+				boolean usable = !PackedMove.isCapture(move) && seen.add(position.key())
+						&& !position.inCheck() && MoveGenerator.hasLegalMove(position);
+				position.unmakeMove(move);
+				if (usable) {
+					text.append(San.toSan(position, move, buffer)).append(' ');
+					position.makeMove(move);
+					break;
+				}
+			}
+		}
+		text.append("1/2-1/2\n");
+
+		GameRepository gameRepository = mock(GameRepository.class);
+		MoveLogRepository moveLogRepository = mock(MoveLogRepository.class);
+		TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+		doAnswer(invocation -> {
+			invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+			return null;
+		}).when(transactionTemplate).executeWithoutResult(any());
+		List<Game> saved = new ArrayList<>();
+		doAnswer(invocation -> {
+			saved.addAll(invocation.getArgument(0));
+			return null;
+		}).when(gameRepository).saveAll(any());
+		PgnService service = new PgnService(gameRepository, moveLogRepository, transactionTemplate, 200);
+
+		PgnImportResult result = service.importGames(new StringReader(text.toString()));
+
+		assertEquals(1, result.imported());
+		Game game = saved.get(0);
+		assertEquals(100, game.getPlyCount());
+		assertEquals(GameStatus.FIFTY_MOVE_RULE, game.getStatus());
+		byte[] keys = new RepetitionTableConverter().convertToDatabaseColumn((RepetitionTable) ReflectionTestUtils.getField(game, "repetitions"));
+		assertEquals(RepetitionTable.MAX_POSITIONS * Long.BYTES, keys.length);
+	}
+
+	@Test
+	void readsAndWritesGames() throws IOException {
+		String text = """
+				[Event "Test"]
+				[Result "1-0"]
+
+				1. e4 {best by test} e5 2. Nf3 (2. f4 exf4) Nc6 $1 3. Bb5!? a6
+				; rest of line
+				4. Ba4 1-0
+
+				[Event "Second"]
+				[FEN "8/P6k/8/8/8/8/8/K7 b - - 0 50"]
+
+				50... Kg7 51. a8=Q *
+				""";
+		PgnReader reader = new PgnReader(new StringReader(text));
+		PgnGame first = reader.next();
+		PgnGame second = reader.next();
+		assertNull(reader.next());
+
+		assertEquals(List.of("e4", "e5", "Nf3", "Nc6", "Bb5", "a6", "Ba4"), first.moves());
+		assertEquals("1-0", first.result());
+		assertEquals("Second", second.tags().get("Event"));
+		assertEquals("*", second.result());
+
+		StringWriter out = new StringWriter();
+		PgnWriter writer = new PgnWriter(out);
+		writer.write(first);
+		writer.write(second);
+		writer.flush();
+		String expected = """
+				[Event "Test"]
+				[Result "1-0"]
+
+				1. e4 e5 2. Nf3 Nc6 3. Bb5 a6 4. Ba4 1-0
+
+				[Event "Second"]
+				[FEN "8/P6k/8/8/8/8/8/K7 b - - 0 50"]
+
+				50... Kg7 51. a8=Q *
+
+				""";
+		assertEquals(expected, out.toString());
+
+		// What is written reads back the same
+		List<PgnGame> reread = new ArrayList<>();
+		PgnReader again = new PgnReader(new StringReader(out.toString()));
+		for (PgnGame game = again.next(); game != null; game = again.next()) {
+			reread.add(game);
+		}
+		assertEquals(List.of(first, second), reread);
+	}
+}
@@ -0,0 +1,49 @@
+package com.backend.chess.service;
+
+import com.backend.chess.analysis.AnalysisCache;
+import com.backend.chess.bitboard.Fen;
+import com.backend.chess.dto.PositionAnalysis;
+import com.backend.chess.model.GameStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BatchAnalysisServiceTest {
+	private final BatchAnalysisService service = new BatchAnalysisService(new AnalysisService(new AnalysisCache(1)), 3);
+
+	@AfterEach
+	void shutdown() {
+		service.shutdown();
+	}
+
+	@Test
+	void analyzesEveryPositionOnce() throws IOException {
+		String mate = "rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR w KQkq - 1 3";
+		List<String> fens = new ArrayList<>(Collections.nCopies(200, Fen.INITIAL));
+		fens.add(" ");
+		fens.add("not a fen");
+		fens.add(mate);
+
+		List<PositionAnalysis> results = new ArrayList<>();
+		long count = service.analyze(fens.iterator(), result -> result, results::add);
+
+		assertEquals(202, count);
+		results.sort(Comparator.comparingLong(PositionAnalysis::index));
+		assertEquals(IntStream.range(0, 202).boxed().toList(), results.stream().map(r -> (int) r.index()).toList());
+		assertEquals(GameStatus.IN_PROGRESS, results.get(0).status());
+		assertNotNull(results.get(0).analysis());
+		assertNull(results.get(200).analysis());
+		assertNotNull(results.get(200).error());
+		assertEquals(GameStatus.BLACK_WINS, results.get(201).status());
+	}
+}
@@ -0,0 +1,91 @@
+package com.backend.chess.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameLanesTest {
+	private final GameLanes lanes = new GameLanes(4, false);
+
+	@AfterEach
+	void shutdown() throws InterruptedException {
+		lanes.shutdown();
+	}
+
+	@Test
+	void runsAGamesTasksInOrderOneAtATime() throws Exception {
+		List<Integer> order = new ArrayList<>(); // Not thread-safe: the lane must serialize access
+		AtomicInteger running = new AtomicInteger();
+		List<CompletableFuture<Void>> futures = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			int task = i;
+			futures.add(lanes.submit("game", () -> {
+				assertEquals(1, running.incrementAndGet());
+				order.add(task);
+				running.decrementAndGet();
+				return null;
+			}));
+		}
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(i, order.get(i));
+		}
+	}
+
+	@Test
+	void runsGamesOnDifferentLanesInParallel() throws Exception {
+		String first = "game-0";
+		String second = null;
+		String firstLane = lanes.submit(first, () -> Thread.currentThread().getName()).get();
+		for (int i = 1; second == null; i++) {
+			String candidate = "game-" + i;
+			if (!lanes.submit(candidate, () -> Thread.currentThread().getName()).get().equals(firstLane)) {
+				second = candidate;
+			}
+		}
+
+		// The first game's task waits for the second game's, which would deadlock on a shared lane
+		CountDownLatch latch = new CountDownLatch(1);
+		CompletableFuture<Boolean> waiting = lanes.submit(first, () -> await(latch));
+		lanes.submit(second, () -> {
+			latch.countDown();
+			return null;
+		});
+
+		assertTrue(waiting.get(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void failedTasksDoNotStopTheLane() throws Exception {
+		CompletableFuture<Object> failed = lanes.submit("game", () -> {
+			throw new IllegalArgumentException("Illegal move");
+		});
+		CompletableFuture<String> next = lanes.submit("game", () -> "next");
+
+		ExecutionException ex = assertThrows(ExecutionException.class, () -> failed.get(10, TimeUnit.SECONDS));
+		assertInstanceOf(IllegalArgumentException.class, ex.getCause());
+		assertEquals("next", next.get(10, TimeUnit.SECONDS));
+	}
+
+	private static boolean await(CountDownLatch latch) {
+		try {
+			return latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+}
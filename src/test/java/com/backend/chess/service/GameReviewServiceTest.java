@@ -0,0 +1,124 @@
+package com.backend.chess.service;
+
+import com.backend.chess.analysis.AnalysisCache;
+import com.backend.chess.controller.GameController;
+import com.backend.chess.dto.MoveDto;
+import com.backend.chess.dto.PlyAnalysis;
+import com.backend.chess.model.Board;
+import com.backend.chess.model.GameStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks that a review replays the logged moves from the game's starting position and that
+ * every ply's analysis is the one of its position on its own.
+ */
+@SpringBootTest
+class GameReviewServiceTest {
+	// Its own cache, so the expected analyses are computed afresh rather than shared with the review
+	private final AnalysisService referenceAnalysis = new AnalysisService(new AnalysisCache(1));
+
+	@Autowired
+	private GameReviewService gameReviewService;
+
+	@Autowired
+	private GameService gameService;
+
+	@Autowired
+	private GameController gameController;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void reviewsTheStartingPositionAndEveryLoggedMove() {
+		String gameId = gameService.createNewGame().getId();
+		play(gameId, "f2f3 e7e5 g2g4 d8h4");
+
+		List<PlyAnalysis> plies = review(gameId);
+
+		assertEquals(5, plies.size());
+		PlyAnalysis start = plies.get(0);
+		assertEquals(0, start.ply());
+		assertNull(start.move());
+		assertNull(start.san());
+		assertEquals(GameStatus.IN_PROGRESS, start.status());
+		assertEquals(List.of("f2f3", "e7e5", "g2g4", "d8h4"), plies.subList(1, 5).stream().map(PlyAnalysis::move).toList());
+		assertEquals("Qh4#", plies.get(4).san());
+		assertAnalysesMatchTheirPositions(plies);
+		// The last line is the live game
+		assertEquals(gameService.getGame(gameId).getStatus(), plies.get(4).status());
+		assertEquals(GameStatus.BLACK_WINS, plies.get(4).status());
+		assertEquals(gameService.getGame(gameId).getFen(), plies.get(4).fen());
+	}
+
+	@Test
+	void replaysAGameStartedFromAFen() {
+		String fen = "4k3/8/8/8/8/8/4P3/R3K2R w KQ - 0 1";
+		String gameId = gameService.createNewGame(null, fen).getId();
+		play(gameId, "e1g1 e8d7 a1a7");
+
+		List<PlyAnalysis> plies = review(gameId);
+
+		assertEquals(4, plies.size());
+		assertEquals(fen, plies.get(0).fen());
+		assertEquals("O-O", plies.get(1).san());
+		assertAnalysesMatchTheirPositions(plies);
+		assertEquals(gameService.getGame(gameId).getStatus(), plies.get(3).status());
+		assertEquals(gameService.getGame(gameId).getFen(), plies.get(3).fen());
+	}
+
+	@Test
+	void endpointStreamsOneLinePerPly() throws Exception {
+		String gameId = gameService.createNewGame().getId();
+		play(gameId, "e2e4 c7c5");
+
+		StreamingResponseBody body = gameController.reviewGame(gameId).getBody();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		body.writeTo(out);
+		String[] lines = out.toString().split("\n");
+
+		assertEquals(3, lines.length);
+		for (int ply = 0; ply < lines.length; ply++) {
+			JsonNode line = objectMapper.readTree(lines[ply]);
+			assertEquals(ply, line.get("ply").asInt());
+		}
+		assertEquals("c5", objectMapper.readTree(lines[2]).get("san").asText());
+	}
+
+	// --- Helpers ---
+
+	private List<PlyAnalysis> review(String gameId) {
+		List<PlyAnalysis> plies = new ArrayList<>();
+		Iterator<PlyAnalysis> iterator = gameReviewService.reviewGame(gameId);
+		iterator.forEachRemaining(plies::add);
+		return plies;
+	}
+
+	private void assertAnalysesMatchTheirPositions(List<PlyAnalysis> plies) {
+		for (PlyAnalysis ply : plies) {
+			assertEquals(referenceAnalysis.analyzeBoard(Board.fromFen(ply.fen())), ply.analysis(), "ply " + ply.ply());
+		}
+	}
+
+	private void play(String gameId, String moves) {
+		for (String uci : moves.split(" ")) {
+			MoveDto move = new MoveDto();
+			move.setFrom(uci.substring(0, 2));
+			move.setTo(uci.substring(2, 4));
+			gameService.makeMove(gameId, move);
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package com.backend.chess.service;
+
+import com.backend.chess.bitboard.Fen;
+import com.backend.chess.dto.PerftResult;
+import com.backend.chess.engine.SearchEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that perft requests are limited in depth and share the search engine's thread budget.
+ */
+class PerftServiceTest {
+	private final SearchEngine searchEngine = new SearchEngine(1, 2, 2);
+	private final PerftService perftService = new PerftService(searchEngine);
+
+	@AfterEach
+	void shutdown() {
+		searchEngine.shutdown();
+	}
+
+	@Test
+	void rejectsDepthsBeyondTheLimit() {
+		assertThrows(IllegalArgumentException.class, () -> perftService.perft(Fen.INITIAL, PerftService.MAX_DEPTH + 1, false, true));
+		assertThrows(IllegalArgumentException.class, () -> perftService.perft(Fen.INITIAL, 0, false, false));
+	}
+
+	@Test
+	void waitsForTheEngineBudget() throws Exception {
+		int taken = searchEngine.acquireThreads(2);
+		CompletableFuture<PerftResult> count = CompletableFuture.supplyAsync(() -> perftService.perft(Fen.INITIAL, 3, false, true));
+		try {
+			Thread.sleep(200);
+			assertFalse(count.isDone(), "perft ran while every engine thread was taken");
+		} finally {
+			searchEngine.releaseThreads(taken);
+		}
+
+		assertEquals(8902, count.get(10, TimeUnit.SECONDS).nodes());
+		// Every thread is given back afterwards
+		assertEquals(2, searchEngine.acquireThreads(2));
+	}
+}